@@ -0,0 +1,72 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.entities.User;
+import com.example.digitalbankingbackend.repositories.UserRepository;
+import com.example.digitalbankingbackend.security.AuthTokenFilter;
+import com.example.digitalbankingbackend.security.JwtUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+/**
+ * A request with a valid bearer token through {@link AuthTokenFilter} on H2: with a token
+ * carrying only the username, whose user is loaded on every request, and with a token carrying
+ * the id and role claims, which is authenticated from the claims alone.
+ */
+@State(Scope.Benchmark)
+public class AuthTokenFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext context;
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest statelessRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        filter = context.getBean(AuthTokenFilter.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        User user = context.getBean(UserRepository.class).findByUsername("user").orElseThrow();
+        request = new MockHttpServletRequest("GET", "/api/v1/accounts");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateTokenFromUsername("user"));
+        statelessRequest = new MockHttpServletRequest("GET", "/api/v1/accounts");
+        statelessRequest.addHeader("Authorization", "Bearer "
+                + jwtUtils.generateTokenFromUser(user.getId(), user.getUsername(), user.getRole()));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        return authenticate(request);
+    }
+
+    @Benchmark
+    public Authentication doFilterStateless() throws ServletException, IOException {
+        return authenticate(statelessRequest);
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
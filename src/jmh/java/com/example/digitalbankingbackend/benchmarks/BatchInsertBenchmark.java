@@ -0,0 +1,84 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Saves {@value #ROWS} account operations per transaction through {@code saveAll}, the way the
+ * batch endpoints do, on embedded H2. Ids come from the pooled sequence; {@code batchSize=1}
+ * sends one insert statement per row, {@code batchSize=50} groups them in JDBC batches.
+ * <p>
+ * The JDBC statements per row are printed at the end of each trial, from Hibernate's
+ * statistics. An in-process database has no network round trip to save, so the throughput
+ * here is a lower bound of what batching gains against a database server.
+ */
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final int ROWS = 5_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private AccountOperationRepository accountOperationRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private BankAccount bankAccount;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        BankAccountService bankAccountService = context.getBean(BankAccountService.class);
+        accountOperationRepository = context.getBean(AccountOperationRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        String accountId = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+        bankAccount = context.getBean(BankAccountRepository.class).findById(accountId).orElseThrow();
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        long rows = statistics.getEntityInsertCount();
+        System.out.printf("%nbatchSize=%d: %d rows, %d statements prepared, %.3f per row%n", batchSize,
+                rows, statistics.getPrepareStatementCount(), (double) statistics.getPrepareStatementCount() / rows);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void saveAll() {
+        Date operationDate = new Date();
+        List<AccountOperation> operations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            operations.add(new AccountOperation(null, operationDate, 1, OperationType.CREDIT, bankAccount,
+                    "Benchmark operation", null));
+        }
+        transactionTemplate.executeWithoutResult(status -> accountOperationRepository.saveAll(operations));
+    }
+}
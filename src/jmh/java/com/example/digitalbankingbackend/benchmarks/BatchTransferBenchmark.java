@@ -0,0 +1,93 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.TransferRequestDTO;
+import com.example.digitalbankingbackend.dtos.TransferResultDTO;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Batch transfers of {@value #BATCH_SIZE} transfers between distinct accounts, on embedded H2.
+ * {@code batch} reports transfers per second. In {@code batchWithDebits} one thread applies
+ * batches while others debit accounts outside the batch: the debit rate should stay close to
+ * that of debits running alone, since a batch only holds a few ledger lanes at a time.
+ */
+@State(Scope.Benchmark)
+public class BatchTransferBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int DEBIT_THREADS = 4;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private final List<TransferRequestDTO> transfers = new ArrayList<>(BATCH_SIZE);
+    private final List<String> debitedAccounts = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String source = bankAccountService.saveCurrentBankAccount(1e12, 0, customerId).getId();
+            String destination = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+            transfers.add(new TransferRequestDTO(source, destination, 1));
+        }
+        for (int i = 0; i < DEBIT_THREADS; i++) {
+            debitedAccounts.add(bankAccountService.saveCurrentBankAccount(1e12, 0, customerId).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class DebitedAccount {
+
+        private static int next;
+        String accountId;
+
+        @Setup
+        public void setUp(BatchTransferBenchmark benchmark) {
+            synchronized (DebitedAccount.class) {
+                accountId = benchmark.debitedAccounts.get(next++ % benchmark.debitedAccounts.size());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TransferResultDTO> batch() {
+        return bankAccountService.batchTransfer(transfers);
+    }
+
+    @Benchmark
+    @Group("batchWithDebits")
+    @GroupThreads(1)
+    public List<TransferResultDTO> batchAlongsideDebits() {
+        return bankAccountService.batchTransfer(transfers);
+    }
+
+    @Benchmark
+    @Group("batchWithDebits")
+    @GroupThreads(DEBIT_THREADS)
+    public void debitAlongsideBatch(DebitedAccount account) throws BankAccountNotFoundException,
+            BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        bankAccountService.debit(account.accountId, 1, "Benchmark debit");
+    }
+}
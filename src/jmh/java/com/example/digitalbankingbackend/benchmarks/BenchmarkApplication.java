@@ -0,0 +1,43 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.DigitalBankingBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the application on its own in-memory H2 database for the benchmarks that go through
+ * Spring beans. Only the default users are created, and SQL logging is off so that it is not
+ * what gets measured.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param overrides {@code name=value} properties that replace or add to the defaults
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID());
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("app.generator.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        // A property given twice on the command line would be read as both values joined
+        for (String override : overrides) {
+            int equals = override.indexOf('=');
+            properties.put(override.substring(0, equals), override.substring(equals + 1));
+        }
+        return SpringApplication.run(DigitalBankingBackendApplication.class, properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+}
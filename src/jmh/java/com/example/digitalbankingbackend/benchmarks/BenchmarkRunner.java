@@ -0,0 +1,188 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares them with the stored baseline.
+ * <p>
+ * Every benchmark reports its throughput, its allocation rate and the bytes it allocates per
+ * operation. The summary goes to {@code target/jmh/summary.txt} (the raw JMH results to
+ * {@code target/jmh/results.json}) and is compared with {@code src/jmh/baselines/baseline.txt}:
+ * a benchmark regresses when its throughput drops, or its allocation per operation grows, by
+ * more than {@code benchmarks.tolerance}. A benchmark the baseline has no line for is reported
+ * as new, without failing the run, until its line is recorded. With
+ * {@code benchmarks.update-baseline=true} the results are written to the baseline instead, so
+ * that a change in performance shows up as a diff of that file.
+ * <p>
+ * {@code benchmarks.include} selects the benchmarks to run, as a JMH regular expression. A
+ * partial run only updates the baseline lines of the benchmarks it ran.
+ */
+public final class BenchmarkRunner {
+
+    static final Path BASELINE = Path.of("src/jmh/baselines/baseline.txt");
+    static final Path RESULTS = Path.of("target/jmh");
+
+    private static final String ALLOCATION_RATE = "gc.alloc.rate";
+    private static final String ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+    // Allocation differences below this many bytes per operation are noise, such as a lambda or a boxed value
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("benchmarks.include", ".*Benchmark.*");
+        boolean updateBaseline = Boolean.getBoolean("benchmarks.update-baseline");
+        double tolerance = Double.parseDouble(System.getProperty("benchmarks.tolerance", "0.10"));
+
+        Files.createDirectories(RESULTS);
+        Options options = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTS.resolve("results.json").toString())
+                .build();
+        Collection<RunResult> runs = new Runner(options).run();
+
+        SortedMap<String, Measurement> results = new TreeMap<>();
+        for (RunResult run : runs) {
+            Measurement measurement = Measurement.of(run);
+            results.put(measurement.name(), measurement);
+        }
+        write(RESULTS.resolve("summary.txt"), results);
+
+        SortedMap<String, Measurement> baseline = read(BASELINE);
+        if (updateBaseline) {
+            baseline.putAll(results);
+            write(BASELINE, baseline);
+            System.out.println("Baseline updated: " + BASELINE);
+            return;
+        }
+        if (compare(baseline, results, tolerance) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints each result next to its baseline and returns the number of regressions. Results the
+     * baseline has no line for are listed as new and do not count.
+     */
+    static int compare(Map<String, Measurement> baseline, Map<String, Measurement> results, double tolerance) {
+        int regressions = 0;
+        int added = 0;
+        System.out.printf("%n%-60s %14s %9s %12s %9s%n", "Benchmark", "ops/s", "change", "B/op", "change");
+        for (Measurement result : results.values()) {
+            Measurement before = baseline.get(result.name());
+            if (before == null) {
+                System.out.printf("%-60s %14.1f %9s %12.1f %9s  NEW%n", result.name(), result.throughput(),
+                        "-", result.bytesPerOperation(), "-");
+                added++;
+                continue;
+            }
+            double throughputChange = result.throughput() / before.throughput() - 1;
+            double allocationChange = before.bytesPerOperation() > 0
+                    ? result.bytesPerOperation() / before.bytesPerOperation() - 1 : 0;
+            boolean slower = throughputChange < -tolerance;
+            boolean heavier = allocationChange > tolerance
+                    && result.bytesPerOperation() - before.bytesPerOperation() > ALLOCATION_SLACK_BYTES;
+            System.out.printf("%-60s %14.1f %+8.1f%% %12.1f %+8.1f%%%s%n", result.name(), result.throughput(),
+                    throughputChange * 100, result.bytesPerOperation(), allocationChange * 100,
+                    slower || heavier ? "  REGRESSION" : "");
+            if (slower || heavier) {
+                regressions++;
+            }
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(tolerance * 100)
+                    + "% against " + BASELINE);
+        }
+        if (added > 0) {
+            System.out.println(added + " new benchmark(s) have no line in " + BASELINE
+                    + " and are not compared, record them with -Dbenchmarks.update-baseline=true");
+        }
+        return regressions;
+    }
+
+    static SortedMap<String, Measurement> read(Path file) throws IOException {
+        SortedMap<String, Measurement> measurements = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return measurements;
+        }
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.trim().split("\\s+");
+            measurements.put(fields[0], new Measurement(fields[0], Double.parseDouble(fields[1]),
+                    Double.parseDouble(fields[2]), Double.parseDouble(fields[3])));
+        }
+        return measurements;
+    }
+
+    static void write(Path file, SortedMap<String, Measurement> measurements) throws IOException {
+        StringBuilder content = new StringBuilder()
+                .append("# Recorded on ").append(System.getProperty("java.vm.name")).append(' ')
+                .append(System.getProperty("java.version")).append(", ")
+                .append(Runtime.getRuntime().availableProcessors()).append(" CPUs\n")
+                .append(String.format("# %-58s %14s %12s %12s%n", "benchmark", "ops/s", "MB/s", "B/op"));
+        for (Measurement measurement : measurements.values()) {
+            content.append(String.format(Locale.ROOT, "%-60s %14s %12s %12s%n", measurement.name(),
+                    rounded(measurement.throughput()), rounded(measurement.allocationRate()),
+                    rounded(measurement.bytesPerOperation())));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, content);
+    }
+
+    /**
+     * Three significant digits, so that the baseline only changes when a result does.
+     */
+    private static String rounded(double value) {
+        return new BigDecimal(value).round(new MathContext(3)).stripTrailingZeros().toPlainString();
+    }
+
+    record Measurement(String name, double throughput, double allocationRate, double bytesPerOperation) {
+
+        static Measurement of(RunResult run) {
+            String benchmark = run.getParams().getBenchmark();
+            StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                    benchmark.lastIndexOf('.') - 1) + 1));
+            for (String key : run.getParams().getParamsKeys()) {
+                name.append(':').append(key).append('=').append(run.getParams().getParam(key));
+            }
+            Map<String, Result> secondary = new HashMap<>();
+            // Older JMH versions prefix the profiler results with a dot
+            run.getSecondaryResults().forEach((key, result) -> secondary.put(key.replace("·", ""), result));
+            return new Measurement(name.toString(), run.getPrimaryResult().getScore(),
+                    score(secondary, ALLOCATION_RATE), score(secondary, ALLOCATION_PER_OPERATION));
+        }
+
+        private static double score(Map<String, Result> results, String key) {
+            Result result = results.get(key);
+            return result != null ? result.getScore() : 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.services.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Lookups in {@link CustomerSearchIndex} over a million customers whose names are built from
+ * a small set of syllables, so that common grams have long postings.
+ */
+@State(Scope.Benchmark)
+public class CustomerSearchBenchmark {
+
+    private static final int CUSTOMERS = 1_000_000;
+    private static final String[] SYLLABLES = {"an", "ber", "cha", "del", "el", "fa", "gio", "ha", "is", "jo",
+            "ka", "lu", "ma", "na", "ol", "pe", "ri", "sa", "to", "vi", "yas", "zo"};
+
+    private CustomerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CustomerDTO> customers = new ArrayList<>(CUSTOMERS);
+        Date now = new Date();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String first = name(random, 2);
+            String last = name(random, 3);
+            customers.add(new CustomerDTO((long) i + 1, capitalize(first) + " " + capitalize(last),
+                    first + "." + last + i + "@example.com", now));
+        }
+        index = new CustomerSearchIndex(null);
+        index.putAll(customers);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> contains() {
+        return index.search("mariso", false, 20);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> typeAhead() {
+        return index.search("jo ber", true, 20);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> email() {
+        return index.search("anjo.delhaka", false, 20);
+    }
+
+    private static String name(SplittableRandom random, int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
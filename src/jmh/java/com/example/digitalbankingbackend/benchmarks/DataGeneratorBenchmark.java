@@ -0,0 +1,67 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.generator.SyntheticDataGenerator;
+import com.example.digitalbankingbackend.imports.SequenceBlocks;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates {@value #OPERATIONS} operations per invocation on embedded H2, shaped like the
+ * {@code perf} profile (one account in a hundred hot, with 30% of the operations, over two
+ * years), with one and with four generator threads. The score is in operations per second,
+ * which gives the time the ten-million-operation dataset takes.
+ * <p>
+ * Each invocation uses a new seed, since the account ids follow from it, and the generated rows
+ * are deleted after each iteration.
+ */
+@State(Scope.Benchmark)
+public class DataGeneratorBenchmark {
+
+    private static final int CUSTOMERS = 100;
+    private static final int ACCOUNTS_PER_CUSTOMER = 2;
+    private static final int OPERATIONS_PER_ACCOUNT = 250;
+    private static final int OPERATIONS = CUSTOMERS * ACCOUNTS_PER_CUSTOMER * OPERATIONS_PER_ACCOUNT;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SequenceBlocks sequenceBlocks;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        customerRepository = context.getBean(CustomerRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        sequenceBlocks = context.getBean(SequenceBlocks.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteGenerated() {
+        jdbcTemplate.update("delete from account_operation");
+        jdbcTemplate.update("delete from balance_checkpoint");
+        jdbcTemplate.update("delete from bank_account");
+        jdbcTemplate.update("delete from customer");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void generate() {
+        new SyntheticDataGenerator(customerRepository, jdbcTemplate, transactionTemplate, sequenceBlocks,
+                CUSTOMERS, ACCOUNTS_PER_CUSTOMER, OPERATIONS_PER_ACCOUNT, 730, 0.01, 0.3, seed++, "", threads,
+                10_000, 10).generate();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reads the whole history of an account with {@value #OPERATIONS} operations on embedded H2:
+ * streamed row by row, as {@code /history/stream} does, and loaded as one list, as
+ * {@code /history} does. The GC profiler reports the bytes allocated per read.
+ * <p>
+ * Allocation does not show what a read keeps alive. At the end of each trial the heap still
+ * used after a full GC is printed: sampled every {@value #HEAP_SAMPLE_ROWS} rows while
+ * streaming, and while the loaded list is held, both above the heap used before the read.
+ */
+@State(Scope.Benchmark)
+public class HistoryExportBenchmark {
+
+    private static final int OPERATIONS = 200_000;
+    private static final int INSERT_BATCH = 5_000;
+    private static final int HEAP_SAMPLE_ROWS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private String accountId;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+        insertOperations();
+    }
+
+    private void insertOperations() {
+        AccountOperationRepository accountOperationRepository = context.getBean(AccountOperationRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BankAccount bankAccount = context.getBean(BankAccountRepository.class).findById(accountId).orElseThrow();
+        long start = System.currentTimeMillis() - OPERATIONS * 1_000L;
+        for (int batch = 0; batch < OPERATIONS; batch += INSERT_BATCH) {
+            List<AccountOperation> operations = new ArrayList<>(INSERT_BATCH);
+            for (int i = batch; i < batch + INSERT_BATCH; i++) {
+                operations.add(new AccountOperation(null, new Date(start + i * 1_000L), 1, OperationType.CREDIT,
+                        bankAccount, "Benchmark operation", null));
+            }
+            transactionTemplate.executeWithoutResult(status -> accountOperationRepository.saveAll(operations));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws BankAccountNotFoundException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedAfterGc(memory);
+        long[] streamed = {0, 0};
+        bankAccountService.exportAccountHistory(accountId, accountOperationDTO -> {
+            if (++streamed[0] % HEAP_SAMPLE_ROWS == 0) {
+                streamed[1] = Math.max(streamed[1], usedAfterGc(memory) - before);
+            }
+        });
+        List<AccountOperationDTO> history = bankAccountService.accountHistory(accountId);
+        long listed = usedAfterGc(memory) - before;
+        System.out.printf("%n%d operations, heap retained after GC: stream %.1f MB, list %.1f MB%n",
+                history.size(), streamed[1] / 1e6, listed / 1e6);
+        context.close();
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public long stream() throws BankAccountNotFoundException {
+        long[] rows = {0};
+        bankAccountService.exportAccountHistory(accountId, accountOperationDTO -> rows[0]++);
+        return rows[0];
+    }
+
+    @Benchmark
+    public List<AccountOperationDTO> list() throws BankAccountNotFoundException {
+        return bankAccountService.accountHistory(accountId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.mappers.BankAccountMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Mapping of a 10,000-row history page, reported per row: {@link BankAccountMapper} against
+ * the {@code BeanUtils.copyProperties} mapping it replaced, kept here as the reference.
+ */
+@State(Scope.Benchmark)
+public class HistoryMappingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final BankAccountMapper mapper = new BankAccountMapper();
+    private List<AccountOperation> page;
+
+    @Setup
+    public void setUp() {
+        CurrentAccount account = new CurrentAccount(5_000);
+        account.setId("9a0b3c4d-5e6f-4a1b-9c2d-3e4f5a6b7c8d");
+        page = new ArrayList<>(ROWS);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ROWS; i++) {
+            page.add(new AccountOperation((long) i, new Date(now - i * 60_000L), 10 + i % 500 * 1.25,
+                    i % 2 == 0 ? OperationType.CREDIT : OperationType.DEBIT, account,
+                    i % 2 == 0 ? "Credit Operation" : "Debit Operation", null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AccountOperationDTO> mapper() {
+        List<AccountOperationDTO> dtos = new ArrayList<>(ROWS);
+        for (AccountOperation accountOperation : page) {
+            dtos.add(mapper.fromAccountOperation(accountOperation));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<AccountOperationDTO> beanUtils() {
+        List<AccountOperationDTO> dtos = new ArrayList<>(ROWS);
+        for (AccountOperation accountOperation : page) {
+            AccountOperationDTO accountOperationDTO = new AccountOperationDTO();
+            BeanUtils.copyProperties(accountOperation, accountOperationDTO);
+            dtos.add(accountOperationDTO);
+        }
+        return dtos;
+    }
+}
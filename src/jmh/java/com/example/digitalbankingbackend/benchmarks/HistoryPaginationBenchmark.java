@@ -0,0 +1,96 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountHistoryCursorDTO;
+import com.example.digitalbankingbackend.dtos.AccountHistoryDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Pages of {@value #PAGE_SIZE} operations of an account with {@value #OPERATIONS} operations, on
+ * embedded H2: by page number, which skips the rows before the page and counts them all, and by
+ * cursor, which seeks to the page on the (account, date, id) index. {@code depth=first} reads
+ * the newest page, {@code depth=deep} the page {@value #DEEP_POSITION} rows down.
+ */
+@State(Scope.Benchmark)
+public class HistoryPaginationBenchmark {
+
+    private static final int OPERATIONS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_POSITION = 199_000;
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"first", "deep"})
+    public String depth;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private String accountId;
+    private int page;
+    private String cursor;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException, BankAccountNotFoundException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+        insertOperations();
+
+        int position = "deep".equals(depth) ? DEEP_POSITION : 0;
+        page = position / PAGE_SIZE;
+        // Walks to the position in the largest pages the cursor endpoint serves
+        cursor = null;
+        for (int skipped = 0; skipped < position; skipped += 1_000) {
+            cursor = bankAccountService.getAccountHistory(accountId, cursor, 1_000, false).getNextCursor();
+        }
+    }
+
+    private void insertOperations() {
+        AccountOperationRepository accountOperationRepository = context.getBean(AccountOperationRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BankAccount bankAccount = context.getBean(BankAccountRepository.class).findById(accountId).orElseThrow();
+        long start = System.currentTimeMillis() - OPERATIONS * 1_000L;
+        for (int batch = 0; batch < OPERATIONS; batch += INSERT_BATCH) {
+            List<AccountOperation> operations = new ArrayList<>(INSERT_BATCH);
+            for (int i = batch; i < batch + INSERT_BATCH; i++) {
+                operations.add(new AccountOperation(null, new Date(start + i * 1_000L), 1, OperationType.CREDIT,
+                        bankAccount, "Benchmark operation", null));
+            }
+            transactionTemplate.executeWithoutResult(status -> accountOperationRepository.saveAll(operations));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountHistoryDTO offsetPage() throws BankAccountNotFoundException {
+        return bankAccountService.getAccountHistory(accountId, page, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AccountHistoryCursorDTO cursorPage() throws BankAccountNotFoundException {
+        return bankAccountService.getAccountHistory(accountId, cursor, PAGE_SIZE, false);
+    }
+}
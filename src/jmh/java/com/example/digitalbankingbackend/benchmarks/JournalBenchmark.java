@@ -0,0 +1,78 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+
+/**
+ * Debits through {@link BankAccountService} on embedded H2, with the operation inserted in the
+ * debit's transaction ({@code journal=false}) or appended to the memory-mapped journal and
+ * drained into the table in the background ({@code journal=true}). Each thread debits an
+ * account of its own, so the ledger lanes do not get in the way.
+ */
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    private static final int THREADS = 8;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private Long customerId;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException, IOException {
+        context = BenchmarkApplication.start(
+                "app.journal.enabled=" + journal,
+                "app.journal.directory=" + Files.createTempDirectory("journal-benchmark"));
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The account one benchmark thread debits.
+     */
+    @State(Scope.Thread)
+    public static class Account {
+
+        String id;
+
+        @Setup
+        public void setUp(JournalBenchmark benchmark) throws CustomerNotFoundException {
+            id = benchmark.bankAccountService.saveCurrentBankAccount(1e12, 0, benchmark.customerId).getId();
+        }
+    }
+
+    @Benchmark
+    public void debit(Account account) throws BankAccountNotFoundException, BalanceNotSufficientException,
+            BankAccountActionNotAllowedException {
+        bankAccountService.debit(account.id, 1, "Benchmark debit");
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void debitParallel(Account account) throws BankAccountNotFoundException,
+            BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        bankAccountService.debit(account.id, 1, "Benchmark debit");
+    }
+}
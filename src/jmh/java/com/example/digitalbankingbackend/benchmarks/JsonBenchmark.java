@@ -0,0 +1,55 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountHistoryDTO;
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Serialization of a page of account history, with the object mapper settings Spring Boot
+ * applies to REST responses.
+ */
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private AccountHistoryDTO history;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<AccountOperationDTO> operations = new ArrayList<>(pageSize);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < pageSize; i++) {
+            AccountOperationDTO operation = new AccountOperationDTO();
+            operation.setId((long) i);
+            operation.setOperationDate(new Date(now - i * 60_000L));
+            operation.setAmount(10 + i % 500 * 1.25);
+            operation.setType(i % 2 == 0 ? OperationType.CREDIT : OperationType.DEBIT);
+            operation.setDescription(i % 2 == 0 ? "Credit Operation" : "Debit Operation");
+            operations.add(operation);
+        }
+        history = new AccountHistoryDTO();
+        history.setAccountId("9a0b3c4d-5e6f-4a1b-9c2d-3e4f5a6b7c8d");
+        history.setBalance(3_200.10);
+        history.setCurrentPage(0);
+        history.setTotalPages(10);
+        history.setPageSize(pageSize);
+        history.setAccountOperationDTOS(operations);
+    }
+
+    @Benchmark
+    public byte[] writeAccountHistory() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(history);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+
+/**
+ * Verification of a valid token, once served from the verified-claims cache and once with a
+ * one-entry cache that two alternating tokens keep missing, so every call checks the signature.
+ */
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "digitalBankingSecretKeyForJWTAuthentication2024";
+
+    private JwtUtils cached;
+    private JwtUtils missing;
+    private String token;
+    private final String[] alternating = new String[2];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtils(SECRET, 86_400_000, 10_000, 300_000, new SimpleMeterRegistry());
+        missing = new JwtUtils(SECRET, 86_400_000, 1, 300_000, new SimpleMeterRegistry());
+        token = cached.generateTokenFromUsername("user");
+        alternating[0] = missing.generateTokenFromUsername("user");
+        alternating[1] = missing.generateTokenFromUsername("admin");
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return cached.verifyJwtToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifySignature() {
+        next ^= 1;
+        return missing.verifyJwtToken(alternating[next]);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.TransferDTO;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+
+/**
+ * Money movements through {@link BankAccountService} on embedded H2, each in its own
+ * transaction as they are from the REST controllers. The accounts start with enough money for
+ * the whole run.
+ * <p>
+ * With {@code accounts=hot} every thread moves money between the same two accounts, so the
+ * operations queue on those accounts' ledger lanes; with {@code accounts=cold} each thread has
+ * accounts of its own. The eight-thread variants against the single-thread ones show how
+ * throughput scales in each case: cold accounts should scale with the threads, hot accounts
+ * should not fall below the single-thread rate.
+ */
+@State(Scope.Benchmark)
+public class LedgerBenchmark {
+
+    private static final int THREADS = 8;
+
+    @Param({"hot", "cold"})
+    public String accounts;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private Long customerId;
+    private String hotSource;
+    private String hotDestination;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+        hotSource = openAccount();
+        hotDestination = openAccount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    String openAccount() throws CustomerNotFoundException {
+        return bankAccountService.saveCurrentBankAccount(1e12, 0, customerId).getId();
+    }
+
+    /**
+     * The accounts one benchmark thread moves money between.
+     */
+    @State(Scope.Thread)
+    public static class Accounts {
+
+        String source;
+        String destination;
+
+        @Setup
+        public void setUp(LedgerBenchmark ledger) throws CustomerNotFoundException {
+            if ("hot".equals(ledger.accounts)) {
+                source = ledger.hotSource;
+                destination = ledger.hotDestination;
+            } else {
+                source = ledger.openAccount();
+                destination = ledger.openAccount();
+            }
+        }
+    }
+
+    @Benchmark
+    public void debit(Accounts accounts) throws BankAccountNotFoundException, BalanceNotSufficientException,
+            BankAccountActionNotAllowedException {
+        bankAccountService.debit(accounts.source, 1, "Benchmark debit");
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void debitParallel(Accounts accounts) throws BankAccountNotFoundException,
+            BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        bankAccountService.debit(accounts.source, 1, "Benchmark debit");
+    }
+
+    @Benchmark
+    public TransferDTO transfer(Accounts accounts) throws BankAccountNotFoundException,
+            BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        return bankAccountService.transfer(accounts.source, accounts.destination, 1);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public TransferDTO transferParallel(Accounts accounts) throws BankAccountNotFoundException,
+            BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        return bankAccountService.transfer(accounts.source, accounts.destination, 1);
+    }
+}
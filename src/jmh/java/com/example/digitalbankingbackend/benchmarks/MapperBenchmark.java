@@ -0,0 +1,81 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.dtos.CurrentBankAccountDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.SavingBankAccountDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.Customer;
+import com.example.digitalbankingbackend.entities.SavingAccount;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.mappers.BankAccountMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+
+/**
+ * Entity to DTO conversions of {@link BankAccountMapper}, one entity per call.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private BankAccountMapper mapper;
+    private Customer customer;
+    private SavingAccount savingAccount;
+    private CurrentAccount currentAccount;
+    private AccountOperation accountOperation;
+    private CustomerDTO customerDTO;
+
+    @Setup
+    public void setUp() {
+        mapper = new BankAccountMapper();
+        customer = new Customer(1L, "Hassan Alaoui", "hassan.alaoui@example.com", new Date(), null);
+
+        savingAccount = new SavingAccount();
+        savingAccount.setId("5c7e1f0a-3b1e-4c55-8a0e-0d6f2f6a9b11");
+        savingAccount.setBalance(12_500.75);
+        savingAccount.setCreatedAt(new Date());
+        savingAccount.setStatus(AccountStatus.ACTIVATED);
+        savingAccount.setCustomer(customer);
+        savingAccount.setInterestRate(5.5);
+
+        currentAccount = new CurrentAccount();
+        currentAccount.setId("9a0b3c4d-5e6f-4a1b-9c2d-3e4f5a6b7c8d");
+        currentAccount.setBalance(3_200.10);
+        currentAccount.setCreatedAt(new Date());
+        currentAccount.setStatus(AccountStatus.ACTIVATED);
+        currentAccount.setCustomer(customer);
+        currentAccount.setOverDraft(5_000);
+
+        accountOperation = new AccountOperation(42L, new Date(), 250.5, OperationType.DEBIT, currentAccount,
+                "Debit Operation", null);
+        customerDTO = mapper.fromCustomer(customer);
+    }
+
+    @Benchmark
+    public CustomerDTO fromCustomer() {
+        return mapper.fromCustomer(customer);
+    }
+
+    @Benchmark
+    public Customer fromCustomerDTO() {
+        return mapper.fromCustomerDTO(customerDTO);
+    }
+
+    @Benchmark
+    public SavingBankAccountDTO fromSavingBankAccount() {
+        return mapper.fromSavingBankAccount(savingAccount);
+    }
+
+    @Benchmark
+    public CurrentBankAccountDTO fromCurrentBankAccount() {
+        return mapper.fromCurrentBankAccount(currentAccount);
+    }
+
+    @Benchmark
+    public AccountOperationDTO fromAccountOperation() {
+        return mapper.fromAccountOperation(accountOperation);
+    }
+}
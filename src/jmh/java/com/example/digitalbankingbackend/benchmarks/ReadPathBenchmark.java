@@ -0,0 +1,149 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.AccountHistoryCursorDTO;
+import com.example.digitalbankingbackend.dtos.AccountHistoryDTO;
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountPageDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.SavingAccount;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.mappers.BankAccountMapper;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The list and history reads, on embedded H2: through {@link BankAccountService}, which selects
+ * DTOs in read-only transactions, against the entity reads they replaced, kept here as the
+ * reference (managed entities in a read-write transaction, then mapped). The allocation per
+ * operation of each pair is the heap a request saves. Both history reads, by page number and by
+ * cursor, compare against {@code historyFromEntities}.
+ */
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+
+    private static final int CUSTOMERS = 250;
+    private static final int HISTORY_PAGE = 100;
+    private static final int ACCOUNT_PAGE = 100;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private BankAccountRepository bankAccountRepository;
+    private CustomerRepository customerRepository;
+    private AccountOperationRepository accountOperationRepository;
+    private BankAccountMapper mapper;
+    private TransactionTemplate readWriteTransaction;
+    private String accountId;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException, BankAccountNotFoundException,
+            BankAccountActionNotAllowedException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        bankAccountRepository = context.getBean(BankAccountRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        accountOperationRepository = context.getBean(AccountOperationRepository.class);
+        mapper = context.getBean(BankAccountMapper.class);
+        readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setName("Benchmark " + i);
+            customer.setEmail("benchmark" + i + "@example.com");
+            customer.setCreatedAt(new Date());
+            Long customerId = bankAccountService.saveCustomer(customer).getId();
+            String currentAccountId = bankAccountService.saveCurrentBankAccount(1_000, 500, customerId).getId();
+            bankAccountService.saveSavingBankAccount(1_000, 2.5, customerId);
+            if (accountId == null) {
+                accountId = currentAccountId;
+            }
+        }
+        for (int i = 0; i < HISTORY_PAGE; i++) {
+            bankAccountService.credit(accountId, 1, "Benchmark credit");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Every account, walked in pages as a client of the paged listing would
+    @Benchmark
+    public List<BankAccountDTO> accountList() {
+        BankAccountFilterDTO filter = new BankAccountFilterDTO();
+        filter.setIncludeInactive(true);
+        List<BankAccountDTO> bankAccountDTOS = new ArrayList<>();
+        String cursor = null;
+        do {
+            BankAccountPageDTO page = bankAccountService.bankAccountPage(filter, cursor, ACCOUNT_PAGE);
+            bankAccountDTOS.addAll(page.getBankAccountDTOS());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return bankAccountDTOS;
+    }
+
+    @Benchmark
+    public List<BankAccountDTO> accountListFromEntities() {
+        return readWriteTransaction.execute(status -> {
+            List<BankAccountDTO> bankAccountDTOS = new ArrayList<>();
+            for (BankAccount bankAccount : bankAccountRepository.findAll()) {
+                bankAccountDTOS.add(bankAccount instanceof SavingAccount savingAccount
+                        ? mapper.fromSavingBankAccount(savingAccount)
+                        : mapper.fromCurrentBankAccount((CurrentAccount) bankAccount));
+            }
+            return bankAccountDTOS;
+        });
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customerList() {
+        return bankAccountService.listCustomers();
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customerListFromEntities() {
+        return readWriteTransaction.execute(status ->
+                customerRepository.findAll().stream().map(mapper::fromCustomer).toList());
+    }
+
+    @Benchmark
+    public AccountHistoryDTO history() throws BankAccountNotFoundException {
+        return bankAccountService.getAccountHistory(accountId, 0, HISTORY_PAGE);
+    }
+
+    @Benchmark
+    public AccountHistoryCursorDTO historyByCursor() throws BankAccountNotFoundException {
+        return bankAccountService.getAccountHistory(accountId, null, HISTORY_PAGE, false);
+    }
+
+    @Benchmark
+    public List<AccountOperationDTO> historyFromEntities() {
+        return readWriteTransaction.execute(status -> {
+            bankAccountRepository.findById(accountId);
+            List<AccountOperationDTO> accountOperationDTOS = new ArrayList<>();
+            for (AccountOperation accountOperation : accountOperationRepository.findByBankAccountId(accountId,
+                    PageRequest.of(0, HISTORY_PAGE, Sort.by(Sort.Direction.DESC, "operationDate")))) {
+                accountOperationDTOS.add(mapper.fromAccountOperation(accountOperation));
+            }
+            return accountOperationDTOS;
+        });
+    }
+}
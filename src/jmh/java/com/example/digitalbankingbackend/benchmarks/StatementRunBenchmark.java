@@ -0,0 +1,109 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.StatementRunDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.Customer;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import com.example.digitalbankingbackend.services.BalanceCheckpoints;
+import com.example.digitalbankingbackend.statements.StatementChunkWriter;
+import com.example.digitalbankingbackend.statements.StatementEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * A statement run over {@value #ACCOUNTS} accounts with {@value #OPERATIONS_PER_ACCOUNT}
+ * operations each in the period, on embedded H2, with the default 4 workers and chunks of 1000
+ * accounts. Each invocation writes a new run directory; the score is in accounts per second.
+ * <p>
+ * The throughput and peak heap the engine reports for its last run are printed at the end of
+ * each trial.
+ */
+@State(Scope.Benchmark)
+public class StatementRunBenchmark {
+
+    private static final int ACCOUNTS = 20_000;
+    private static final int OPERATIONS_PER_ACCOUNT = 10;
+    private static final int INSERT_BATCH = 500;
+
+    private ConfigurableApplicationContext context;
+    private StatementChunkWriter chunkWriter;
+    private BankAccountRepository bankAccountRepository;
+    private PlatformTransactionManager transactionManager;
+    private Path directory;
+    private final YearMonth period = YearMonth.now().minusMonths(1);
+    private int runs;
+    private StatementRunDTO lastRun;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start();
+        chunkWriter = context.getBean(StatementChunkWriter.class);
+        bankAccountRepository = context.getBean(BankAccountRepository.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+        directory = Files.createTempDirectory("statement-benchmark");
+        insertAccounts();
+    }
+
+    private void insertAccounts() {
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        AccountOperationRepository accountOperationRepository = context.getBean(AccountOperationRepository.class);
+        BalanceCheckpoints balanceCheckpoints = context.getBean(BalanceCheckpoints.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ZoneId zone = ZoneId.systemDefault();
+        Date openedAt = Date.from(period.minusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+        Customer customer = customerRepository.save(new Customer(null, "Benchmark", "benchmark@example.com", new Date(), null));
+        for (int batch = 0; batch < ACCOUNTS; batch += INSERT_BATCH) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<AccountOperation> operations = new ArrayList<>();
+                for (int i = 0; i < INSERT_BATCH; i++) {
+                    CurrentAccount account = new CurrentAccount();
+                    account.setId(UUID.randomUUID().toString());
+                    account.setBalance(1000);
+                    account.setCreatedAt(openedAt);
+                    account.setStatus(AccountStatus.ACTIVATED);
+                    account.setCustomer(customer);
+                    bankAccountRepository.save(account);
+                    balanceCheckpoints.open(account);
+                    for (int j = 0; j < OPERATIONS_PER_ACCOUNT; j++) {
+                        Date operationDate = Date.from(period.atDay(1 + j).atTime(12, 0).atZone(zone).toInstant());
+                        operations.add(new AccountOperation(null, operationDate, 1, OperationType.CREDIT, account,
+                                "Benchmark operation", null));
+                    }
+                }
+                accountOperationRepository.saveAll(operations);
+                balanceCheckpoints.apply(operations);
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nLast run: %d accounts, %d operations in %d ms, %.0f accounts/s, peak heap %.1f MB%n",
+                lastRun.accounts(), lastRun.operations(), lastRun.elapsedMs(), lastRun.accountsPerSecond(),
+                lastRun.peakHeapBytes() / 1e6);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public StatementRunDTO run() {
+        StatementEngine engine = new StatementEngine(bankAccountRepository, chunkWriter, transactionManager,
+                directory.resolve(Integer.toString(runs++)).toString(), 4, 1_000);
+        lastRun = engine.run(period);
+        return lastRun;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.digitalbankingbackend.benchmarks;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+
+/**
+ * Concurrent credits to one hot account, on embedded H2. With {@code stripes=0} every credit
+ * takes the account's ledger lane and row lock; with stripes it adds to a random slot and only
+ * collides with the credits that pick the same one.
+ */
+@State(Scope.Benchmark)
+public class StripedCreditBenchmark {
+
+    @Param({"0", "16"})
+    public int stripes;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountService bankAccountService;
+    private String accountId;
+
+    @Setup
+    public void setUp() throws CustomerNotFoundException, BankAccountNotFoundException,
+            BankAccountActionNotAllowedException {
+        context = BenchmarkApplication.start();
+        bankAccountService = context.getBean(BankAccountService.class);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Benchmark");
+        customer.setEmail("benchmark@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+        bankAccountService.configureBalanceStripes(accountId, stripes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void credit() throws BankAccountNotFoundException, BankAccountActionNotAllowedException {
+        bankAccountService.credit(accountId, 1, "Benchmark credit");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void creditParallel() throws BankAccountNotFoundException, BankAccountActionNotAllowedException {
+        bankAccountService.credit(accountId, 1, "Benchmark credit");
+    }
+}
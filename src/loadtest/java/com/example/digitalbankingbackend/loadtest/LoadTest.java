@@ -0,0 +1,371 @@
+package com.example.digitalbankingbackend.loadtest;
+
+import com.example.digitalbankingbackend.DigitalBankingBackendApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test of the REST API.
+ * <p>
+ * Unless {@code loadtest.url} points to a running instance, the application is started on a
+ * random local port with an in-memory H2 database filled by the synthetic data generator. The
+ * harness logs in through {@code /api/auth/login} as each configured user, reads the account
+ * ids, then sends the scenario mix (see {@link Scenario}) at {@code loadtest.rate} requests per
+ * second, spreading the requests over the users' tokens.
+ * <p>
+ * Requests are sent on schedule whether or not earlier ones have completed, and latency is
+ * measured from the time a request was due to be sent, so a stalled server shows up in the
+ * percentiles instead of slowing the load down (no coordinated omission). Requests that would
+ * exceed {@code loadtest.max-in-flight} are dropped and counted as errors.
+ * <p>
+ * Latencies go into one HDR histogram per scenario. The report directory receives
+ * {@code latency.hlog}, the per-second interval histograms of every scenario in HdrHistogram's
+ * log format, and {@code report.json}: the settings, and per scenario and overall the request
+ * and error counts, the p50/p90/p99/p99.9/max latencies in milliseconds and the full histogram,
+ * compressed and base64 encoded, so that reports of different builds can be compared.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final LoadTestSettings settings;
+    private final URI base;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Scenario.TIMEOUT)
+            .build();
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+
+    LoadTest(LoadTestSettings settings, URI base) {
+        this.settings = settings;
+        this.base = base;
+        for (Scenario scenario : settings.mix().keySet()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        URI base = settings.url();
+        if (base == null) {
+            application = start(settings);
+            base = URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port"));
+        }
+        try {
+            new LoadTest(settings, base).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestSettings settings) {
+        return SpringApplication.run(DigitalBankingBackendApplication.class,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--app.generator.customers=" + settings.customers(),
+                "--app.generator.accounts-per-customer=2",
+                "--app.generator.operations-per-account=" + settings.operationsPerAccount(),
+                "--app.generator.seed=" + settings.seed());
+    }
+
+    void run() throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (Map.Entry<String, String> user : settings.users().entrySet()) {
+            tokens.add(login(user.getKey(), user.getValue()));
+        }
+        List<String> accountIds = accountIds(tokens.get(0));
+        if (accountIds.isEmpty()) {
+            throw new IllegalStateException("There are no accounts to run the load test on.");
+        }
+
+        Files.createDirectories(settings.report());
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        HistogramLogWriter log = new HistogramLogWriter(settings.report().resolve("latency.hlog").toFile());
+        try {
+            log.outputLogFormatVersion();
+            log.outputStartTime(startedAt.toEpochMilli());
+            log.outputLegend();
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> collect(log, startedAt.toEpochMilli()), 1, 1, TimeUnit.SECONDS);
+            try {
+                drive(tokens, accountIds);
+            } finally {
+                reporter.shutdown();
+                reporter.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            collect(log, startedAt.toEpochMilli());
+        } finally {
+            log.close();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        writeReport(startedAt, elapsedNanos);
+    }
+
+    /**
+     * Sends the requests on schedule until the end of the test, then waits for the last ones.
+     */
+    private void drive(List<String> tokens, List<String> accountIds) throws InterruptedException {
+        Scenario[] wheel = wheel(settings.mix());
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        double intervalNanos = 1e9 / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            ScenarioStats scenarioStats = stats.get(scenario);
+            boolean measured = due >= measureFrom;
+            HttpRequest request = scenario.request(base, accountIds, random)
+                    .header("Authorization", "Bearer " + tokens.get((int) (i % tokens.size())))
+                    .timeout(Scenario.TIMEOUT)
+                    .build();
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    scenarioStats.outcomes[Outcome.DROPPED.ordinal()].increment();
+                }
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - due;
+                inFlight.release();
+                if (measured) {
+                    scenarioStats.record(latency, response != null ? Outcome.of(response.statusCode()) : Outcome.FAILED);
+                }
+            });
+        }
+        if (!inFlight.tryAcquire(settings.maxInFlight(), Scenario.TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.err.println("Some requests were still in flight at the end of the test");
+        }
+    }
+
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> wheel.addAll(Collections.nCopies(weight, scenario)));
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    /**
+     * Moves the latencies recorded since the last call into the totals and the interval log.
+     */
+    private synchronized void collect(HistogramLogWriter log, long baseMillis) {
+        stats.forEach((scenario, scenarioStats) -> {
+            scenarioStats.interval = scenarioStats.recorder.getIntervalHistogram(scenarioStats.interval);
+            if (scenarioStats.interval.getTotalCount() > 0) {
+                scenarioStats.interval.setTag(scenario.label());
+                log.outputIntervalHistogram((scenarioStats.interval.getStartTimeStamp() - baseMillis) / 1e3,
+                        (scenarioStats.interval.getEndTimeStamp() - baseMillis) / 1e3, scenarioStats.interval, 1e3);
+                scenarioStats.total.add(scenarioStats.interval);
+            }
+        });
+    }
+
+    private void writeReport(Instant startedAt, long elapsedNanos) throws IOException {
+        Map<String, Object> settingsReport = new LinkedHashMap<>();
+        settingsReport.put("url", base.toString());
+        settingsReport.put("rate", settings.rate());
+        settingsReport.put("warmupSeconds", settings.warmupSeconds());
+        settingsReport.put("durationSeconds", settings.durationSeconds());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((scenario, weight) -> mix.put(scenario.label(), weight));
+        settingsReport.put("mix", mix);
+        settingsReport.put("users", settings.users().size());
+        settingsReport.put("maxInFlight", settings.maxInFlight());
+        settingsReport.put("seed", settings.seed());
+        if (settings.url() == null) {
+            settingsReport.put("customers", settings.customers());
+            settingsReport.put("operationsPerAccount", settings.operationsPerAccount());
+        }
+
+        Histogram all = new Histogram(3);
+        long[] allOutcomes = new long[Outcome.values().length];
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        stats.forEach((scenario, scenarioStats) -> {
+            long[] outcomes = scenarioStats.outcomes();
+            all.add(scenarioStats.total);
+            for (int i = 0; i < outcomes.length; i++) {
+                allOutcomes[i] += outcomes[i];
+            }
+            scenarios.put(scenario.label(), summary(scenarioStats.total, outcomes));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("settings", settingsReport);
+        long requests = Arrays.stream(allOutcomes).sum();
+        report.put("achievedRate", round(requests / (double) settings.durationSeconds()));
+        report.put("elapsedSeconds", round(elapsedNanos / 1e9));
+        report.put("all", summary(all, allOutcomes));
+        report.put("scenarios", scenarios);
+
+        Path file = settings.report().resolve("report.json");
+        JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+
+        System.out.printf("%n%-10s %9s %8s %10s %10s %10s %10s%n", "scenario", "requests", "errors", "p50 ms",
+                "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((scenario, scenarioStats) -> print(scenario.label(), scenarioStats.total, scenarioStats.outcomes()));
+        print("all", all, allOutcomes);
+        System.out.println("Report: " + file.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long[] outcomes) {
+        long requests = Arrays.stream(outcomes).sum();
+        long errors = requests - outcomes[Outcome.OK.ordinal()];
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", round(histogram.getMean() / 1e3));
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounts.put(outcome.label, outcomes[outcome.ordinal()]);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("errorRate", requests > 0 ? round((double) errors / requests) : 0.0);
+        summary.put("latencyMs", latency);
+        summary.put("outcomes", outcomeCounts);
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        summary.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return summary;
+    }
+
+    private static void print(String label, Histogram histogram, long[] outcomes) {
+        long requests = Arrays.stream(outcomes).sum();
+        System.out.printf("%-10s %9d %8d %10.2f %10.2f %10.2f %10.2f%n", label, requests,
+                requests - outcomes[Outcome.OK.ordinal()], millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(
+                        Map.of("username", username, "password", password))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with status " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).get("token").asText();
+    }
+
+    private List<String> accountIds(String token) throws IOException, InterruptedException {
+        List<String> accountIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/v1/accounts?size=1000"
+                            + (cursor != null ? "&cursor=" + cursor : "")))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Listing the accounts failed with status " + response.statusCode());
+            }
+            JsonNode page = JSON.readTree(response.body());
+            for (JsonNode account : page.get("bankAccountDTOS")) {
+                accountIds.add(account.get("id").asText());
+            }
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return accountIds;
+    }
+
+    // Latencies are recorded in microseconds
+    private static double millis(long micros) {
+        return round(micros / 1e3);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private enum Outcome {
+        OK("2xx"), CLIENT_ERROR("4xx"), SERVER_ERROR("5xx"), FAILED("failed"), DROPPED("dropped");
+
+        private final String label;
+
+        Outcome(String label) {
+            this.label = label;
+        }
+
+        static Outcome of(int status) {
+            if (status < 400) {
+                return OK;
+            }
+            return status < 500 ? CLIENT_ERROR : SERVER_ERROR;
+        }
+    }
+
+    private static final class ScenarioStats {
+        final Recorder recorder = new Recorder(3);
+        final Histogram total = new Histogram(3);
+        final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+        Histogram interval = recorder.getIntervalHistogram();
+
+        ScenarioStats() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        void record(long latencyNanos, Outcome outcome) {
+            recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+            outcomes[outcome.ordinal()].increment();
+        }
+
+        long[] outcomes() {
+            long[] counts = new long[outcomes.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = outcomes[i].sum();
+            }
+            return counts;
+        }
+    }
+}
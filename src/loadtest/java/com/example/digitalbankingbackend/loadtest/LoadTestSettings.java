@@ -0,0 +1,73 @@
+package com.example.digitalbankingbackend.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test, read from {@code loadtest.*} system properties.
+ *
+ * @param url          application to test; empty to start one on a random local port
+ * @param rate         requests per second, sent on schedule whatever the response times
+ * @param warmupSeconds seconds of load before measuring starts
+ * @param durationSeconds seconds of measured load
+ * @param mix          relative weight of each scenario
+ * @param users        username to password, for the JWTs the requests are spread over
+ * @param maxInFlight  requests in flight beyond which new ones are dropped (and counted)
+ * @param seed         seed of the request sequence
+ * @param customers    customers generated for a locally started application, two accounts each
+ * @param operationsPerAccount operations generated per account for a locally started application
+ * @param report       directory of the report
+ */
+record LoadTestSettings(URI url,
+                        int rate,
+                        int warmupSeconds,
+                        int durationSeconds,
+                        Map<Scenario, Integer> mix,
+                        Map<String, String> users,
+                        int maxInFlight,
+                        long seed,
+                        int customers,
+                        int operationsPerAccount,
+                        Path report) {
+
+    static LoadTestSettings fromSystemProperties() {
+        String url = System.getProperty("loadtest.url", "");
+        LoadTestSettings settings = new LoadTestSettings(
+                url.isBlank() ? null : URI.create(url),
+                Integer.getInteger("loadtest.rate", 200),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Scenario.parseMix(System.getProperty("loadtest.mix",
+                        "account=25,accounts=2,history=33,debit=15,credit=15,transfer=10")),
+                parseUsers(System.getProperty("loadtest.users", "user:user123,manager:manager123,admin:admin123")),
+                Integer.getInteger("loadtest.max-in-flight", 1000),
+                Long.getLong("loadtest.seed", 42),
+                Integer.getInteger("loadtest.customers", 5000),
+                Integer.getInteger("loadtest.operations-per-account", 20),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest")));
+        if (settings.rate <= 0 || settings.durationSeconds <= 0 || settings.warmupSeconds < 0 || settings.maxInFlight <= 0) {
+            throw new IllegalArgumentException("The rate, duration and in-flight limit must be positive.");
+        }
+        if (settings.users.isEmpty()) {
+            throw new IllegalArgumentException("At least one user is needed to log in.");
+        }
+        return settings;
+    }
+
+    private static Map<String, String> parseUsers(String users) {
+        Map<String, String> credentials = new LinkedHashMap<>();
+        for (String user : users.split(",")) {
+            if (user.isBlank()) {
+                continue;
+            }
+            int separator = user.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Users must be given as username:password, not " + user);
+            }
+            credentials.put(user.substring(0, separator).trim(), user.substring(separator + 1).trim());
+        }
+        return credentials;
+    }
+}
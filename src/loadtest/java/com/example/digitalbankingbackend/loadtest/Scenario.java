@@ -0,0 +1,113 @@
+package com.example.digitalbankingbackend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The requests of the load mix. Money movements carry an {@code Idempotency-Key}, as a real
+ * client's would, and small amounts so that accounts do not run dry.
+ */
+enum Scenario {
+
+    ACCOUNT("account") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            return HttpRequest.newBuilder(base.resolve("/api/v1/accounts/" + pick(accountIds, random))).GET();
+        }
+    },
+    ACCOUNTS("accounts") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            return HttpRequest.newBuilder(base.resolve("/api/v1/accounts")).GET();
+        }
+    },
+    HISTORY("history") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            return HttpRequest.newBuilder(base.resolve("/api/v1/accounts/" + pick(accountIds, random)
+                    + "/pageHistory?page=" + random.nextInt(3) + "&size=10")).GET();
+        }
+    },
+    DEBIT("debit") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            return post(base, "/api/v1/accounts/debit", "{\"accountId\":\"" + pick(accountIds, random)
+                    + "\",\"amount\":" + amount(random) + ",\"description\":\"Load test debit\"}", random);
+        }
+    },
+    CREDIT("credit") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            return post(base, "/api/v1/accounts/credit", "{\"accountId\":\"" + pick(accountIds, random)
+                    + "\",\"amount\":" + amount(random) + ",\"description\":\"Load test credit\"}", random);
+        }
+    },
+    TRANSFER("transfer") {
+        @Override
+        HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random) {
+            String source = pick(accountIds, random);
+            String destination = pick(accountIds, random);
+            return post(base, "/api/v1/accounts/transfer", "{\"accountSource\":\"" + source
+                    + "\",\"accountDestination\":\"" + destination + "\",\"amount\":" + amount(random) + "}", random);
+        }
+    };
+
+    static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract HttpRequest.Builder request(URI base, List<String> accountIds, SplittableRandom random);
+
+    /**
+     * Parses a mix such as {@code history=60,debit=40}; scenarios left out are not run.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            Scenario scenario = Arrays.stream(values())
+                    .filter(value -> value.label.equals(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + parts[0].trim()));
+            int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : -1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Scenario weights must be given as name=weight, not " + entry);
+            }
+            if (weight > 0) {
+                weights.put(scenario, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The load mix is empty.");
+        }
+        return weights;
+    }
+
+    private static String pick(List<String> accountIds, SplittableRandom random) {
+        return accountIds.get(random.nextInt(accountIds.size()));
+    }
+
+    private static int amount(SplittableRandom random) {
+        return 1 + random.nextInt(50);
+    }
+
+    private static HttpRequest.Builder post(URI base, String path, String body, SplittableRandom random) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", new UUID(random.nextLong(), random.nextLong()).toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+}
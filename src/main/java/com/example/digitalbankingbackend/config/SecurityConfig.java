@@ -63,8 +63,12 @@ public class SecurityConfig {
                     auth.requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
+                        // Served on the management port only (management.server.port)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/api/v1/customers/**").hasAnyRole("USER", "ADMIN", "MANAGER")
                         .requestMatchers("/api/v1/accounts/**").hasAnyRole("USER", "ADMIN", "MANAGER")
+                        .requestMatchers("/api/v1/statements/**").hasAnyRole("ADMIN", "MANAGER")
+                        .requestMatchers("/api/v1/imports/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 );        // Fix H2 Console frame options
         http.headers(headers -> headers
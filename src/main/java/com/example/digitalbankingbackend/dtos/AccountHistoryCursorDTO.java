@@ -0,0 +1,16 @@
+package com.example.digitalbankingbackend.dtos;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class AccountHistoryCursorDTO {
+    private String accountId;
+    private double balance;
+    private int pageSize;
+    private List<AccountOperationDTO> accountOperationDTOS;
+    // Opaque cursor of the next page, null on the last page
+    private String nextCursor;
+    // Only counted when requested
+    private Long totalElements;
+}
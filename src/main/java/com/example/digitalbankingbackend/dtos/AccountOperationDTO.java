@@ -1,14 +1,17 @@
 package com.example.digitalbankingbackend.dtos;
 
 import com.example.digitalbankingbackend.enums.OperationType;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.Date;
 
-@Data
+@Data @NoArgsConstructor @AllArgsConstructor
 public class AccountOperationDTO {
     private Long id;
     private Date operationDate;
     private double amount;
     private OperationType type;
     private String description;
+    private String transferId;
 }
\ No newline at end of file
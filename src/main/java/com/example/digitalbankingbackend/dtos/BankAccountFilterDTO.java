@@ -0,0 +1,17 @@
+package com.example.digitalbankingbackend.dtos;
+
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import lombok.Data;
+
+@Data
+public class BankAccountFilterDTO {
+    // Without a status, SUSPENDED and CLOSED accounts are only listed when includeInactive is set
+    private boolean includeInactive;
+    private AccountStatus status;
+    // CA or SA
+    private String type;
+    private Long customerId;
+    // Bounds of the balance, striped amounts included
+    private Double minBalance;
+    private Double maxBalance;
+}
@@ -0,0 +1,12 @@
+package com.example.digitalbankingbackend.dtos;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BankAccountPageDTO {
+    private int pageSize;
+    private List<BankAccountDTO> bankAccountDTOS;
+    // Opaque cursor of the next page, null on the last page
+    private String nextCursor;
+}
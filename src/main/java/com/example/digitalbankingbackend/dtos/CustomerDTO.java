@@ -1,9 +1,11 @@
 package com.example.digitalbankingbackend.dtos;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.Date;
 
-@Data
+@Data @NoArgsConstructor @AllArgsConstructor
 public class CustomerDTO {
     private Long id;
     private String name;
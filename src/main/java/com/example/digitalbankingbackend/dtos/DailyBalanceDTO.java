@@ -0,0 +1,8 @@
+package com.example.digitalbankingbackend.dtos;
+
+import java.time.LocalDate;
+
+public record DailyBalanceDTO(
+        LocalDate date,
+        double balance
+) {}
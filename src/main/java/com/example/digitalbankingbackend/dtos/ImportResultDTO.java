@@ -0,0 +1,13 @@
+package com.example.digitalbankingbackend.dtos;
+
+public record ImportResultDTO(
+        String kind,
+        long rowsRead,
+        long imported,
+        long rejected,
+        long elapsedMs,
+        double rowsPerSecond,
+        String rejectedRowsReport,
+        String idMappingFile,
+        String error
+) {}
@@ -0,0 +1,14 @@
+package com.example.digitalbankingbackend.dtos;
+
+public record StatementRunDTO(
+        String period,
+        String status,
+        long chunks,
+        long skippedChunks,
+        long accounts,
+        long operations,
+        long elapsedMs,
+        double accountsPerSecond,
+        long peakHeapBytes,
+        String message
+) {}
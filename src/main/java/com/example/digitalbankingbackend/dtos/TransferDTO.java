@@ -0,0 +1,11 @@
+package com.example.digitalbankingbackend.dtos;
+
+import java.util.Date;
+
+public record TransferDTO(
+        String transferId,
+        String accountSource,
+        String accountDestination,
+        double amount,
+        Date operationDate
+) {}
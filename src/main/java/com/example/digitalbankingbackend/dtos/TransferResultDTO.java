@@ -0,0 +1,10 @@
+package com.example.digitalbankingbackend.dtos;
+
+public record TransferResultDTO(
+        int index,
+        String accountSource,
+        String accountDestination,
+        double amount,
+        boolean success,
+        String message
+) {}
@@ -9,9 +9,11 @@ import lombok.NoArgsConstructor;
 import java.util.Date;
 
 @Entity
+@Table(indexes = @Index(name = "idx_account_operation_history", columnList = "bank_account_id, operation_date, id"))
 @Data @NoArgsConstructor @AllArgsConstructor
 public class AccountOperation {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_operation_seq")
+    @SequenceGenerator(name = "account_operation_seq", sequenceName = "account_operation_seq", allocationSize = 50)
     private Long id;
     private Date operationDate;
     private double amount;
@@ -23,4 +25,7 @@ public class AccountOperation {
     private BankAccount bankAccount;
 
     private String description;
+
+    // Shared by the two legs of a transfer
+    private String transferId;
 }
\ No newline at end of file
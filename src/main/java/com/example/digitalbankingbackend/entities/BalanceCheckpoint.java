@@ -0,0 +1,27 @@
+package com.example.digitalbankingbackend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"bank_account_id", "balance_date"}))
+@Data @NoArgsConstructor @AllArgsConstructor
+public class BalanceCheckpoint {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_checkpoint_seq")
+    @SequenceGenerator(name = "balance_checkpoint_seq", sequenceName = "balance_checkpoint_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    private BankAccount bankAccount;
+
+    private LocalDate balanceDate;
+
+    // Balance at the end of the day, stripes included
+    private double closingBalance;
+}
@@ -0,0 +1,29 @@
+package com.example.digitalbankingbackend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"bank_account_id", "stripe"}))
+@Data @NoArgsConstructor @AllArgsConstructor
+public class BalanceStripe {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_stripe_seq")
+    @SequenceGenerator(name = "balance_stripe_seq", sequenceName = "balance_stripe_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    private BankAccount bankAccount;
+
+    private int stripe;
+    private double amount;
+
+    // Day of the credits the stripe holds, which reach that day's balance checkpoint when the
+    // stripes are folded; null for amounts already in the checkpoints
+    private LocalDate creditDate;
+}
@@ -22,6 +22,12 @@ public abstract class BankAccount {
     @Enumerated(EnumType.STRING)
     private AccountStatus status;
 
+    // Number of sub-balance slots credits are spread over; 0 means the balance is not striped
+    private int balanceStripes;
+
+    // Sequence of the last journaled operation committed with this account's balance
+    private long journalSequence;
+
     @ManyToOne
     private Customer customer;
 
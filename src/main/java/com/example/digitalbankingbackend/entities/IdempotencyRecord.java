@@ -0,0 +1,41 @@
+package com.example.digitalbankingbackend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+    // SHA-256 of the caller, the endpoint and the client supplied key
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // SHA-256 of the request body, so that a key reused for another request is refused
+    @Column(length = 64)
+    private String requestHash;
+
+    private int status;
+
+    private String contentType;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Records are only inserted: a key stored meanwhile must fail the insert, not be overwritten
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.digitalbankingbackend.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "journal_checkpoint")
+@Data @NoArgsConstructor @AllArgsConstructor
+public class JournalCheckpoint {
+    @Id
+    private Integer id;
+
+    // Every journal record up to this sequence has been drained into account_operation
+    private long drainedSequence;
+}
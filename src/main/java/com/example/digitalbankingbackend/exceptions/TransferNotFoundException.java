@@ -0,0 +1,7 @@
+package com.example.digitalbankingbackend.exceptions;
+
+public class TransferNotFoundException extends Exception {
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+}
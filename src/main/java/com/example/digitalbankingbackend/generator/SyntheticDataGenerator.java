@@ -0,0 +1,400 @@
+package com.example.digitalbankingbackend.generator;
+
+import com.example.digitalbankingbackend.imports.SequenceBlocks;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills an empty database with synthetic customers, accounts and operations at startup.
+ * <p>
+ * The volume is set by the {@code app.generator.*} properties: the default profile generates a
+ * small demo dataset, the {@code perf} profile ({@code application-perf.properties}) ten million
+ * operations. Customers are cut into slices of {@code customers-per-slice}, generated in parallel
+ * by {@code threads} workers, each slice in its own transaction with JDBC batch inserts. Ids come
+ * from the entities' sequences through {@link SequenceBlocks}, so the application keeps working
+ * normally on the generated data.
+ * <p>
+ * Every slice draws from its own random generator, derived from {@code seed} and the slice
+ * number, so the same settings generate the same data whatever the number of threads. Only the
+ * numeric customer and operation ids depend on the order in which slices reach the sequences.
+ * Operations are spread between each account's creation and {@code until} (today by default), at
+ * most {@code days} days back. One account in {@code 1 / hot-account-ratio} is hot, and the hot
+ * accounts share {@code hot-operation-share} of all operations between them.
+ * <p>
+ * Each account opens with a random balance that no operation accounts for, as if deposited
+ * before its history starts. From there its balance follows its operations and never goes
+ * negative, and the end-of-day balance checkpoints are written along with the operations.
+ */
+@Component
+@ConditionalOnProperty(name = "app.generator.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String INSERT_CUSTOMER =
+            "insert into customer (id, name, email, created_at) values (?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into bank_account (type, id, balance, created_at, status, balance_stripes, journal_sequence, " +
+                    "customer_id, over_draft, interest_rate) values (?, ?, ?, ?, 'ACTIVATED', 0, 0, ?, ?, ?)";
+    private static final String INSERT_CHECKPOINT =
+            "insert into balance_checkpoint (id, bank_account_id, balance_date, closing_balance) values (?, ?, ?, ?)";
+    private static final String INSERT_OPERATION =
+            "insert into account_operation (id, operation_date, amount, type, bank_account_id, description, transfer_id) " +
+                    "values (?, ?, ?, ?, ?, ?, null)";
+
+    private static final String[] FIRST_NAMES = {"Hassan", "Imane", "Mohamed", "Sara", "Youssef", "Khadija", "Omar",
+            "Salma", "Amine", "Nadia", "Karim", "Leila", "Mehdi", "Aya", "Rachid", "Hind"};
+    private static final String[] LAST_NAMES = {"Alaoui", "Bennani", "Chraibi", "El Idrissi", "Fassi", "Hajji",
+            "Kettani", "Lahlou", "Mansouri", "Naciri", "Ouazzani", "Tazi", "Berrada", "Sqalli", "Zniber", "Amrani"};
+
+    private static final long DAY_MS = 86_400_000L;
+
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceBlocks sequenceBlocks;
+    private final int customers;
+    private final int accountsPerCustomer;
+    private final int operationsPerAccount;
+    private final int days;
+    private final double hotAccountRatio;
+    private final double hotOperationShare;
+    private final long seed;
+    private final String until;
+    private final int threads;
+    private final int batchSize;
+    private final int customersPerSlice;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public SyntheticDataGenerator(CustomerRepository customerRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  SequenceBlocks sequenceBlocks,
+                                  @Value("${app.generator.customers:3}") int customers,
+                                  @Value("${app.generator.accounts-per-customer:2}") int accountsPerCustomer,
+                                  @Value("${app.generator.operations-per-account:10}") int operationsPerAccount,
+                                  @Value("${app.generator.days:180}") int days,
+                                  @Value("${app.generator.hot-account-ratio:0}") double hotAccountRatio,
+                                  @Value("${app.generator.hot-operation-share:0}") double hotOperationShare,
+                                  @Value("${app.generator.seed:42}") long seed,
+                                  @Value("${app.generator.until:}") String until,
+                                  @Value("${app.generator.threads:4}") int threads,
+                                  @Value("${app.generator.batch-size:5000}") int batchSize,
+                                  @Value("${app.generator.customers-per-slice:100}") int customersPerSlice) {
+        if (customers < 0 || accountsPerCustomer < 0 || operationsPerAccount < 0 || days <= 0) {
+            throw new IllegalArgumentException("Generator counts must not be negative and days must be positive.");
+        }
+        if (hotAccountRatio < 0 || hotAccountRatio > 1 || hotOperationShare < 0 || hotOperationShare > 1) {
+            throw new IllegalArgumentException("The hot account ratio and operation share must be between 0 and 1.");
+        }
+        if (threads <= 0 || batchSize <= 0 || customersPerSlice <= 0) {
+            throw new IllegalArgumentException("Generator threads, batch size and slice size must be positive.");
+        }
+        this.customerRepository = customerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sequenceBlocks = sequenceBlocks;
+        this.customers = customers;
+        this.accountsPerCustomer = accountsPerCustomer;
+        this.operationsPerAccount = operationsPerAccount;
+        this.days = days;
+        this.hotAccountRatio = hotAccountRatio;
+        this.hotOperationShare = hotOperationShare;
+        this.seed = seed;
+        this.until = until;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.customersPerSlice = customersPerSlice;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (customers == 0 || customerRepository.count() > 0) {
+            return;
+        }
+        generate();
+    }
+
+    /**
+     * Generates the configured dataset, whether or not the database already holds data.
+     */
+    public void generate() {
+        long started = System.nanoTime();
+        long end = until.isBlank()
+                ? System.currentTimeMillis()
+                : LocalDate.parse(until).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+        Volume volume = new Volume();
+        log.info("Generating {} customers, {} accounts and about {} operations",
+                customers, (long) customers * accountsPerCustomer, volume.totalOperations);
+
+        AtomicLong accounts = new AtomicLong();
+        AtomicLong operations = new AtomicLong();
+        AtomicInteger slicesDone = new AtomicInteger();
+        int slices = (customers + customersPerSlice - 1) / customersPerSlice;
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                task -> new Thread(task, "data-generator-" + threadCount.incrementAndGet()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(slices);
+            for (int slice = 0; slice < slices; slice++) {
+                Slice work = new Slice(slice, volume, end);
+                futures.add(pool.submit(() -> {
+                    transactionTemplate.executeWithoutResult(status -> work.generate());
+                    accounts.addAndGet(work.accounts);
+                    operations.addAndGet(work.operations);
+                    int done = slicesDone.incrementAndGet();
+                    if (done % 100 == 0) {
+                        log.info("Generated {}/{} slices, {} operations", done, slices, operations.get());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {} customers, {} accounts and {} operations in {} ms ({} operations/s)",
+                customers, accounts.get(), operations.get(), elapsedMs, operations.get() * 1000 / elapsedMs);
+    }
+
+    /**
+     * Number of operations of hot and cold accounts, so that the hot accounts get their share of
+     * the total.
+     */
+    private final class Volume {
+        final long hotEvery;
+        final long totalOperations;
+        final int hotOperations;
+        final int coldOperations;
+
+        Volume() {
+            long totalAccounts = (long) customers * accountsPerCustomer;
+            totalOperations = totalAccounts * operationsPerAccount;
+            hotEvery = hotAccountRatio > 0 ? Math.max(1, Math.round(1 / hotAccountRatio)) : 0;
+            long hotAccounts = hotEvery > 0 ? (totalAccounts + hotEvery - 1) / hotEvery : 0;
+            long coldAccounts = totalAccounts - hotAccounts;
+            if (hotAccounts == 0 || coldAccounts == 0) {
+                hotOperations = operationsPerAccount;
+                coldOperations = operationsPerAccount;
+            } else {
+                hotOperations = (int) Math.round(totalOperations * hotOperationShare / hotAccounts);
+                coldOperations = (int) Math.round(totalOperations * (1 - hotOperationShare) / coldAccounts);
+            }
+        }
+
+        int operationsOf(long account) {
+            return hotEvery > 0 && account % hotEvery == 0 ? hotOperations : coldOperations;
+        }
+    }
+
+    /**
+     * One slice of customers, with their accounts, operations and checkpoints. Rows are buffered
+     * and flushed parents first whenever a batch of operations is full.
+     */
+    private final class Slice {
+        final int index;
+        final Volume volume;
+        final long end;
+        final SplittableRandom random;
+
+        final List<Object[]> customerRows = new ArrayList<>();
+        final List<Object[]> accountRows = new ArrayList<>();
+        final List<Object[]> checkpointRows = new ArrayList<>();
+        final OperationBatch operationBatch = new OperationBatch(batchSize);
+        final IdPool operationIds = new IdPool("account_operation_seq");
+        final IdPool checkpointIds = new IdPool("balance_checkpoint_seq");
+        long accounts;
+        long operations;
+
+        Slice(int index, Volume volume, long end) {
+            this.index = index;
+            this.volume = volume;
+            this.end = end;
+            this.random = new SplittableRandom(seed * 1_000_003L + index);
+        }
+
+        void generate() {
+            int first = index * customersPerSlice;
+            int last = Math.min(first + customersPerSlice, customers);
+            long[] customerIds = sequenceBlocks.reserve("customer_seq", last - first);
+            long start = end - (long) days * DAY_MS;
+
+            for (int customer = first; customer < last; customer++) {
+                long customerId = customerIds[customer - first];
+                long createdAt = start + (long) (random.nextDouble() * (end - start) * 0.5);
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String email = (firstName + "." + lastName).toLowerCase().replace(' ', '-') + customer + "@example.com";
+                customerRows.add(new Object[]{customerId, firstName + " " + lastName, email, new Timestamp(createdAt)});
+
+                for (int account = 0; account < accountsPerCustomer; account++) {
+                    generateAccount((long) customer * accountsPerCustomer + account, account % 2 == 0,
+                            customerId, createdAt);
+                }
+            }
+            flush();
+        }
+
+        private void generateAccount(long number, boolean current, long customerId, long customerCreatedAt) {
+            String id = new UUID(random.nextLong() & 0xffffffffffff0fffL | 0x4000L,
+                    random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L).toString();
+            long createdAt = customerCreatedAt + (long) (random.nextDouble() * (end - customerCreatedAt) * 0.5);
+            double balance = cents(1_000 + random.nextDouble() * 99_000);
+
+            long[] times = new long[volume.operationsOf(number)];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = createdAt + 1 + (long) (random.nextDouble() * (end - createdAt - 1));
+            }
+            Arrays.sort(times);
+
+            // Checkpoint rows reference the account, so it must be buffered before them
+            int accountRow = accountRows.size();
+            accountRows.add(new Object[]{current ? "CA" : "SA", id, balance, new Timestamp(createdAt), customerId,
+                    current ? 5_000.0 : null, current ? null : 5.5});
+
+            LocalDate day = dayOf(createdAt);
+            for (long time : times) {
+                LocalDate operationDay = dayOf(time);
+                if (!operationDay.equals(day)) {
+                    checkpointRows.add(new Object[]{checkpointIds.next(), id, day, balance});
+                    day = operationDay;
+                }
+                double amount = cents(10 + random.nextDouble() * 4_990);
+                boolean credit = random.nextBoolean() || amount > balance;
+                balance = cents(credit ? balance + amount : balance - amount);
+                operationBatch.add(operationIds.next(), time, amount, credit, id);
+                if (operationBatch.size == batchSize) {
+                    flush();
+                    // The account is already inserted, its final balance is set at the end
+                    accountRow = -1;
+                }
+            }
+            checkpointRows.add(new Object[]{checkpointIds.next(), id, day, balance});
+            if (accountRow >= 0) {
+                accountRows.get(accountRow)[2] = balance;
+            } else {
+                jdbcTemplate.update("update bank_account set balance = ? where id = ?", balance, id);
+            }
+            accounts++;
+            operations += times.length;
+        }
+
+        private void flush() {
+            batch(INSERT_CUSTOMER, customerRows);
+            batch(INSERT_ACCOUNT, accountRows);
+            batch(INSERT_CHECKPOINT, checkpointRows);
+            if (operationBatch.size > 0) {
+                jdbcTemplate.batchUpdate(INSERT_OPERATION, operationBatch);
+                operationBatch.size = 0;
+            }
+        }
+
+        private void batch(String sql, List<Object[]> rows) {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+
+        private LocalDate dayOf(long time) {
+            return LocalDate.ofInstant(Instant.ofEpochMilli(time), zone);
+        }
+    }
+
+    /**
+     * Operation rows in columns, to avoid an object per row on the hot path.
+     */
+    private static final class OperationBatch implements BatchPreparedStatementSetter {
+        final long[] ids;
+        final long[] times;
+        final double[] amounts;
+        final boolean[] credits;
+        final String[] accountIds;
+        int size;
+
+        OperationBatch(int capacity) {
+            ids = new long[capacity];
+            times = new long[capacity];
+            amounts = new double[capacity];
+            credits = new boolean[capacity];
+            accountIds = new String[capacity];
+        }
+
+        void add(long id, long time, double amount, boolean credit, String accountId) {
+            ids[size] = id;
+            times[size] = time;
+            amounts[size] = amount;
+            credits[size] = credit;
+            accountIds[size] = accountId;
+            size++;
+        }
+
+        @Override
+        public void setValues(PreparedStatement statement, int i) throws SQLException {
+            statement.setLong(1, ids[i]);
+            statement.setTimestamp(2, new Timestamp(times[i]));
+            statement.setDouble(3, amounts[i]);
+            statement.setString(4, credits[i] ? "CREDIT" : "DEBIT");
+            statement.setString(5, accountIds[i]);
+            statement.setString(6, credits[i] ? "Credit Operation" : "Debit Operation");
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Ids reserved a batch at a time from one sequence.
+     */
+    private final class IdPool {
+        final String sequence;
+        long[] ids = new long[0];
+        int next;
+
+        IdPool(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (next == ids.length) {
+                ids = sequenceBlocks.reserve(sequence, batchSize);
+                next = 0;
+            }
+            return ids[next++];
+        }
+    }
+
+    private static double cents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
@@ -0,0 +1,615 @@
+package com.example.digitalbankingbackend.imports;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.ImportResultDTO;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.services.BalanceCheckpoints;
+import com.example.digitalbankingbackend.services.CustomerSearchIndex;
+import com.example.digitalbankingbackend.services.ReferenceDataCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Bulk import of customers, accounts and operations from CSV files.
+ * <p>
+ * A parser thread reads the file with a streaming {@link CsvReader}, validates each row on its
+ * own and hands batches of {@code app.import.batch-size} valid rows to the importing thread over
+ * a queue of {@code app.import.queue-batches} batches; when the database falls behind the queue
+ * fills up and parsing waits. Each batch is checked against the database (references, duplicate
+ * ids) with one query per check, then inserted with JDBC batch statements in its own transaction.
+ * When a batch insert fails it is retried one row at a time, so only the offending rows are lost.
+ * Memory therefore depends on the batch size and queue length, not on the size of the file.
+ * <p>
+ * Rejected rows are written with their line number and reason to a report under
+ * {@code app.import.report-directory}. Customers get new ids; the id given to each row with a
+ * {@code reference} is written to an id mapping file, which is how accounts find their customer.
+ * Accounts keep the id of their row, and get their opening balance checkpoint in the
+ * transaction that inserts them. Imported operations are history: they do not move the balance
+ * given to their account. They can only be imported for accounts that have no operations other
+ * than those of the same import. Once the last batch is written, the balance checkpoints of
+ * those accounts are rebuilt from their balance and history, each account once, in its own
+ * transaction under its ledger lane, reading the history as a stream.
+ */
+@Component
+@Slf4j
+public class BulkImporter {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String INSERT_CUSTOMER =
+            "insert into customer (id, name, email, created_at) values (?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into bank_account (type, id, balance, created_at, status, balance_stripes, journal_sequence, " +
+                    "customer_id, over_draft, interest_rate) values (?, ?, ?, ?, ?, 0, 0, ?, ?, ?)";
+    private static final String INSERT_CHECKPOINT =
+            "insert into balance_checkpoint (id, bank_account_id, balance_date, closing_balance) values (?, ?, ?, ?)";
+    private static final String INSERT_OPERATION =
+            "insert into account_operation (id, operation_date, amount, type, bank_account_id, description, transfer_id) " +
+                    "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private record Row<T>(long line, String[] fields, T value) {}
+
+    private record CustomerRow(Long id, String reference, String name, String email, Timestamp createdAt) {}
+
+    private record AccountRow(String id, String type, long customerId, double balance, Double overDraft,
+                              Double interestRate, AccountStatus status, Timestamp createdAt) {}
+
+    private record OperationRow(Long id, String accountId, Timestamp operationDate, OperationType type, double amount,
+                                String description, String transferId) {}
+
+    private interface RowWriter<T> {
+        /**
+         * Returns the rows that pass the database checks, rejecting the others.
+         */
+        List<Row<T>> check(List<Row<T>> rows, Import context);
+
+        void insert(List<Row<T>> rows);
+
+        default void inserted(List<Row<T>> rows, Import context) {
+        }
+
+        /**
+         * Runs once all the batches are written.
+         */
+        default void finished(Import context) {
+        }
+    }
+
+    /**
+     * State of one import, shared by its parser and importing threads.
+     */
+    private static final class Import implements AutoCloseable {
+        final ImportKind kind;
+        final ImportReport rejected;
+        final ImportReport idMapping;
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        // Accounts whose history this import wrote, which later batches may add to; their
+        // checkpoints are rebuilt when the import ends
+        final Set<String> historyAccounts = new HashSet<>();
+
+        Import(ImportKind kind, ImportReport rejected, ImportReport idMapping) {
+            this.kind = kind;
+            this.rejected = rejected;
+            this.idMapping = idMapping;
+        }
+
+        void reject(Row<?> row, String reason) {
+            reject(row.line(), reason, row.fields());
+        }
+
+        void reject(long line, String reason, String[] fields) {
+            rejected.write(Long.toString(line), reason, String.join(",", Arrays.stream(fields).map(ImportReport::escape).toList()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                rejected.close();
+            } finally {
+                idMapping.close();
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceBlocks sequenceBlocks;
+    private final BalanceCheckpoints balanceCheckpoints;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final int batchSize;
+    private final int queueBatches;
+    private final int maxRecordChars;
+    private final Path reportDirectory;
+
+    public BulkImporter(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        SequenceBlocks sequenceBlocks,
+                        BalanceCheckpoints balanceCheckpoints,
+                        CustomerSearchIndex customerSearchIndex,
+                        ReferenceDataCache referenceDataCache,
+                        @Value("${app.import.batch-size:5000}") int batchSize,
+                        @Value("${app.import.queue-batches:4}") int queueBatches,
+                        @Value("${app.import.max-record-chars:65536}") int maxRecordChars,
+                        @Value("${app.import.report-directory:imports}") String reportDirectory) {
+        if (batchSize <= 0 || queueBatches <= 0) {
+            throw new IllegalArgumentException("Import batch size and queue length must be positive.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.sequenceBlocks = sequenceBlocks;
+        this.balanceCheckpoints = balanceCheckpoints;
+        this.customerSearchIndex = customerSearchIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.batchSize = batchSize;
+        this.queueBatches = queueBatches;
+        this.maxRecordChars = maxRecordChars;
+        this.reportDirectory = Path.of(reportDirectory);
+    }
+
+    /**
+     * Imports a UTF-8 CSV file whose first line is the header of its kind ({@link ImportKind#columns()}).
+     */
+    public ImportResultDTO importCsv(ImportKind kind, InputStream input) throws IOException {
+        return switch (kind) {
+            case CUSTOMERS -> run(kind, input, this::parseCustomer, new CustomerWriter());
+            case ACCOUNTS -> run(kind, input, this::parseAccount, new AccountWriter());
+            case OPERATIONS -> run(kind, input, this::parseOperation, new OperationWriter());
+        };
+    }
+
+    private <T> ImportResultDTO run(ImportKind kind, InputStream input, Function<String[], T> parser,
+                                    RowWriter<T> writer) throws IOException {
+        long startedAt = System.nanoTime();
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxRecordChars);
+        checkHeader(kind, reader.next());
+
+        String name = kind.name().toLowerCase(Locale.ROOT) + "-" + REPORT_TIMESTAMP.format(LocalDateTime.now());
+        AtomicReference<Exception> parseFailure = new AtomicReference<>();
+        try (Import context = new Import(kind,
+                new ImportReport(reportDirectory.resolve(name + "-rejected.csv"), "line", "reason", "record"),
+                new ImportReport(reportDirectory.resolve(name + "-ids.csv"), "reference", "id"))) {
+            log.info("Importing {} in batches of {}", kind, batchSize);
+            BlockingQueue<List<Row<T>>> queue = new ArrayBlockingQueue<>(queueBatches);
+            Thread parserThread = new Thread(() -> parse(reader, parser, queue, context, parseFailure),
+                    "import-parser-" + kind.name().toLowerCase(Locale.ROOT));
+            parserThread.start();
+            try {
+                // An empty batch marks the end of the input
+                List<Row<T>> batch;
+                while (!(batch = queue.take()).isEmpty()) {
+                    writeBatch(batch, writer, context);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Import interrupted", e);
+            } finally {
+                parserThread.interrupt();
+                try {
+                    parserThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            writer.finished(context);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            long rowsRead = context.rowsRead.get();
+            Exception failure = parseFailure.get();
+            if (failure != null) {
+                log.warn("Import of {} stopped at unreadable input: {}", kind, failure.getMessage());
+            }
+            ImportResultDTO result = new ImportResultDTO(kind.name(), rowsRead, context.imported.get(),
+                    context.rejected.rows(), elapsedMs, elapsedMs > 0 ? rowsRead * 1000.0 / elapsedMs : 0,
+                    context.rejected.path(), context.idMapping.path(), failure != null ? failure.getMessage() : null);
+            log.info("Imported {} {} of {} rows in {} ms ({} rows/s), {} rejected", result.imported(), kind, rowsRead,
+                    elapsedMs, Math.round(result.rowsPerSecond()), result.rejected());
+            return result;
+        }
+    }
+
+    private <T> void parse(CsvReader reader, Function<String[], T> parser, BlockingQueue<List<Row<T>>> queue,
+                           Import context, AtomicReference<Exception> failure) {
+        int columns = context.kind.columns().length;
+        List<Row<T>> batch = new ArrayList<>(batchSize);
+        try {
+            try {
+                String[] fields;
+                while ((fields = reader.next()) != null) {
+                    context.rowsRead.incrementAndGet();
+                    if (fields.length != columns) {
+                        context.reject(reader.recordLine(), "Expected " + columns + " columns, found " + fields.length, fields);
+                        continue;
+                    }
+                    try {
+                        batch.add(new Row<>(reader.recordLine(), fields, parser.apply(fields)));
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        context.reject(reader.recordLine(), e.getMessage(), fields);
+                        continue;
+                    }
+                    if (batch.size() == batchSize) {
+                        queue.put(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The rows read so far are still imported
+                failure.set(e);
+            }
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+            }
+            queue.put(List.of());
+        } catch (InterruptedException e) {
+            // The importing thread has stopped
+        }
+    }
+
+    private <T> void writeBatch(List<Row<T>> batch, RowWriter<T> writer, Import context) {
+        List<Row<T>> accepted = writer.check(batch, context);
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.insert(accepted));
+            writer.inserted(accepted, context);
+            context.imported.addAndGet(accepted.size());
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} failed, retrying its {} rows one at a time: {}", context.kind, accepted.size(),
+                    e.getMostSpecificCause().getMessage());
+            for (Row<T> row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writer.insert(List.of(row)));
+                    writer.inserted(List.of(row), context);
+                    context.imported.incrementAndGet();
+                } catch (DataAccessException rowFailure) {
+                    context.reject(row, rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private static void checkHeader(ImportKind kind, String[] header) {
+        String[] columns = kind.columns();
+        if (header == null || header.length != columns.length) {
+            throw new IllegalArgumentException("Expected header: " + String.join(",", columns));
+        }
+        for (int i = 0; i < columns.length; i++) {
+            // Tolerates a UTF-8 byte order mark before the first column
+            String column = header[i].trim().replace("\uFEFF", "");
+            if (!column.equalsIgnoreCase(columns[i])) {
+                throw new IllegalArgumentException("Expected header: " + String.join(",", columns));
+            }
+        }
+    }
+
+    // Customers
+
+    private CustomerRow parseCustomer(String[] fields) {
+        String name = text(fields[1], "name", true);
+        String email = text(fields[2], "email", false);
+        if (email != null && email.indexOf('@') < 1) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+        return new CustomerRow(null, text(fields[0], "reference", false), name, email, timestamp(fields[3], "createdAt", false));
+    }
+
+    private final class CustomerWriter implements RowWriter<CustomerRow> {
+        @Override
+        public List<Row<CustomerRow>> check(List<Row<CustomerRow>> rows, Import context) {
+            long[] ids = sequenceBlocks.reserve("customer_seq", rows.size());
+            List<Row<CustomerRow>> accepted = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Row<CustomerRow> row = rows.get(i);
+                CustomerRow customer = row.value();
+                accepted.add(new Row<>(row.line(), row.fields(), new CustomerRow(ids[i], customer.reference(),
+                        customer.name(), customer.email(), customer.createdAt())));
+            }
+            return accepted;
+        }
+
+        @Override
+        public void insert(List<Row<CustomerRow>> rows) {
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER, rows, rows.size(), (statement, row) -> {
+                CustomerRow customer = row.value();
+                statement.setLong(1, customer.id());
+                statement.setString(2, customer.name());
+                statement.setString(3, customer.email());
+                statement.setTimestamp(4, customer.createdAt());
+            });
+        }
+
+        @Override
+        public void inserted(List<Row<CustomerRow>> rows, Import context) {
+            List<CustomerDTO> customers = new ArrayList<>(rows.size());
+            for (Row<CustomerRow> row : rows) {
+                CustomerRow customer = row.value();
+                if (customer.reference() != null) {
+                    context.idMapping.write(customer.reference(), customer.id().toString());
+                }
+                customers.add(new CustomerDTO(customer.id(), customer.name(), customer.email(), customer.createdAt()));
+            }
+            customerSearchIndex.putAll(customers);
+        }
+    }
+
+    // Accounts
+
+    private AccountRow parseAccount(String[] fields) {
+        String id = text(fields[0], "id", false);
+        String type = text(fields[1], "type", true);
+        if (!type.equals("CA") && !type.equals("SA")) {
+            throw new IllegalArgumentException("Invalid type, expected CA or SA: " + type);
+        }
+        Double overDraft = number(fields[4], "overDraft", false);
+        Double interestRate = number(fields[5], "interestRate", false);
+        String status = text(fields[6], "status", false);
+        AccountStatus accountStatus;
+        try {
+            accountStatus = status == null ? AccountStatus.ACTIVATED : AccountStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        return new AccountRow(id != null ? id : UUID.randomUUID().toString(), type,
+                integer(fields[2], "customerId"), number(fields[3], "balance", true),
+                type.equals("CA") ? (overDraft != null ? overDraft : 0.0) : null,
+                type.equals("SA") ? (interestRate != null ? interestRate : 0.0) : null,
+                accountStatus, timestamp(fields[7], "createdAt", false));
+    }
+
+    private final class AccountWriter implements RowWriter<AccountRow> {
+        @Override
+        public List<Row<AccountRow>> check(List<Row<AccountRow>> rows, Import context) {
+            Set<Long> customerIds = new HashSet<>();
+            Set<String> accountIds = new HashSet<>();
+            for (Row<AccountRow> row : rows) {
+                customerIds.add(row.value().customerId());
+                accountIds.add(row.value().id());
+            }
+            Set<Long> existingCustomers = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "select id from customer where id in (:ids)", Map.of("ids", customerIds), Long.class));
+            Set<String> existingAccounts = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "select id from bank_account where id in (:ids)", Map.of("ids", accountIds), String.class));
+
+            Set<String> batchIds = new HashSet<>();
+            List<Row<AccountRow>> accepted = new ArrayList<>(rows.size());
+            for (Row<AccountRow> row : rows) {
+                AccountRow account = row.value();
+                if (!existingCustomers.contains(account.customerId())) {
+                    context.reject(row, "Customer not found with ID: " + account.customerId());
+                } else if (existingAccounts.contains(account.id()) || !batchIds.add(account.id())) {
+                    context.reject(row, "Duplicate account ID: " + account.id());
+                } else {
+                    accepted.add(row);
+                }
+            }
+            return accepted;
+        }
+
+        @Override
+        public void insert(List<Row<AccountRow>> rows) {
+            jdbcTemplate.batchUpdate(INSERT_ACCOUNT, rows, rows.size(), (statement, row) -> {
+                AccountRow account = row.value();
+                statement.setString(1, account.type());
+                statement.setString(2, account.id());
+                statement.setDouble(3, account.balance());
+                statement.setTimestamp(4, account.createdAt());
+                statement.setString(5, account.status().name());
+                statement.setLong(6, account.customerId());
+                if (account.overDraft() != null) {
+                    statement.setDouble(7, account.overDraft());
+                } else {
+                    statement.setNull(7, Types.DOUBLE);
+                }
+                if (account.interestRate() != null) {
+                    statement.setDouble(8, account.interestRate());
+                } else {
+                    statement.setNull(8, Types.DOUBLE);
+                }
+            });
+
+            // The opening checkpoint, on the day the account was opened, as BalanceCheckpoints.open writes it
+            long[] ids = sequenceBlocks.reserve("balance_checkpoint_seq", rows.size());
+            List<Object[]> checkpoints = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                AccountRow account = rows.get(i).value();
+                checkpoints.add(new Object[]{ids[i], account.id(), account.createdAt().toLocalDateTime().toLocalDate(),
+                        account.balance()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_CHECKPOINT, checkpoints);
+        }
+
+        @Override
+        public void inserted(List<Row<AccountRow>> rows, Import context) {
+            Set<Long> customerIds = new HashSet<>();
+            for (Row<AccountRow> row : rows) {
+                customerIds.add(row.value().customerId());
+            }
+            customerIds.forEach(referenceDataCache::accountOpened);
+        }
+    }
+
+    // Operations
+
+    private OperationRow parseOperation(String[] fields) {
+        String type = text(fields[2], "type", true);
+        OperationType operationType;
+        try {
+            operationType = OperationType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid type, expected CREDIT or DEBIT: " + type);
+        }
+        double amount = number(fields[3], "amount", true);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+        String description = text(fields[4], "description", false);
+        return new OperationRow(null, text(fields[0], "accountId", true), timestamp(fields[1], "operationDate", true),
+                operationType, amount, description != null ? description : operationType == OperationType.CREDIT
+                ? "Credit Operation" : "Debit Operation", text(fields[5], "transferId", false));
+    }
+
+    private final class OperationWriter implements RowWriter<OperationRow> {
+        @Override
+        public List<Row<OperationRow>> check(List<Row<OperationRow>> rows, Import context) {
+            Set<String> accountIds = new HashSet<>();
+            for (Row<OperationRow> row : rows) {
+                accountIds.add(row.value().accountId());
+            }
+            Set<String> existingAccounts = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "select id from bank_account where id in (:ids)", Map.of("ids", accountIds), String.class));
+            Set<String> accountsWithHistory = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "select distinct bank_account_id from account_operation where bank_account_id in (:ids)",
+                    Map.of("ids", accountIds), String.class));
+            accountsWithHistory.removeAll(context.historyAccounts);
+
+            List<Row<OperationRow>> accepted = new ArrayList<>(rows.size());
+            for (Row<OperationRow> row : rows) {
+                String accountId = row.value().accountId();
+                if (!existingAccounts.contains(accountId)) {
+                    context.reject(row, "BankAccount not found with ID: " + accountId);
+                } else if (accountsWithHistory.contains(accountId)) {
+                    context.reject(row, "BankAccount " + accountId + " already has an operation history");
+                } else {
+                    accepted.add(row);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return accepted;
+            }
+
+            long[] ids = sequenceBlocks.reserve("account_operation_seq", accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                Row<OperationRow> row = accepted.get(i);
+                OperationRow operation = row.value();
+                accepted.set(i, new Row<>(row.line(), row.fields(), new OperationRow(ids[i], operation.accountId(),
+                        operation.operationDate(), operation.type(), operation.amount(), operation.description(),
+                        operation.transferId())));
+            }
+            return accepted;
+        }
+
+        @Override
+        public void insert(List<Row<OperationRow>> rows) {
+            jdbcTemplate.batchUpdate(INSERT_OPERATION, rows, rows.size(), (statement, row) -> {
+                OperationRow operation = row.value();
+                statement.setLong(1, operation.id());
+                statement.setTimestamp(2, operation.operationDate());
+                statement.setDouble(3, operation.amount());
+                statement.setString(4, operation.type().name());
+                statement.setString(5, operation.accountId());
+                statement.setString(6, operation.description());
+                statement.setString(7, operation.transferId());
+            });
+        }
+
+        @Override
+        public void inserted(List<Row<OperationRow>> rows, Import context) {
+            for (Row<OperationRow> row : rows) {
+                context.historyAccounts.add(row.value().accountId());
+            }
+        }
+
+        @Override
+        public void finished(Import context) {
+            // Once per account whatever the number of batches its history spanned
+            log.info("Rebuilding the balance checkpoints of {} accounts", context.historyAccounts.size());
+            for (String accountId : context.historyAccounts) {
+                transactionTemplate.executeWithoutResult(status -> balanceCheckpoints.rebuild(List.of(accountId)));
+            }
+        }
+    }
+
+    // Field parsing, failures are reported as the row's rejection reason
+
+    private static String text(String value, String column, boolean required) {
+        String text = value.trim();
+        if (text.isEmpty()) {
+            if (required) {
+                throw new IllegalArgumentException("Missing " + column);
+            }
+            return null;
+        }
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return text;
+    }
+
+    private static Double number(String value, String column, boolean required) {
+        String text = text(value, column, required);
+        if (text == null) {
+            return null;
+        }
+        double number;
+        try {
+            number = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+        if (!Double.isFinite(number)) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+        return number;
+    }
+
+    private static long integer(String value, String column) {
+        String text = text(value, column, true);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+    }
+
+    /**
+     * Accepts an ISO-8601 instant ({@code 2024-01-31T10:15:30Z}), local date-time or date, local
+     * values being in the server's time zone. A missing optional value is the current time.
+     */
+    private static Timestamp timestamp(String value, String column, boolean required) {
+        String text = text(value, column, required);
+        if (text == null) {
+            return new Timestamp(System.currentTimeMillis());
+        }
+        try {
+            int time = text.indexOf('T');
+            if (time < 0) {
+                return Timestamp.valueOf(LocalDate.parse(text).atStartOfDay());
+            }
+            if (text.endsWith("Z") || text.indexOf('+', time) > 0 || text.indexOf('-', time) > 0) {
+                return Timestamp.from(OffsetDateTime.parse(text).toInstant());
+            }
+            return Timestamp.valueOf(LocalDateTime.parse(text));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + text);
+        }
+    }
+}
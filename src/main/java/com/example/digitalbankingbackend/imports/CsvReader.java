@@ -0,0 +1,132 @@
+package com.example.digitalbankingbackend.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: comma separated, fields optionally enclosed in double quotes,
+ * {@code ""} for a quote inside a quoted field, records ended by LF or CRLF. Quoted fields may
+ * span lines.
+ * <p>
+ * Only the current record is held in memory, and a record longer than the configured limit is
+ * refused, so memory stays bounded whatever the input.
+ */
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * Line on which the last record returned by {@link #next} starts.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of the input. Blank lines are skipped.
+     */
+    public String[] next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (fields.isEmpty() && field.isEmpty() && !wasQuoted) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields.toArray(String[]::new);
+            }
+            if (++recordChars > maxRecordChars) {
+                throw new IOException("Record on line " + recordLine + " is longer than " + maxRecordChars + " characters");
+            }
+            if (c == '\n') {
+                line++;
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' && peek() == '\n') {
+                // Ended by the following LF
+            } else if (c == '\n') {
+                if (fields.isEmpty() && field.isEmpty() && !wasQuoted) {
+                    // Blank line
+                    recordLine = line;
+                    recordChars = 0;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields.toArray(String[]::new);
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.digitalbankingbackend.imports;
+
+import java.util.Locale;
+
+public enum ImportKind {
+    CUSTOMERS("reference", "name", "email", "createdAt"),
+    ACCOUNTS("id", "type", "customerId", "balance", "overDraft", "interestRate", "status", "createdAt"),
+    OPERATIONS("accountId", "operationDate", "type", "amount", "description", "transferId");
+
+    private final String[] columns;
+
+    ImportKind(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Expected header of the CSV file, in order.
+     */
+    public String[] columns() {
+        return columns.clone();
+    }
+
+    public static ImportKind of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown import kind: " + name);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.digitalbankingbackend.imports;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CSV file written alongside an import, such as its rejected rows. The file is only created
+ * once the first row is written, and rows go straight to disk.
+ */
+class ImportReport implements Closeable {
+
+    private final Path file;
+    private final String[] header;
+    private Writer writer;
+    private long rows;
+
+    ImportReport(Path file, String... header) {
+        this.file = file;
+        this.header = header;
+    }
+
+    synchronized void write(String... values) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.getParent());
+                writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 65536);
+                writeLine(header);
+            }
+            writeLine(values);
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write import report " + file, e);
+        }
+    }
+
+    synchronized long rows() {
+        return rows;
+    }
+
+    /**
+     * Path of the report, or {@code null} if nothing was written to it.
+     */
+    synchronized String path() {
+        return writer != null ? file.toString() : null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void writeLine(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
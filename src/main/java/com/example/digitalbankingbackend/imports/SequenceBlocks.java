@@ -0,0 +1,81 @@
+package com.example.digitalbankingbackend.imports;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Reserves ids from the sequences behind the entities' pooled {@code @SequenceGenerator}s, for
+ * rows inserted over plain JDBC.
+ * <p>
+ * Hibernate's pooled optimizer treats every value v it takes from a sequence as the top of the
+ * block {@code [v - 49, v]} (all sequences are allocated 50 at a time). Blocks are reserved here
+ * the same way, so the ids handed out by Hibernate and by the importer never overlap. The first
+ * value of a fresh sequence is skipped, Hibernate treats it specially. On H2 the sequences are
+ * real sequences; on MySQL Hibernate emulates them with one-row {@code next_val} tables.
+ */
+@Component
+public class SequenceBlocks {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate isolatedTransaction;
+    private volatile Boolean nativeSequences;
+
+    public SequenceBlocks(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.isolatedTransaction = new TransactionTemplate(transactionManager);
+        this.isolatedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns {@code count} ids that no other writer will use.
+     */
+    public long[] reserve(String sequence, int count) {
+        long[] ids = new long[count];
+        int reserved = 0;
+        while (reserved < count) {
+            int blocks = (count - reserved + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            for (long top : nextValues(sequence, blocks)) {
+                if (top < ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = top - ALLOCATION_SIZE + 1; id <= top && reserved < count; id++) {
+                    ids[reserved++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<Long> nextValues(String sequence, int count) {
+        if (usesNativeSequences()) {
+            return jdbcTemplate.queryForList("select next value for " + sequence + " from system_range(1, ?)",
+                    Long.class, count);
+        }
+        // Same protocol as Hibernate's table-backed sequences: read and bump next_val in its own transaction
+        return isolatedTransaction.execute(status -> {
+            long value = jdbcTemplate.queryForObject("select next_val from " + sequence + " for update", Long.class);
+            jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val = ?",
+                    value + (long) count * ALLOCATION_SIZE, value);
+            return LongStream.range(0, count)
+                    .mapToObj(i -> value + i * ALLOCATION_SIZE)
+                    .toList();
+        });
+    }
+
+    private boolean usesNativeSequences() {
+        if (nativeSequences == null) {
+            nativeSequences = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "H2".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return nativeSequences;
+    }
+}
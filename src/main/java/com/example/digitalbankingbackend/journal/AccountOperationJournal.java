@@ -0,0 +1,216 @@
+package com.example.digitalbankingbackend.journal;
+
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.entities.JournalCheckpoint;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.JournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal mode for account operations ({@code app.journal.enabled=true}).
+ * <p>
+ * Instead of inserting the {@link AccountOperation} row, a debit or credit appends it to the
+ * {@link OperationJournal} and stamps the record's sequence on its account, in the same
+ * transaction as the balance update. That stamp is the commit witness: a journaled operation
+ * is only drained into {@code account_operation} once its account carries a sequence at least
+ * as high, and one whose transaction rolled back is cancelled. Operations on an account are
+ * serialized by the ledger lanes, so at most one journaled operation per account is in flight.
+ * <p>
+ * On startup the undrained tail of the journal is replayed: operations whose transaction never
+ * committed before the crash are cancelled and the rest is drained as usual.
+ */
+@Component
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true")
+@Slf4j
+public class AccountOperationJournal {
+
+    private static final int CHECKPOINT_ID = 1;
+
+    private record DrainedBatch(long drainedThrough, int records) {}
+
+    private final OperationJournal journal;
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountOperationRepository accountOperationRepository;
+    private final JournalCheckpointRepository journalCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int drainBatchSize;
+
+    // Operations whose transaction rolled back after they were journaled and not drained yet
+    private final Set<Long> cancelledSequences = ConcurrentHashMap.newKeySet();
+
+    public AccountOperationJournal(BankAccountRepository bankAccountRepository,
+                                   AccountOperationRepository accountOperationRepository,
+                                   JournalCheckpointRepository journalCheckpointRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.journal.directory:journal}") String directory,
+                                   @Value("${app.journal.segment-size-bytes:67108864}") int segmentSize,
+                                   @Value("${app.journal.drain-batch-size:1000}") int drainBatchSize) {
+        this.journal = new OperationJournal(Path.of(directory), segmentSize);
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountOperationRepository = accountOperationRepository;
+        this.journalCheckpointRepository = journalCheckpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    /**
+     * Journals the operation as part of the current transaction instead of inserting it.
+     * The caller must hold the account's ledger lane.
+     */
+    public void record(BankAccount bankAccount, AccountOperation accountOperation) {
+        String accountId = bankAccount.getId();
+        long sequence = journal.append(JournalRecord.operation(accountId, accountOperation.getType(),
+                accountOperation.getAmount(), accountOperation.getOperationDate().getTime(), accountOperation.getDescription()));
+        bankAccount.setJournalSequence(sequence);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Runs before the ledger lanes are released
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    cancel(accountId, sequence);
+                }
+            }
+        });
+    }
+
+    @PostConstruct
+    void replay() {
+        long drained = drainedSequence();
+        Set<Long> cancelled = new HashSet<>();
+        List<JournalRecord> operations = new ArrayList<>();
+        long after = drained;
+        List<JournalRecord> records;
+        while (!(records = journal.readAfter(after, drainBatchSize)).isEmpty()) {
+            for (JournalRecord record : records) {
+                if (record.kind() == JournalRecord.Kind.CANCEL) {
+                    cancelled.add(record.cancelledSequence());
+                } else {
+                    operations.add(record);
+                }
+            }
+            after = records.get(records.size() - 1).sequence();
+        }
+        cancelledSequences.addAll(cancelled);
+
+        Map<String, Long> witnesses = journalSequences(operations);
+        int uncommitted = 0;
+        for (JournalRecord operation : operations) {
+            Long witness = witnesses.get(operation.accountId());
+            if (!cancelled.contains(operation.sequence()) && (witness == null || witness < operation.sequence())) {
+                cancel(operation.accountId(), operation.sequence());
+                uncommitted++;
+            }
+        }
+        log.info("Journal replay: {} undrained operations after sequence {}, {} cancelled as uncommitted",
+                operations.size(), drained, uncommitted);
+        drain();
+    }
+
+    @Scheduled(fixedDelayString = "${app.journal.drain-interval-ms:200}")
+    public void drain() {
+        int drained;
+        do {
+            drained = drainBatch();
+        } while (drained == drainBatchSize);
+    }
+
+    @PreDestroy
+    void close() {
+        journal.close();
+    }
+
+    private int drainBatch() {
+        DrainedBatch batch = transactionTemplate.execute(status -> {
+            JournalCheckpoint checkpoint = journalCheckpointRepository.findById(CHECKPOINT_ID)
+                    .orElseGet(() -> new JournalCheckpoint(CHECKPOINT_ID, 0));
+            List<JournalRecord> records = journal.readAfter(checkpoint.getDrainedSequence(), drainBatchSize);
+            if (records.isEmpty()) {
+                return null;
+            }
+
+            // Witnesses are read before the cancellations are checked: a rolled back operation is
+            // cancelled before any later operation on its account can commit a higher witness.
+            Map<String, Long> witnesses = journalSequences(records);
+            List<AccountOperation> accountOperations = new ArrayList<>();
+            long drained = checkpoint.getDrainedSequence();
+            int drainedRecords = 0;
+            for (JournalRecord record : records) {
+                if (record.kind() == JournalRecord.Kind.OPERATION && !cancelledSequences.contains(record.sequence())) {
+                    Long witness = witnesses.get(record.accountId());
+                    if (witness == null || witness < record.sequence()) {
+                        // Its transaction is still running
+                        break;
+                    }
+                    accountOperations.add(new AccountOperation(null, new Date(record.operationDate()), record.amount(),
+                            record.type(), bankAccountRepository.getReferenceById(record.accountId()),
+                            record.description(), null));
+                }
+                drained = record.sequence();
+                drainedRecords++;
+            }
+
+            accountOperationRepository.saveAll(accountOperations);
+            checkpoint.setDrainedSequence(drained);
+            journalCheckpointRepository.save(checkpoint);
+            return new DrainedBatch(drained, drainedRecords);
+        });
+        if (batch == null) {
+            return 0;
+        }
+
+        cancelledSequences.removeIf(sequence -> sequence <= batch.drainedThrough());
+        journal.deleteThrough(batch.drainedThrough());
+        return batch.records();
+    }
+
+    private void cancel(String accountId, long sequence) {
+        cancelledSequences.add(sequence);
+        journal.append(JournalRecord.cancel(accountId, sequence));
+    }
+
+    private long drainedSequence() {
+        return journalCheckpointRepository.findById(CHECKPOINT_ID)
+                .map(JournalCheckpoint::getDrainedSequence)
+                .orElse(0L);
+    }
+
+    private Map<String, Long> journalSequences(List<JournalRecord> records) {
+        Set<String> accountIds = new HashSet<>();
+        for (JournalRecord record : records) {
+            if (record.kind() == JournalRecord.Kind.OPERATION) {
+                accountIds.add(record.accountId());
+            }
+        }
+        Map<String, Long> witnesses = new HashMap<>();
+        List<String> ids = new ArrayList<>(accountIds);
+        for (int start = 0; start < ids.size(); start += drainBatchSize) {
+            List<String> chunk = ids.subList(start, Math.min(start + drainBatchSize, ids.size()));
+            for (Object[] row : bankAccountRepository.findJournalSequences(chunk)) {
+                witnesses.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return witnesses;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.digitalbankingbackend.journal;
+
+import com.example.digitalbankingbackend.enums.OperationType;
+
+/**
+ * One entry of the {@link OperationJournal}: either an account operation waiting to be drained
+ * into {@code account_operation}, or the cancellation of an earlier operation whose transaction
+ * rolled back after it had been journaled.
+ */
+public record JournalRecord(
+        long sequence,
+        Kind kind,
+        String accountId,
+        OperationType type,
+        double amount,
+        long operationDate,
+        String description,
+        long cancelledSequence
+) {
+    public enum Kind { OPERATION, CANCEL }
+
+    public static JournalRecord operation(String accountId, OperationType type, double amount,
+                                          long operationDate, String description) {
+        return new JournalRecord(0, Kind.OPERATION, accountId, type, amount, operationDate, description, 0);
+    }
+
+    public static JournalRecord cancel(String accountId, long cancelledSequence) {
+        return new JournalRecord(0, Kind.CANCEL, accountId, null, 0, 0, null, cancelledSequence);
+    }
+
+    JournalRecord withSequence(long sequence) {
+        return new JournalRecord(sequence, kind, accountId, type, amount, operationDate, description, cancelledSequence);
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.digitalbankingbackend.journal;
+
+import com.example.digitalbankingbackend.enums.OperationType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped, segment-rotated write-ahead log of account operations.
+ * <p>
+ * Each segment is a fixed-size file named after the sequence of its first record. A record is
+ * stored as {@code [int length][int crc32][payload]} and a zero length marks the end of the
+ * written part of a segment. {@link #append} returns once the record has been forced to disk;
+ * appends that arrive while another thread is forcing share the next force (group commit).
+ * <p>
+ * Opening a journal recovers it: segments are scanned in order and the first record that is
+ * truncated or fails its checksum ends the log, so a torn write from a crash is discarded.
+ */
+@Slf4j
+public class OperationJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Object writeLock = new Object();
+    private final Object forceLock = new Object();
+
+    private Segment activeSegment;
+    private volatile long lastSequence;
+    private long forcedSequence;
+
+    // Cursor of the last read, so that a sequential reader does not rescan its segment
+    private long cursorSequence = -1;
+    private Segment cursorSegment;
+    private int cursorOffset;
+
+    private static final class Segment {
+        final long firstSequence;
+        final Path path;
+        final MappedByteBuffer buffer;
+        int writePosition;
+
+        Segment(long firstSequence, Path path, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    public OperationJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open operation journal in " + directory, e);
+        }
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Appends the record and returns its sequence once it is durable.
+     */
+    public long append(JournalRecord record) {
+        long sequence;
+        synchronized (writeLock) {
+            sequence = lastSequence + 1;
+            byte[] payload = encode(record.withSequence(sequence));
+            if (payload.length + 2 * RECORD_HEADER_BYTES > segmentSize) {
+                throw new IllegalArgumentException("Journal record does not fit in a segment");
+            }
+            if (activeSegment == null || activeSegment.writePosition + payload.length + 2 * RECORD_HEADER_BYTES > segmentSize) {
+                rotate(sequence);
+            }
+            write(activeSegment, payload);
+            lastSequence = sequence;
+        }
+        force(sequence);
+        return sequence;
+    }
+
+    /**
+     * Returns up to {@code maxRecords} records that follow the given sequence, in order.
+     */
+    public List<JournalRecord> readAfter(long afterSequence, int maxRecords) {
+        long last = lastSequence;
+        List<JournalRecord> records = new ArrayList<>();
+        if (afterSequence >= last) {
+            return records;
+        }
+        synchronized (this) {
+            Segment segment;
+            int offset;
+            if (afterSequence == cursorSequence && segments.containsValue(cursorSegment)) {
+                segment = cursorSegment;
+                offset = cursorOffset;
+            } else {
+                Map.Entry<Long, Segment> entry = segments.floorEntry(afterSequence + 1);
+                if (entry == null) {
+                    entry = segments.firstEntry();
+                }
+                segment = entry.getValue();
+                offset = 0;
+            }
+
+            long sequence = afterSequence;
+            while (records.size() < maxRecords && sequence < last) {
+                int length = segment.buffer.getInt(offset);
+                if (length == 0) {
+                    Map.Entry<Long, Segment> next = segments.higherEntry(segment.firstSequence);
+                    if (next == null) {
+                        break;
+                    }
+                    segment = next.getValue();
+                    offset = 0;
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                segment.buffer.get(offset + RECORD_HEADER_BYTES, payload);
+                offset += RECORD_HEADER_BYTES + length;
+                JournalRecord record = decode(payload);
+                if (record.sequence() > afterSequence) {
+                    records.add(record);
+                }
+                sequence = record.sequence();
+            }
+
+            cursorSequence = sequence;
+            cursorSegment = segment;
+            cursorOffset = offset;
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the segments whose records all have a sequence up to the given one.
+     */
+    public void deleteThrough(long sequence) {
+        synchronized (writeLock) {
+            synchronized (this) {
+                Iterator<Map.Entry<Long, Segment>> iterator = segments.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Segment segment = iterator.next().getValue();
+                    Map.Entry<Long, Segment> next = segments.higherEntry(segment.firstSequence);
+                    if (segment == activeSegment || next == null || next.getKey() > sequence + 1) {
+                        break;
+                    }
+                    iterator.remove();
+                    try {
+                        Files.deleteIfExists(segment.path);
+                        log.debug("Deleted drained journal segment {}", segment.path.getFileName());
+                    } catch (IOException e) {
+                        log.warn("Cannot delete drained journal segment {}: {}", segment.path, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (activeSegment != null) {
+                activeSegment.buffer.force();
+            }
+        }
+    }
+
+    private void force(long sequence) {
+        synchronized (forceLock) {
+            if (forcedSequence >= sequence) {
+                return;
+            }
+            Segment segment;
+            long upTo;
+            synchronized (writeLock) {
+                segment = activeSegment;
+                upTo = lastSequence;
+            }
+            // Older segments were forced when they were rotated out
+            segment.buffer.force();
+            forcedSequence = upTo;
+        }
+    }
+
+    private void rotate(long firstSequence) {
+        if (activeSegment != null) {
+            activeSegment.buffer.force();
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        Segment segment = new Segment(firstSequence, path, map(path));
+        synchronized (this) {
+            segments.put(firstSequence, segment);
+        }
+        activeSegment = segment;
+        log.info("Journal rotated to segment {}", path.getFileName());
+    }
+
+    private void write(Segment segment, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+        // The terminator after the record is written before the record's length, so that a
+        // reader never sees a length without a valid end marker behind it
+        buffer.putInt(position + RECORD_HEADER_BYTES + payload.length, 0);
+        buffer.put(position + RECORD_HEADER_BYTES, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        segment.writePosition = position + RECORD_HEADER_BYTES + payload.length;
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        boolean truncated = false;
+        for (Path path : paths) {
+            if (truncated) {
+                // Everything after a torn record is unreachable
+                Files.delete(path);
+                continue;
+            }
+            String name = path.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            // Drained segments may have been deleted, so the sequence continues from the oldest one kept
+            lastSequence = Math.max(lastSequence, firstSequence - 1);
+            Segment segment = new Segment(firstSequence, path, map(path));
+            truncated = !scan(segment);
+            segments.put(firstSequence, segment);
+            activeSegment = segment;
+        }
+        forcedSequence = lastSequence;
+        log.info("Journal opened in {} with {} segments, last sequence {}", directory, segments.size(), lastSequence);
+    }
+
+    /**
+     * Finds the end of the valid records of the segment. Returns false if the segment ends
+     * with a torn or corrupt record, which is wiped.
+     */
+    private boolean scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + RECORD_HEADER_BYTES <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                segment.writePosition = position;
+                return true;
+            }
+            boolean valid = length > 0 && position + RECORD_HEADER_BYTES + length + 4 <= segmentSize;
+            JournalRecord record = null;
+            if (valid) {
+                byte[] payload = new byte[length];
+                buffer.get(position + RECORD_HEADER_BYTES, payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                valid = (int) crc.getValue() == buffer.getInt(position + 4);
+                if (valid) {
+                    record = decode(payload);
+                    valid = record.sequence() == lastSequence + 1;
+                }
+            }
+            if (!valid) {
+                log.warn("Discarding torn journal record at offset {} of {}", position, segment.path.getFileName());
+                buffer.putInt(position, 0);
+                segment.buffer.force();
+                segment.writePosition = position;
+                return false;
+            }
+            lastSequence = record.sequence();
+            position += RECORD_HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+        return true;
+    }
+
+    private MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment " + path, e);
+        }
+    }
+
+    private static byte[] encode(JournalRecord record) {
+        byte[] accountId = record.accountId().getBytes(StandardCharsets.UTF_8);
+        byte[] description = record.description() == null ? null : record.description().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 1 + 8 + 1 + 8 + 8 + 4 + accountId.length + 4
+                + (description == null ? 0 : description.length));
+        buffer.putLong(record.sequence());
+        buffer.put((byte) record.kind().ordinal());
+        buffer.putLong(record.cancelledSequence());
+        buffer.put(record.type() == null ? -1 : (byte) record.type().ordinal());
+        buffer.putDouble(record.amount());
+        buffer.putLong(record.operationDate());
+        buffer.putInt(accountId.length);
+        buffer.put(accountId);
+        buffer.putInt(description == null ? -1 : description.length);
+        if (description != null) {
+            buffer.put(description);
+        }
+        return buffer.array();
+    }
+
+    private static JournalRecord decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long sequence = buffer.getLong();
+        JournalRecord.Kind kind = JournalRecord.Kind.values()[buffer.get()];
+        long cancelledSequence = buffer.getLong();
+        byte type = buffer.get();
+        double amount = buffer.getDouble();
+        long operationDate = buffer.getLong();
+        byte[] accountId = new byte[buffer.getInt()];
+        buffer.get(accountId);
+        int descriptionLength = buffer.getInt();
+        String description = null;
+        if (descriptionLength >= 0) {
+            byte[] bytes = new byte[descriptionLength];
+            buffer.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new JournalRecord(sequence, kind, new String(accountId, StandardCharsets.UTF_8),
+                type < 0 ? null : OperationType.values()[type], amount, operationDate, description, cancelledSequence);
+    }
+}
@@ -2,29 +2,42 @@ package com.example.digitalbankingbackend.mappers;
 
 import com.example.digitalbankingbackend.dtos.*;
 import com.example.digitalbankingbackend.entities.*;
-import org.springframework.beans.BeanUtils;
+import com.example.digitalbankingbackend.repositories.BankAccountView;
 import org.springframework.stereotype.Service;
 
+/**
+ * Entity/DTO conversions. Properties are copied one by one, the same ones BeanUtils would
+ * copy (same name and type on both sides), without reflection on every call. A property added
+ * to both an entity and its DTO must be added here as well.
+ */
 @Service
 public class BankAccountMapper {
 
     public CustomerDTO fromCustomer(Customer customer){
         if (customer == null) return null;
         CustomerDTO customerDTO = new CustomerDTO();
-        BeanUtils.copyProperties(customer, customerDTO);
+        customerDTO.setId(customer.getId());
+        customerDTO.setName(customer.getName());
+        customerDTO.setEmail(customer.getEmail());
+        customerDTO.setCreatedAt(customer.getCreatedAt());
         return customerDTO;
     }
 
     public Customer fromCustomerDTO(CustomerDTO customerDTO){
         if (customerDTO == null) return null;
         Customer customer = new Customer();
-        BeanUtils.copyProperties(customerDTO, customer);
+        customer.setId(customerDTO.getId());
+        customer.setName(customerDTO.getName());
+        customer.setEmail(customerDTO.getEmail());
+        customer.setCreatedAt(customerDTO.getCreatedAt());
         return customer;
-    }    public SavingBankAccountDTO fromSavingBankAccount(SavingAccount savingAccount){
+    }
+
+    public SavingBankAccountDTO fromSavingBankAccount(SavingAccount savingAccount){
         if (savingAccount == null) return null;
         SavingBankAccountDTO savingBankAccountDTO=new SavingBankAccountDTO();
-        BeanUtils.copyProperties(savingAccount,savingBankAccountDTO);
-        savingBankAccountDTO.setCustomerDTO(fromCustomer(savingAccount.getCustomer()));
+        copyAccount(savingAccount, savingBankAccountDTO);
+        savingBankAccountDTO.setInterestRate(savingAccount.getInterestRate());
         savingBankAccountDTO.setType("SAVING");
         return savingBankAccountDTO;
     }
@@ -32,14 +45,16 @@ public class BankAccountMapper {
     public SavingAccount fromSavingBankAccountDTO(SavingBankAccountDTO savingBankAccountDTO){
         if (savingBankAccountDTO == null) return null;
         SavingAccount savingAccount=new SavingAccount();
-        BeanUtils.copyProperties(savingBankAccountDTO,savingAccount);
-        savingAccount.setCustomer(fromCustomerDTO(savingBankAccountDTO.getCustomerDTO()));
+        copyAccount(savingBankAccountDTO, savingAccount);
+        savingAccount.setInterestRate(savingBankAccountDTO.getInterestRate());
         return savingAccount;
-    }    public CurrentBankAccountDTO fromCurrentBankAccount(CurrentAccount currentAccount){
+    }
+
+    public CurrentBankAccountDTO fromCurrentBankAccount(CurrentAccount currentAccount){
         if (currentAccount == null) return null;
         CurrentBankAccountDTO currentBankAccountDTO=new CurrentBankAccountDTO();
-        BeanUtils.copyProperties(currentAccount,currentBankAccountDTO);
-        currentBankAccountDTO.setCustomerDTO(fromCustomer(currentAccount.getCustomer()));
+        copyAccount(currentAccount, currentBankAccountDTO);
+        currentBankAccountDTO.setOverDraft(currentAccount.getOverDraft());
         currentBankAccountDTO.setType("CURRENT");
         return currentBankAccountDTO;
     }
@@ -47,16 +62,61 @@ public class BankAccountMapper {
     public CurrentAccount fromCurrentBankAccountDTO(CurrentBankAccountDTO currentBankAccountDTO){
         if (currentBankAccountDTO == null) return null;
         CurrentAccount currentAccount=new CurrentAccount();
-        BeanUtils.copyProperties(currentBankAccountDTO,currentAccount);
-        currentAccount.setCustomer(fromCustomerDTO(currentBankAccountDTO.getCustomerDTO()));
+        copyAccount(currentBankAccountDTO, currentAccount);
+        currentAccount.setOverDraft(currentBankAccountDTO.getOverDraft());
         return currentAccount;
     }
 
+    public BankAccountDTO fromBankAccountView(BankAccountView view){
+        if (view == null) return null;
+        BankAccountDTO bankAccountDTO;
+        if ("SAVING".equals(view.type())) {
+            SavingBankAccountDTO savingBankAccountDTO = new SavingBankAccountDTO();
+            savingBankAccountDTO.setInterestRate(view.interestRate());
+            bankAccountDTO = savingBankAccountDTO;
+        } else {
+            CurrentBankAccountDTO currentBankAccountDTO = new CurrentBankAccountDTO();
+            currentBankAccountDTO.setOverDraft(view.overDraft());
+            bankAccountDTO = currentBankAccountDTO;
+        }
+        bankAccountDTO.setType(view.type());
+        bankAccountDTO.setId(view.id());
+        bankAccountDTO.setBalance(view.balance());
+        bankAccountDTO.setCreatedAt(view.createdAt());
+        bankAccountDTO.setStatus(view.status());
+        if (view.customerId() != null) {
+            bankAccountDTO.setCustomerDTO(new CustomerDTO(view.customerId(), view.customerName(),
+                    view.customerEmail(), view.customerCreatedAt()));
+        }
+        return bankAccountDTO;
+    }
+
     public AccountOperationDTO fromAccountOperation(AccountOperation accountOperation){
         if (accountOperation == null) return null;
         AccountOperationDTO accountOperationDTO = new AccountOperationDTO();
-        BeanUtils.copyProperties(accountOperation, accountOperationDTO);
+        accountOperationDTO.setId(accountOperation.getId());
+        accountOperationDTO.setOperationDate(accountOperation.getOperationDate());
+        accountOperationDTO.setAmount(accountOperation.getAmount());
+        accountOperationDTO.setType(accountOperation.getType());
+        accountOperationDTO.setDescription(accountOperation.getDescription());
+        accountOperationDTO.setTransferId(accountOperation.getTransferId());
         return accountOperationDTO;
     }
 
-}
\ No newline at end of file
+    private void copyAccount(BankAccount bankAccount, BankAccountDTO bankAccountDTO) {
+        bankAccountDTO.setId(bankAccount.getId());
+        bankAccountDTO.setBalance(bankAccount.getBalance());
+        bankAccountDTO.setCreatedAt(bankAccount.getCreatedAt());
+        bankAccountDTO.setStatus(bankAccount.getStatus());
+        bankAccountDTO.setCustomerDTO(fromCustomer(bankAccount.getCustomer()));
+    }
+
+    private void copyAccount(BankAccountDTO bankAccountDTO, BankAccount bankAccount) {
+        bankAccount.setId(bankAccountDTO.getId());
+        bankAccount.setBalance(bankAccountDTO.getBalance());
+        bankAccount.setCreatedAt(bankAccountDTO.getCreatedAt());
+        bankAccount.setStatus(bankAccountDTO.getStatus());
+        bankAccount.setCustomer(fromCustomerDTO(bankAccountDTO.getCustomerDTO()));
+    }
+
+}
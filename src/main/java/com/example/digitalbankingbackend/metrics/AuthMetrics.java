@@ -0,0 +1,74 @@
+package com.example.digitalbankingbackend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times token verification, {@code bank.auth.jwt}, and password hashing, {@code bank.auth.bcrypt},
+ * which together make most of the cost of authenticating a request or a login.
+ */
+@Aspect
+@Component
+public class AuthMetrics {
+
+    private final Timer jwtVerify;
+    private final Timer jwtValidate;
+    private final Timer jwtSubject;
+    private final Timer bcryptEncode;
+    private final Timer bcryptMatches;
+
+    public AuthMetrics(MeterRegistry registry) {
+        jwtVerify = timer(registry, "bank.auth.jwt", "verify", "Latency of JWT verification");
+        jwtValidate = timer(registry, "bank.auth.jwt", "validate", "Latency of JWT verification");
+        jwtSubject = timer(registry, "bank.auth.jwt", "subject", "Latency of JWT verification");
+        bcryptEncode = timer(registry, "bank.auth.bcrypt", "encode", "Latency of password hashing");
+        bcryptMatches = timer(registry, "bank.auth.bcrypt", "matches", "Latency of password hashing");
+    }
+
+    @Around("execution(* com.example.digitalbankingbackend.security.JwtUtils.verifyJwtToken(..))")
+    public Object timeJwtVerify(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(jwtVerify, joinPoint);
+    }
+
+    @Around("execution(* com.example.digitalbankingbackend.security.JwtUtils.validateJwtToken(..))")
+    public Object timeJwtValidate(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(jwtValidate, joinPoint);
+    }
+
+    @Around("execution(* com.example.digitalbankingbackend.security.JwtUtils.getUserNameFromJwtToken(..))")
+    public Object timeJwtSubject(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(jwtSubject, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder.encode(..))")
+    public Object timeEncode(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(bcryptEncode, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder.matches(..))")
+    public Object timeMatches(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(bcryptMatches, joinPoint);
+    }
+
+    private static Object time(Timer timer, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String operation, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
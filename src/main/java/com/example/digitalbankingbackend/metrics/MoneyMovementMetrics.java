@@ -0,0 +1,81 @@
+package com.example.digitalbankingbackend.metrics;
+
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts of money movements, {@code bank.money.movements}, by operation type, channel (a single
+ * {@code operation}, a {@code transfer} or a {@code batch} transfer) and outcome, and the amounts
+ * moved, {@code bank.money.amount}. A transfer counts once as a debit and once as a credit.
+ * <p>
+ * Every counter is registered up front, so recording is an array lookup and an add.
+ */
+@Component
+public class MoneyMovementMetrics {
+
+    public enum Channel { OPERATION, TRANSFER, BATCH }
+
+    public enum Outcome { SUCCESS, INSUFFICIENT_FUNDS, NOT_FOUND, NOT_ALLOWED, INVALID, REJECTED, ERROR }
+
+    private final Counter[][][] movements =
+            new Counter[OperationType.values().length][Channel.values().length][Outcome.values().length];
+    private final Counter[][] amounts = new Counter[OperationType.values().length][Channel.values().length];
+
+    public MoneyMovementMetrics(MeterRegistry registry) {
+        for (OperationType type : OperationType.values()) {
+            for (Channel channel : Channel.values()) {
+                for (Outcome outcome : Outcome.values()) {
+                    movements[type.ordinal()][channel.ordinal()][outcome.ordinal()] = Counter
+                            .builder("bank.money.movements")
+                            .description("Money movements by operation type, channel and outcome")
+                            .tag("type", type.name())
+                            .tag("channel", tag(channel))
+                            .tag("outcome", tag(outcome))
+                            .register(registry);
+                }
+                amounts[type.ordinal()][channel.ordinal()] = Counter.builder("bank.money.amount")
+                        .description("Amount of money moved by successful operations")
+                        .tag("type", type.name())
+                        .tag("channel", tag(channel))
+                        .register(registry);
+            }
+        }
+    }
+
+    public void record(OperationType type, Channel channel, Outcome outcome, double amount) {
+        movements[type.ordinal()][channel.ordinal()][outcome.ordinal()].increment();
+        if (outcome == Outcome.SUCCESS) {
+            amounts[type.ordinal()][channel.ordinal()].increment(amount);
+        }
+    }
+
+    public void recordTransfer(Channel channel, Outcome outcome, double amount) {
+        record(OperationType.DEBIT, channel, outcome, amount);
+        record(OperationType.CREDIT, channel, outcome, amount);
+    }
+
+    public static Outcome outcomeOf(Throwable failure) {
+        if (failure instanceof BalanceNotSufficientException) {
+            return Outcome.INSUFFICIENT_FUNDS;
+        }
+        if (failure instanceof BankAccountNotFoundException) {
+            return Outcome.NOT_FOUND;
+        }
+        if (failure instanceof BankAccountActionNotAllowedException) {
+            return Outcome.NOT_ALLOWED;
+        }
+        if (failure instanceof IllegalArgumentException) {
+            return Outcome.INVALID;
+        }
+        return Outcome.ERROR;
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
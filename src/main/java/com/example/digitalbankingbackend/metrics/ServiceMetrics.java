@@ -0,0 +1,94 @@
+package com.example.digitalbankingbackend.metrics;
+
+import com.example.digitalbankingbackend.dtos.TransferResultDTO;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.metrics.MoneyMovementMetrics.Channel;
+import com.example.digitalbankingbackend.metrics.MoneyMovementMetrics.Outcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@code BankAccountService} method, {@code bank.service} by method and outcome,
+ * and counts the money movements it makes (see {@link MoneyMovementMetrics}).
+ * <p>
+ * The advice runs outside the service's transaction, so the time includes the commit and a
+ * failed commit counts as an error. The timers of a method are looked up once and kept, so a
+ * call only reads the clock twice and records one value.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetrics {
+
+    private final MeterRegistry registry;
+    private final MoneyMovementMetrics moneyMovements;
+    // Success and error timers of each method
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry registry, MoneyMovementMetrics moneyMovements) {
+        this.registry = registry;
+        this.moneyMovements = moneyMovements;
+    }
+
+    @Around("execution(* com.example.digitalbankingbackend.services.BankAccountService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] methodTimers = timers.computeIfAbsent(method, this::register);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            countMovements(method.getName(), joinPoint.getArgs(), result, null);
+            return result;
+        } catch (Throwable e) {
+            methodTimers[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            countMovements(method.getName(), joinPoint.getArgs(), null, e);
+            throw e;
+        }
+    }
+
+    private Timer[] register(Method method) {
+        return new Timer[]{timer(method, "success"), timer(method, "error")};
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder("bank.service")
+                .description("Latency of BankAccountService methods")
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private void countMovements(String method, Object[] args, Object result, Throwable failure) {
+        Outcome outcome = failure == null ? Outcome.SUCCESS : MoneyMovementMetrics.outcomeOf(failure);
+        switch (method) {
+            case "debit" -> moneyMovements.record(OperationType.DEBIT, Channel.OPERATION, outcome, (double) args[1]);
+            case "credit" -> moneyMovements.record(OperationType.CREDIT, Channel.OPERATION, outcome, (double) args[1]);
+            case "transfer" -> moneyMovements.recordTransfer(Channel.TRANSFER, outcome, (double) args[2]);
+            case "batchTransfer" -> {
+                if (result instanceof List<?> results) {
+                    for (Object item : results) {
+                        TransferResultDTO transfer = (TransferResultDTO) item;
+                        moneyMovements.recordTransfer(Channel.BATCH,
+                                transfer.success() ? Outcome.SUCCESS : Outcome.REJECTED, transfer.amount());
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
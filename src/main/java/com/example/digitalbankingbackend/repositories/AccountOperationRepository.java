@@ -1,13 +1,77 @@
 package com.example.digitalbankingbackend.repositories;
 
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
 import com.example.digitalbankingbackend.entities.AccountOperation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AccountOperationRepository extends JpaRepository<AccountOperation, Long> {
     List<AccountOperation> findByBankAccountId(String accountId);
 
     Page<AccountOperation> findByBankAccountId(String accountId, Pageable pageable);
+
+    @Query(value = "select new com.example.digitalbankingbackend.dtos.AccountOperationDTO(o.id, o.operationDate, o.amount, " +
+            "o.type, o.description, o.transferId) from AccountOperation o where o.bankAccount.id = :accountId",
+            countQuery = "select count(o) from AccountOperation o where o.bankAccount.id = :accountId")
+    Page<AccountOperationDTO> findDTOsByBankAccountId(@Param("accountId") String accountId, Pageable pageable);
+
+    List<AccountOperation> findByTransferId(String transferId);
+
+    List<AccountOperation> findByBankAccountIdOrderByOperationDateDesc(String accountId);
+
+    long countByBankAccountId(String accountId);
+
+    // Forward-only, read-only cursor over the whole history, oldest first
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from AccountOperation o where o.bankAccount.id = :accountId order by o.operationDate, o.id")
+    Stream<AccountOperation> streamByBankAccountId(@Param("accountId") String accountId);
+
+    // Keyset pagination on (operationDate, id), newest first, without loading the account
+    @Query("select new com.example.digitalbankingbackend.dtos.AccountOperationDTO(o.id, o.operationDate, o.amount, " +
+            "o.type, o.description, o.transferId) from AccountOperation o where o.bankAccount.id = :accountId " +
+            "order by o.operationDate desc, o.id desc")
+    List<AccountOperationDTO> findFirstPage(@Param("accountId") String accountId, Pageable pageable);
+
+    @Query("select new com.example.digitalbankingbackend.dtos.AccountOperationDTO(o.id, o.operationDate, o.amount, " +
+            "o.type, o.description, o.transferId) from AccountOperation o where o.bankAccount.id = :accountId " +
+            "and (o.operationDate < :operationDate or (o.operationDate = :operationDate and o.id < :id)) " +
+            "order by o.operationDate desc, o.id desc")
+    List<AccountOperationDTO> findPageAfter(@Param("accountId") String accountId, @Param("operationDate") Date operationDate,
+                                            @Param("id") Long id, Pageable pageable);
+
+    // [operationDate, type, amount] of an account's operations, newest first, for rebuilding its checkpoints
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o.operationDate, o.type, o.amount from AccountOperation o where o.bankAccount.id = :accountId " +
+            "order by o.operationDate desc, o.id desc")
+    Stream<Object[]> streamAmountsNewestFirst(@Param("accountId") String accountId);
+
+    // Operations of a set of accounts over a period, grouped by account, without loading the accounts:
+    // [accountId, id, operationDate, amount, type, description, transferId]
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o.bankAccount.id, o.id, o.operationDate, o.amount, o.type, o.description, o.transferId " +
+            "from AccountOperation o where o.bankAccount.id in :accountIds " +
+            "and o.operationDate >= :from and o.operationDate < :to " +
+            "order by o.bankAccount.id, o.operationDate, o.id")
+    Stream<Object[]> streamStatementLines(@Param("accountIds") Collection<String> accountIds,
+                                         @Param("from") Date from, @Param("to") Date to);
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.entities.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+    @Modifying
+    @Query("update BalanceCheckpoint c set c.closingBalance = c.closingBalance + :delta " +
+            "where c.bankAccount.id = :accountId and c.balanceDate = :date")
+    int addOn(@Param("accountId") String accountId, @Param("date") LocalDate date, @Param("delta") double delta);
+
+    @Modifying
+    @Query("update BalanceCheckpoint c set c.closingBalance = c.closingBalance + :delta " +
+            "where c.bankAccount.id = :accountId and c.balanceDate > :date")
+    int addAfter(@Param("accountId") String accountId, @Param("date") LocalDate date, @Param("delta") double delta);
+
+    Optional<BalanceCheckpoint> findFirstByBankAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(String accountId, LocalDate date);
+
+    Optional<BalanceCheckpoint> findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(String accountId, LocalDate date);
+
+    List<BalanceCheckpoint> findByBankAccountIdAndBalanceDateBetweenOrderByBalanceDate(String accountId, LocalDate from, LocalDate to);
+
+    boolean existsByBankAccountId(String accountId);
+
+    @Modifying
+    @Query("delete from BalanceCheckpoint c where c.bankAccount.id in :accountIds")
+    int deleteByBankAccountIds(@Param("accountIds") Collection<String> accountIds);
+
+    @Query("select b.id from BankAccount b where not exists (select c.id from BalanceCheckpoint c where c.bankAccount = b)")
+    List<String> findAccountIdsWithoutCheckpoints();
+
+    // [accountId, closingBalance] of the closest checkpoint on or before the date, per account
+    @Query("select c.bankAccount.id, c.closingBalance from BalanceCheckpoint c where c.bankAccount.id in :accountIds " +
+            "and c.balanceDate = (select max(p.balanceDate) from BalanceCheckpoint p " +
+            "where p.bankAccount = c.bankAccount and p.balanceDate <= :date)")
+    List<Object[]> findClosingBalances(@Param("accountIds") Collection<String> accountIds, @Param("date") LocalDate date);
+}
@@ -0,0 +1,46 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.entities.BalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface BalanceStripeRepository extends JpaRepository<BalanceStripe, Long> {
+    // Only adds to a stripe holding credits of the same day
+    @Modifying
+    @Query("update BalanceStripe s set s.amount = s.amount + :amount " +
+            "where s.bankAccount.id = :accountId and s.stripe = :stripe and s.creditDate = :creditDate")
+    int addToStripe(@Param("accountId") String accountId, @Param("stripe") int stripe,
+                    @Param("creditDate") LocalDate creditDate, @Param("amount") double amount);
+
+    @Query("select coalesce(sum(s.amount), 0) from BalanceStripe s where s.bankAccount.id = :accountId")
+    double sumByBankAccountId(@Param("accountId") String accountId);
+
+    // [creditDate, amount] of the credits held in the stripes and not in the balance checkpoints yet
+    @Query("select s.creditDate, sum(s.amount) from BalanceStripe s where s.bankAccount.id = :accountId " +
+            "and s.creditDate is not null group by s.creditDate")
+    List<Object[]> sumPendingByBankAccountId(@Param("accountId") String accountId);
+
+    // [accountId, amount] of the credits up to the day held in the stripes and not in the balance checkpoints yet
+    @Query("select s.bankAccount.id, sum(s.amount) from BalanceStripe s where s.bankAccount.id in :accountIds " +
+            "and s.creditDate <= :date group by s.bankAccount.id")
+    List<Object[]> sumPendingByBankAccountIds(@Param("accountIds") Collection<String> accountIds, @Param("date") LocalDate date);
+
+    @Query("select s.bankAccount.id, sum(s.amount) from BalanceStripe s where s.bankAccount.id in :accountIds group by s.bankAccount.id")
+    List<Object[]> sumByBankAccountIds(@Param("accountIds") Collection<String> accountIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceStripe s where s.bankAccount.id = :accountId")
+    List<BalanceStripe> findByBankAccountIdForUpdate(@Param("accountId") String accountId);
+
+    @Modifying
+    @Query("delete from BalanceStripe s where s.bankAccount.id = :accountId")
+    int deleteByBankAccountId(@Param("accountId") String accountId);
+}
@@ -0,0 +1,18 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface BankAccountPageQuery {
+    /**
+     * Returns up to {@code limit} accounts matching the filter, in (createdAt, id) order, after
+     * the given position (none for the first page). The filter's type, customer and balance
+     * bounds are applied in the query; {@code statuses} replaces its status fields, null for all.
+     */
+    List<BankAccountView> findViewPage(BankAccountFilterDTO filter, Collection<AccountStatus> statuses,
+                                       Date afterCreatedAt, String afterId, int limit);
+}
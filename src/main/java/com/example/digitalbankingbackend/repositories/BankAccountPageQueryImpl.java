@@ -0,0 +1,85 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.*;
+
+/**
+ * Keyset pages of the account list. Only the predicates of the filter's set fields are added,
+ * so that each query can be served by idx_bank_account_created or the customer index. Without a
+ * type, both account types are read up to the limit and merged in order.
+ */
+class BankAccountPageQueryImpl implements BankAccountPageQuery {
+
+    // Balance of a striped account includes its slots
+    private static final String BALANCE = "(b.balance + case when b.balanceStripes = 0 then 0.0 else " +
+            "(select coalesce(sum(s.amount), 0.0) from BalanceStripe s where s.bankAccount.id = b.id) end)";
+    private static final Comparator<BankAccountView> ORDER =
+            Comparator.comparing(BankAccountView::createdAt).thenComparing(BankAccountView::id);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BankAccountView> findViewPage(BankAccountFilterDTO filter, Collection<AccountStatus> statuses,
+                                              Date afterCreatedAt, String afterId, int limit) {
+        List<BankAccountView> page = new ArrayList<>();
+        if (filter.getType() == null || "CA".equals(filter.getType())) {
+            page.addAll(query(BankAccountRepository.CURRENT_ACCOUNT_VIEWS, filter, statuses, afterCreatedAt, afterId, limit));
+        }
+        if (filter.getType() == null || "SA".equals(filter.getType())) {
+            page.addAll(query(BankAccountRepository.SAVING_ACCOUNT_VIEWS, filter, statuses, afterCreatedAt, afterId, limit));
+        }
+        if (filter.getType() != null) {
+            return page;
+        }
+        page.sort(ORDER);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    private List<BankAccountView> query(String views, BankAccountFilterDTO filter, Collection<AccountStatus> statuses,
+                                        Date afterCreatedAt, String afterId, int limit) {
+        List<String> predicates = new ArrayList<>();
+        if (statuses != null) {
+            predicates.add("b.status in :statuses");
+        }
+        if (filter.getCustomerId() != null) {
+            predicates.add("c.id = :customerId");
+        }
+        if (filter.getMinBalance() != null) {
+            predicates.add(BALANCE + " >= :minBalance");
+        }
+        if (filter.getMaxBalance() != null) {
+            predicates.add(BALANCE + " <= :maxBalance");
+        }
+        if (afterCreatedAt != null) {
+            // The leading range keeps the index usable; the second condition skips the cursor's own date
+            predicates.add("b.createdAt >= :createdAt and (b.createdAt > :createdAt or b.id > :id)");
+        }
+        String jpql = views + (predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates))
+                + " order by b.createdAt, b.id";
+
+        TypedQuery<BankAccountView> query = entityManager.createQuery(jpql, BankAccountView.class);
+        if (statuses != null) {
+            query.setParameter("statuses", statuses);
+        }
+        if (filter.getCustomerId() != null) {
+            query.setParameter("customerId", filter.getCustomerId());
+        }
+        if (filter.getMinBalance() != null) {
+            query.setParameter("minBalance", filter.getMinBalance());
+        }
+        if (filter.getMaxBalance() != null) {
+            query.setParameter("maxBalance", filter.getMaxBalance());
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("createdAt", afterCreatedAt);
+            query.setParameter("id", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
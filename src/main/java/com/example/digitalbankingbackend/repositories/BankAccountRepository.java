@@ -1,10 +1,72 @@
 package com.example.digitalbankingbackend.repositories;
 
 import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
-public interface BankAccountRepository extends JpaRepository<BankAccount, String> {
+public interface BankAccountRepository extends JpaRepository<BankAccount, String>, BankAccountPageQuery {
+    // The customer is mapped into every account DTO: loaded in the same select, not one per account
+    @EntityGraph(attributePaths = "customer")
     List<BankAccount> findByCustomerId(Long customerId);
+
+    // Read-only views of the accounts, one query per account type, filtered and paged by BankAccountPageQueryImpl
+    String CURRENT_ACCOUNT_VIEWS = "select new com.example.digitalbankingbackend.repositories.BankAccountView(b.id, " +
+            "'CURRENT', b.balance, b.createdAt, b.status, b.balanceStripes, b.overDraft, 0.0, " +
+            "c.id, c.name, c.email, c.createdAt) from CurrentAccount b left join b.customer c";
+    String SAVING_ACCOUNT_VIEWS = "select new com.example.digitalbankingbackend.repositories.BankAccountView(b.id, " +
+            "'SAVING', b.balance, b.createdAt, b.status, b.balanceStripes, 0.0, b.interestRate, " +
+            "c.id, c.name, c.email, c.createdAt) from SavingAccount b left join b.customer c";
+
+    @Query("select b.id from BankAccount b where b.customer.id = :customerId order by b.createdAt, b.id")
+    List<String> findIdsByCustomerId(@Param("customerId") Long customerId);
+
+    @EntityGraph(attributePaths = "customer")
+    List<BankAccount> findByIdIn(Collection<String> accountIds);
+
+    // [id, balance, balanceStripes]: the part of an account that changes with every operation
+    @Query("select b.id, b.balance, b.balanceStripes from BankAccount b where b.id in :accountIds")
+    List<Object[]> findBalances(@Param("accountIds") Collection<String> accountIds);
+
+    // Soft delete of a customer's accounts, in one statement whatever their number
+    @Modifying
+    @Query("update BankAccount b set b.status = :status, b.customer = null where b.customer.id = :customerId")
+    int detachFromCustomer(@Param("customerId") Long customerId, @Param("status") AccountStatus status);
+
+    @Query("select b.id from BankAccount b where b.balanceStripes > 0")
+    List<String> findStripedAccountIds();
+
+    @Query("select b.id, b.journalSequence from BankAccount b where b.id in :accountIds")
+    List<Object[]> findJournalSequences(@Param("accountIds") Collection<String> accountIds);
+
+    // Keyset over the ids of the accounts opened before a date, in id order
+    @Query("select b.id from BankAccount b where b.id > :after and (b.createdAt is null or b.createdAt < :before) order by b.id")
+    List<String> findIdsOpenedBefore(@Param("after") String after, @Param("before") Date before, Pageable pageable);
+
+    // Ids in (after, last] of the accounts opened before a date, in id order
+    @Query("select b.id from BankAccount b where b.id > :after and b.id <= :last and (b.createdAt is null or b.createdAt < :before) order by b.id")
+    List<String> findIdsOpenedBetween(@Param("after") String after, @Param("last") String last, @Param("before") Date before);
+
+    // [id, type, customerId, customerName]
+    @Query("select b.id, type(b), c.id, c.name from BankAccount b left join b.customer c where b.id in :accountIds")
+    List<Object[]> findStatementHeaders(@Param("accountIds") Collection<String> accountIds);
+
+    @Modifying
+    @Query("update BankAccount b set b.balance = b.balance - :amount " +
+            "where b.id = :accountId and b.balance >= :amount and b.status in :statuses")
+    int debitIfSufficient(@Param("accountId") String accountId, @Param("amount") double amount,
+                          @Param("statuses") Collection<AccountStatus> statuses);
+
+    @Modifying
+    @Query("update BankAccount b set b.balance = b.balance + :amount where b.id = :accountId and b.status in :statuses")
+    int creditIfAllowed(@Param("accountId") String accountId, @Param("amount") double amount,
+                        @Param("statuses") Collection<AccountStatus> statuses);
 }
\ No newline at end of file
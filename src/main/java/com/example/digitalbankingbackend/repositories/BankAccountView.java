@@ -0,0 +1,23 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.enums.AccountStatus;
+
+import java.util.Date;
+
+/**
+ * An account and its customer as selected for the account lists, without loading either
+ * entity. {@code overDraft} is 0 for saving accounts and {@code interestRate} for current ones.
+ */
+public record BankAccountView(String id,
+                              String type,
+                              double balance,
+                              Date createdAt,
+                              AccountStatus status,
+                              int balanceStripes,
+                              double overDraft,
+                              double interestRate,
+                              Long customerId,
+                              String customerName,
+                              String customerEmail,
+                              Date customerCreatedAt) {
+}
@@ -1,5 +1,6 @@
 package com.example.digitalbankingbackend.repositories;
 
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
 import com.example.digitalbankingbackend.entities.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,4 +13,7 @@ import java.util.List;
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("select c from Customer c where lower(c.name) like lower(concat('%', :kw, '%'))")
     List<Customer> searchCustomer(@Param("kw") String keyword);
+
+    @Query("select new com.example.digitalbankingbackend.dtos.CustomerDTO(c.id, c.name, c.email, c.createdAt) from Customer c")
+    List<CustomerDTO> findAllDTOs();
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.example.digitalbankingbackend.repositories;
 
 import com.example.digitalbankingbackend.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // 1 when the user may still sign in: not disabled, locked or expired
+    @Query("select count(u) from User u where u.id = :id and u.enabled = true and u.accountNonLocked = true " +
+            "and u.accountNonExpired = true and u.credentialsNonExpired = true")
+    long countActiveById(@Param("id") Long id);
 }
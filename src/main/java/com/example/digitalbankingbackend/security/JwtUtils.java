@@ -1,7 +1,12 @@
 package com.example.digitalbankingbackend.security;
 
+import com.example.digitalbankingbackend.enums.Role;
+import com.example.digitalbankingbackend.services.BoundedCache;
+import com.example.digitalbankingbackend.services.UserDetailsServiceImpl.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -9,69 +14,165 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies the access tokens.
+ * <p>
+ * The signing key and parser are built once. Verified claims are cached under the SHA-256
+ * digest of the token, so a client sending the same bearer token again is not verified again;
+ * a cached entry is only used before the token's expiry and while the token is not revoked.
+ */
 @Component
 @Slf4j
 public class JwtUtils {
-    
-    @Value("${app.jwtSecret:mySecretKey}")
-    private String jwtSecret;
-    
-    @Value("${app.jwtExpirationMs:86400000}")
-    private int jwtExpirationMs;
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+
+    // Claims that let a request be authenticated without loading the user
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
+    private final int jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final BoundedCache<String, Claims> verified;
+    // Digest of a revoked token to its expiry, after which the token is refused anyway
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public JwtUtils(@Value("${app.jwtSecret:mySecretKey}") String jwtSecret,
+                    @Value("${app.jwtExpirationMs:86400000}") int jwtExpirationMs,
+                    @Value("${app.jwt.cache-size:10000}") int cacheSize,
+                    @Value("${app.jwt.cache-ttl-ms:300000}") long cacheTtlMs,
+                    MeterRegistry registry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verified = new BoundedCache<>("jwt", cacheSize, cacheTtlMs, registry);
     }
-    
+
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        
+        if (userPrincipal instanceof UserPrincipal principal) {
+            String authority = principal.getAuthorities().iterator().next().getAuthority();
+            return generateTokenFromUser(principal.getId(), principal.getUsername(),
+                    Role.valueOf(authority.substring("ROLE_".length())));
+        }
+
         return Jwts.builder()
                 .subject(userPrincipal.getUsername())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
-    public String generateTokenFromUsername(String username) {
+
+    public String generateTokenFromUser(Long userId, String username, Role role) {
         return Jwts.builder()
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLE_CLAIM, role.name())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+
+    public String generateTokenFromUsername(String username) {
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .signWith(signingKey)
+                .compact();
     }
-    
-    public boolean validateJwtToken(String authToken) {
+
+    /**
+     * Returns the claims of a valid token, or nothing when the token is invalid, expired or
+     * revoked. Only the first call for a token verifies its signature.
+     */
+    public Optional<Claims> verifyJwtToken(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            log.error("JWT claims string is empty");
+            return Optional.empty();
+        }
+        String digest = digest(authToken);
+        if (revoked.containsKey(digest)) {
+            log.error("JWT token is revoked");
+            return Optional.empty();
+        }
+        Claims claims = verified.get(digest);
+        if (claims != null && isUnexpired(claims)) {
+            return Optional.of(claims);
+        }
+
+        long stamp = verified.stamp();
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            claims = parser.parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
+            return Optional.empty();
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+            return Optional.empty();
+        } catch (SecurityException e) {
+            log.error("JWT signature is invalid: {}", e.getMessage());
+            return Optional.empty();
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+            return Optional.empty();
+        }
+        // A token without expiry is verified every time
+        if (claims.getExpiration() != null) {
+            verified.put(digest, claims, stamp);
+        }
+        return Optional.of(claims);
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return verifyJwtToken(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken).isPresent();
+    }
+
+    /**
+     * Refuses the token from now on, until it expires. A token that does not verify is ignored.
+     */
+    public void revokeJwtToken(String authToken) {
+        Optional<Claims> claims = verifyJwtToken(authToken);
+        if (claims.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        Date expiration = claims.get().getExpiration();
+        String digest = digest(authToken);
+        revoked.put(digest, expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        verified.invalidate(digest);
+    }
+
+    private static boolean isUnexpired(Claims claims) {
+        return claims.getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        
-        return false;
     }
 }
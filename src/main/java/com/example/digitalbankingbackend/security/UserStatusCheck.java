@@ -0,0 +1,38 @@
+package com.example.digitalbankingbackend.security;
+
+import com.example.digitalbankingbackend.repositories.UserRepository;
+import com.example.digitalbankingbackend.services.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether a user authenticated from token claims alone may still act: not disabled, locked or
+ * expired. The answer is cached for a short time, so that a user is looked up once per period
+ * instead of once per request, and a lock or disable takes effect within that period.
+ */
+@Component
+public class UserStatusCheck {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<Long, Boolean> active;
+
+    public UserStatusCheck(UserRepository userRepository,
+                           MeterRegistry registry,
+                           @Value("${app.auth.status-cache-size:10000}") int cacheSize,
+                           @Value("${app.auth.status-check-ms:30000}") long checkMs) {
+        this.userRepository = userRepository;
+        this.active = new BoundedCache<>("userStatus", cacheSize, checkMs, registry);
+    }
+
+    public boolean isActive(Long userId) {
+        Boolean cached = active.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = active.stamp();
+        boolean isActive = userRepository.countActiveById(userId) > 0;
+        active.put(userId, isActive, stamp);
+        return isActive;
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+
 @Service
 @AllArgsConstructor
 @Slf4j
@@ -39,6 +41,10 @@ public class AuthService {
         User user = userRepository.findByUsername(loginRequest.username())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        // Update last login, once per sign-in rather than on every authenticated request
+        user.setLastLogin(new Date());
+        userRepository.save(user);
+        
         // Create refresh token
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
         
@@ -88,6 +94,15 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
+    /**
+     * Revokes the access token, so that it is refused until it expires even though it verifies.
+     */
+    public void logout(String jwt) {
+        if (jwt != null) {
+            jwtUtils.revokeJwtToken(jwt);
+        }
+    }
+    
     public JwtResponseDTO refreshToken(RefreshTokenRequestDTO request) {
         String requestRefreshToken = request.refreshToken();
         
@@ -95,7 +110,7 @@ public class AuthService {
                 .map(refreshTokenService::verifyExpiration)
                 .map(RefreshToken::getUser)
                 .map(user -> {
-                    String token = jwtUtils.generateTokenFromUsername(user.getUsername());
+                    String token = jwtUtils.generateTokenFromUser(user.getId(), user.getUsername(), user.getRole());
                     return new JwtResponseDTO(
                             token,
                             user.getUsername(),
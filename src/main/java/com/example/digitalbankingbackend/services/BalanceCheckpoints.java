@@ -0,0 +1,235 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.DailyBalanceDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BalanceCheckpoint;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BalanceCheckpointRepository;
+import com.example.digitalbankingbackend.repositories.BalanceStripeRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * End-of-day balance checkpoints.
+ * <p>
+ * Every account has a {@link BalanceCheckpoint} for its creation day and for each day it had
+ * operations, holding its balance at the end of that day. Checkpoints are kept up to date as
+ * operations land: the operation's amount is added to the checkpoint of its day and to any
+ * later one. The balance at the end of any day is then the closest checkpoint on or before
+ * it, so a balance series costs one checkpoint lookup plus the checkpoints inside the range.
+ * <p>
+ * Credits held in the slots of a striped account reach the checkpoint of their day when the
+ * slots are folded (see {@link BalanceStripes}); until then the series adds them on top.
+ */
+@Component
+@Slf4j
+public class BalanceCheckpoints {
+
+    public static final int MAX_SERIES_DAYS = 3660;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountOperationRepository accountOperationRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final LedgerLanes ledgerLanes;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public BalanceCheckpoints(BankAccountRepository bankAccountRepository,
+                              AccountOperationRepository accountOperationRepository,
+                              BalanceCheckpointRepository balanceCheckpointRepository,
+                              BalanceStripeRepository balanceStripeRepository,
+                              LedgerLanes ledgerLanes,
+                              TransactionTemplate transactionTemplate) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountOperationRepository = accountOperationRepository;
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.balanceStripeRepository = balanceStripeRepository;
+        this.ledgerLanes = ledgerLanes;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Writes the first checkpoint of a new account.
+     */
+    public void open(BankAccount bankAccount) {
+        balanceCheckpointRepository.save(new BalanceCheckpoint(null, bankAccount,
+                dayOf(bankAccount.getCreatedAt()), bankAccount.getBalance()));
+    }
+
+    /**
+     * Applies the operations to the checkpoints of their accounts, as part of the transaction
+     * that applies them to the balances. A checkpoint is only ever created under its account's
+     * ledger lane, so the caller must hold the lanes of the accounts.
+     */
+    public void apply(Collection<AccountOperation> accountOperations) {
+        // One update per account and day, in account order
+        Map<String, Map<LocalDate, Double>> deltas = new TreeMap<>();
+        for (AccountOperation accountOperation : accountOperations) {
+            double delta = accountOperation.getType() == OperationType.CREDIT
+                    ? accountOperation.getAmount() : -accountOperation.getAmount();
+            deltas.computeIfAbsent(accountOperation.getBankAccount().getId(), id -> new TreeMap<>())
+                    .merge(dayOf(accountOperation.getOperationDate()), delta, Double::sum);
+        }
+        deltas.forEach(this::addDeltas);
+    }
+
+    /**
+     * Adds each day's amount to the account's checkpoints of that day and later. The caller
+     * must hold the account's ledger lane.
+     */
+    public void addDeltas(String accountId, Map<LocalDate, Double> deltas) {
+        deltas.forEach((day, delta) -> addDelta(accountId, day, delta));
+    }
+
+    /**
+     * Returns the end-of-day balance of every day of the range, reading the closest checkpoint
+     * before the range and the checkpoints inside it.
+     */
+    public List<DailyBalanceDTO> series(String accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date.");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_SERIES_DAYS) {
+            throw new IllegalArgumentException("A balance series cannot span more than " + MAX_SERIES_DAYS + " days.");
+        }
+
+        double balance = balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(accountId, from)
+                .map(BalanceCheckpoint::getClosingBalance)
+                .orElse(0.0);
+        Iterator<BalanceCheckpoint> checkpoints = balanceCheckpointRepository
+                .findByBankAccountIdAndBalanceDateBetweenOrderByBalanceDate(accountId, from.plusDays(1), to)
+                .iterator();
+        BalanceCheckpoint next = checkpoints.hasNext() ? checkpoints.next() : null;
+
+        // Striped credits not folded yet count from their day on
+        NavigableMap<LocalDate, Double> pending = new TreeMap<>();
+        for (Object[] row : balanceStripeRepository.sumPendingByBankAccountId(accountId)) {
+            pending.put((LocalDate) row[0], ((Number) row[1]).doubleValue());
+        }
+
+        List<DailyBalanceDTO> series = new ArrayList<>((int) days);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (next != null && next.getBalanceDate().equals(day)) {
+                balance = next.getClosingBalance();
+                next = checkpoints.hasNext() ? checkpoints.next() : null;
+            }
+            double unfolded = 0;
+            for (double amount : pending.headMap(day, true).values()) {
+                unfolded += amount;
+            }
+            series.add(new DailyBalanceDTO(day, balance + unfolded));
+        }
+        return series;
+    }
+
+    /**
+     * Rebuilds the checkpoints of accounts that have none, such as accounts created before
+     * checkpoints existed, from their current balance and operation history.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<String> accountIds = balanceCheckpointRepository.findAccountIdsWithoutCheckpoints();
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        log.info("Backfilling balance checkpoints for {} accounts", accountIds.size());
+        for (String accountId : accountIds) {
+            transactionTemplate.executeWithoutResult(status -> backfill(accountId));
+        }
+    }
+
+    /**
+     * Rebuilds the checkpoints of the accounts from their current balance and operation history,
+     * in the caller's transaction, for example once history was imported for them.
+     */
+    public void rebuild(Collection<String> accountIds) {
+        ledgerLanes.enter(accountIds);
+        balanceCheckpointRepository.deleteByBankAccountIds(accountIds);
+        for (String accountId : accountIds) {
+            backfill(accountId);
+        }
+    }
+
+    private void backfill(String accountId) {
+        ledgerLanes.enter(accountId);
+        BankAccount bankAccount = bankAccountRepository.findById(accountId).orElse(null);
+        if (bankAccount == null || balanceCheckpointRepository.existsByBankAccountId(accountId)) {
+            return;
+        }
+
+        // Walks the history backwards from the current balance, stripes included, since the
+        // operation rows include the striped credits too
+        LocalDate today = LocalDate.now(zone);
+        double balance = bankAccount.getBalance();
+        if (bankAccount.getBalanceStripes() > 0) {
+            balance += balanceStripeRepository.sumByBankAccountId(accountId);
+        }
+        NavigableMap<LocalDate, Double> closingBalances = new TreeMap<>();
+        // Only the closing balance of each day is kept, however long the history
+        try (Stream<Object[]> operations = accountOperationRepository.streamAmountsNewestFirst(accountId)) {
+            for (Iterator<Object[]> iterator = operations.iterator(); iterator.hasNext(); ) {
+                Object[] operation = iterator.next();
+                LocalDate day = dayOf((Date) operation[0]);
+                if (!day.isAfter(today)) {
+                    closingBalances.putIfAbsent(today, balance);
+                }
+                closingBalances.putIfAbsent(day, balance);
+                double amount = ((Number) operation[2]).doubleValue();
+                balance -= operation[1] == OperationType.CREDIT ? amount : -amount;
+            }
+        }
+        closingBalances.putIfAbsent(today, balance);
+        if (bankAccount.getCreatedAt() != null) {
+            closingBalances.putIfAbsent(dayOf(bankAccount.getCreatedAt()), balance);
+        }
+        // Striped credits not folded yet stay out of the checkpoints of their day and later,
+        // as the series adds them on top
+        if (bankAccount.getBalanceStripes() > 0) {
+            for (Object[] row : balanceStripeRepository.sumPendingByBankAccountId(accountId)) {
+                double pending = ((Number) row[1]).doubleValue();
+                closingBalances.tailMap((LocalDate) row[0], true)
+                        .replaceAll((day, closingBalance) -> closingBalance - pending);
+            }
+        }
+
+        List<BalanceCheckpoint> balanceCheckpoints = new ArrayList<>(closingBalances.size());
+        closingBalances.forEach((day, closingBalance) ->
+                balanceCheckpoints.add(new BalanceCheckpoint(null, bankAccount, day, closingBalance)));
+        balanceCheckpointRepository.saveAll(balanceCheckpoints);
+    }
+
+    private void addDelta(String accountId, LocalDate day, double delta) {
+        balanceCheckpointRepository.addAfter(accountId, day, delta);
+        if (balanceCheckpointRepository.addOn(accountId, day, delta) == 1) {
+            return;
+        }
+        // First operation of the day: carry the previous closing balance forward
+        Optional<BalanceCheckpoint> previous = balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(accountId, day);
+        if (previous.isEmpty()) {
+            // Not backfilled yet, the backfill will account for this operation
+            return;
+        }
+        balanceCheckpointRepository.save(new BalanceCheckpoint(null, bankAccountRepository.getReferenceById(accountId),
+                day, previous.get().getClosingBalance() + delta));
+    }
+
+    LocalDate dayOf(Date date) {
+        return date.toInstant().atZone(zone).toLocalDate();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.entities.BalanceStripe;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.repositories.BalanceStripeRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Striped balances for high-contention accounts.
+ * <p>
+ * A striped account keeps its balance as the account's own balance plus a set of
+ * {@link BalanceStripe} slots. Credits add to a random slot with an atomic update and never
+ * touch the account row or its ledger lane, so concurrent credits only collide when they
+ * pick the same slot. The account's own balance is still only changed under its ledger
+ * lane; debits fold the slots back into it when it alone cannot cover the amount.
+ * <p>
+ * Striped credits do not touch the balance checkpoints either, which would queue them on the
+ * checkpoint row of the day. The slots only take credits of one day, and their sum goes to
+ * that day's checkpoint when they are folded; the first credit of a new day folds them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceStripes {
+
+    public static final int MAX_STRIPES = 64;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final BalanceCheckpoints balanceCheckpoints;
+
+    private final Set<String> stripedAccountIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void loadStripedAccounts() {
+        stripedAccountIds.addAll(bankAccountRepository.findStripedAccountIds());
+        log.info("Loaded {} accounts with striped balances", stripedAccountIds.size());
+    }
+
+    public boolean isStriped(String accountId) {
+        return stripedAccountIds.contains(accountId);
+    }
+
+    /**
+     * Adds the amount to one of the account's slots. Returns false when the account lost its
+     * slots in the meantime, or when they hold the credits of another day, in which case the
+     * caller must credit the account itself.
+     */
+    public boolean credit(BankAccount bankAccount, double amount, Date operationDate) {
+        int stripe = ThreadLocalRandom.current().nextInt(bankAccount.getBalanceStripes());
+        return balanceStripeRepository.addToStripe(bankAccount.getId(), stripe,
+                balanceCheckpoints.dayOf(operationDate), amount) == 1;
+    }
+
+    /**
+     * Moves everything held in the slots into the account's own balance and into the balance
+     * checkpoint of the day it was credited on. The slots then take the credits of today. The
+     * caller must hold the account's ledger lane.
+     */
+    public void fold(BankAccount bankAccount) {
+        LocalDate today = balanceCheckpoints.dayOf(new Date());
+        double folded = 0;
+        Map<LocalDate, Double> pending = new TreeMap<>();
+        for (BalanceStripe balanceStripe : balanceStripeRepository.findByBankAccountIdForUpdate(bankAccount.getId())) {
+            folded += balanceStripe.getAmount();
+            if (balanceStripe.getCreditDate() != null && balanceStripe.getAmount() != 0) {
+                pending.merge(balanceStripe.getCreditDate(), balanceStripe.getAmount(), Double::sum);
+            }
+            balanceStripe.setAmount(0);
+            balanceStripe.setCreditDate(today);
+        }
+        bankAccount.setBalance(bankAccount.getBalance() + folded);
+        balanceCheckpoints.addDeltas(bankAccount.getId(), pending);
+    }
+
+    public double balanceOf(BankAccount bankAccount) {
+        return balanceOf(bankAccount.getId(), bankAccount.getBalance(), bankAccount.getBalanceStripes());
+    }
+
+    public double balanceOf(String accountId, double balance, int balanceStripes) {
+        if (balanceStripes == 0) {
+            return balance;
+        }
+        return balance + balanceStripeRepository.sumByBankAccountId(accountId);
+    }
+
+    /**
+     * Returns the amount held in slots for every striped account of the list, in one query.
+     */
+    public Map<String, Double> stripedAmounts(Collection<BankAccountView> bankAccounts) {
+        List<String> accountIds = bankAccounts.stream()
+                .filter(bankAccount -> bankAccount.balanceStripes() > 0)
+                .map(BankAccountView::id)
+                .toList();
+        if (accountIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> amounts = new HashMap<>();
+        for (Object[] row : balanceStripeRepository.sumByBankAccountIds(accountIds)) {
+            amounts.put((String) row[0], ((Number) row[1]).doubleValue());
+        }
+        return amounts;
+    }
+
+    /**
+     * Re-stripes the account over the given number of slots (0 disables striping). The caller
+     * must hold the account's ledger lane.
+     */
+    public void configure(BankAccount bankAccount, int stripes) {
+        if (stripes < 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("Balance stripes must be between 0 and " + MAX_STRIPES + ".");
+        }
+        if (bankAccount.getBalanceStripes() > 0) {
+            fold(bankAccount);
+            balanceStripeRepository.flush();
+            balanceStripeRepository.deleteByBankAccountId(bankAccount.getId());
+        }
+
+        LocalDate today = balanceCheckpoints.dayOf(new Date());
+        List<BalanceStripe> balanceStripes = new ArrayList<>(stripes);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            balanceStripes.add(new BalanceStripe(null, bankAccount, stripe, 0, today));
+        }
+        balanceStripeRepository.saveAll(balanceStripes);
+        bankAccount.setBalanceStripes(stripes);
+
+        String accountId = bankAccount.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (stripes > 0) {
+                    stripedAccountIds.add(accountId);
+                } else {
+                    stripedAccountIds.remove(accountId);
+                }
+            }
+        });
+    }
+}
@@ -6,8 +6,11 @@ import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientExceptio
 import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
 import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
 import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.exceptions.TransferNotFoundException;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BankAccountService {
     // Customer operations
@@ -17,22 +20,28 @@ public interface BankAccountService {
     List<CustomerDTO> listCustomers();
     CustomerDTO getCustomer(Long customerId) throws CustomerNotFoundException;
     List<CustomerDTO> searchCustomers(String keyword);
+    List<CustomerDTO> searchCustomers(String keyword, boolean prefix, int limit);
 
     // BankAccount operations
     CurrentBankAccountDTO saveCurrentBankAccount(double initialBalance, double overDraft, Long customerId) throws CustomerNotFoundException;
     SavingBankAccountDTO saveSavingBankAccount(double initialBalance, double interestRate, Long customerId) throws CustomerNotFoundException;
     BankAccountDTO getBankAccount(String accountId) throws BankAccountNotFoundException;
-    List<BankAccountDTO> bankAccountList();
-    List<BankAccountDTO> bankAccountList(boolean includeInactive);
+    BankAccountPageDTO bankAccountPage(BankAccountFilterDTO filter, String cursor, int size);
     List<BankAccountDTO> getAccountsByCustomerId(Long customerId) throws CustomerNotFoundException;
     BankAccountDTO changeAccountStatus(String accountId, AccountStatus status) throws BankAccountNotFoundException;
+    BankAccountDTO configureBalanceStripes(String accountId, int stripes) throws BankAccountNotFoundException;
 
     // Account operations
     void debit(String accountId, double amount, String description) throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException;
     void credit(String accountId, double amount, String description) throws BankAccountNotFoundException, BankAccountActionNotAllowedException;
-    void transfer(String accountIdSource, String accountIdDestination, double amount) throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException;
+    TransferDTO transfer(String accountIdSource, String accountIdDestination, double amount) throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException;
+    TransferDTO getTransfer(String transferId) throws TransferNotFoundException;
+    List<TransferResultDTO> batchTransfer(List<TransferRequestDTO> transfers);
 
     // History
     List<AccountOperationDTO> accountHistory(String accountId) throws BankAccountNotFoundException;
+    void exportAccountHistory(String accountId, Consumer<AccountOperationDTO> sink) throws BankAccountNotFoundException;
     AccountHistoryDTO getAccountHistory(String accountId, int page, int size) throws BankAccountNotFoundException;
+    AccountHistoryCursorDTO getAccountHistory(String accountId, String cursor, int size, boolean includeTotal) throws BankAccountNotFoundException;
+    List<DailyBalanceDTO> getDailyBalances(String accountId, LocalDate from, LocalDate to) throws BankAccountNotFoundException;
 }
\ No newline at end of file
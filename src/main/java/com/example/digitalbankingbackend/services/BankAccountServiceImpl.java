@@ -8,22 +8,35 @@ import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientExceptio
 import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
 import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
 import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.exceptions.TransferNotFoundException;
+import com.example.digitalbankingbackend.journal.AccountOperationJournal;
 import com.example.digitalbankingbackend.mappers.BankAccountMapper;
 import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
 import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountView;
 import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Date;
-import java.util.List;
-import java.util.UUID;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -31,16 +44,37 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BankAccountServiceImpl implements BankAccountService {
 
+    private static final int MAX_BATCH_TRANSFER_SIZE = 10_000;
+    private static final int BATCH_TRANSFER_GROUP_SIZE = 500;
+    // A batch transfer group takes at most one in this many ledger lanes
+    private static final int BATCH_TRANSFER_LANE_SHARE = 8;
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+    private static final int MAX_ACCOUNT_PAGE_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_RESULTS = 20;
+    private static final Set<AccountStatus> ACTIVE_STATUSES =
+            EnumSet.complementOf(EnumSet.of(AccountStatus.SUSPENDED, AccountStatus.CLOSED));
+    private static final Set<AccountStatus> OPERABLE_STATUSES = EnumSet.of(AccountStatus.CREATED, AccountStatus.ACTIVATED);
+
     private final CustomerRepository customerRepository;
     private final BankAccountRepository bankAccountRepository;
     private final AccountOperationRepository accountOperationRepository;
-    private final BankAccountMapper dtoMapper;    @Override
+    private final BankAccountMapper dtoMapper;
+    private final LedgerLanes ledgerLanes;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceStripes balanceStripes;
+    private final BalanceCheckpoints balanceCheckpoints;
+    private final ObjectProvider<AccountOperationJournal> operationJournal;
+    private final EntityManager entityManager;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ReferenceDataCache referenceDataCache;    @Override
     public CustomerDTO saveCustomer(CustomerDTO customerDTO) {
         log.info("Saving new Customer: {}", customerDTO.getName());
         Customer customer = dtoMapper.fromCustomerDTO(customerDTO);
         customer.setCreatedAt(new Date()); // Set creation date for new customers
         Customer savedCustomer = customerRepository.save(customer);
-        return dtoMapper.fromCustomer(savedCustomer);
+        CustomerDTO savedCustomerDTO = dtoMapper.fromCustomer(savedCustomer);
+        customerSearchIndex.put(savedCustomerDTO);
+        return savedCustomerDTO;
     }
 
     @Override
@@ -54,28 +88,27 @@ public class BankAccountServiceImpl implements BankAccountService {
         existingCustomer.setEmail(customerDTO.getEmail());
 
         Customer updatedCustomer = customerRepository.save(existingCustomer);
-        return dtoMapper.fromCustomer(updatedCustomer);
+        CustomerDTO updatedCustomerDTO = dtoMapper.fromCustomer(updatedCustomer);
+        customerSearchIndex.put(updatedCustomerDTO);
+        referenceDataCache.customerChanged(updatedCustomerDTO.getId());
+        return updatedCustomerDTO;
     }    @Override
     public void deleteCustomer(Long customerId) throws CustomerNotFoundException {
         log.warn("Attempting to delete Customer ID: {}", customerId);
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer with ID " + customerId + " not found."));
 
-        List<BankAccount> customerBankAccounts = bankAccountRepository.findByCustomerId(customerId);
-
-        if (customerBankAccounts != null && !customerBankAccounts.isEmpty()) {
-            log.info("Soft deleting {} bank accounts for customer ID: {}", customerBankAccounts.size(), customerId);
-            for (BankAccount account : customerBankAccounts) {
-                account.setStatus(AccountStatus.SUSPENDED);
-                account.setCustomer(null);
-            }
-            bankAccountRepository.saveAllAndFlush(customerBankAccounts);
+        int suspendedAccounts = bankAccountRepository.detachFromCustomer(customerId, AccountStatus.SUSPENDED);
+        if (suspendedAccounts > 0) {
+            log.info("Soft deleted {} bank accounts for customer ID: {}", suspendedAccounts, customerId);
         } else {
             log.info("No bank accounts found for customer ID: {} to soft delete.", customerId);
         }
 
         log.info("Physically deleting customer record for ID: {}", customerId);
         customerRepository.delete(customer);
+        customerSearchIndex.delete(customerId);
+        referenceDataCache.customerDeleted(customerId);
     }
 
     private AccountStatus determineInitialAccountStatus(Customer customer) {
@@ -104,6 +137,8 @@ public class BankAccountServiceImpl implements BankAccountService {
         currentAccount.setStatus(determineInitialAccountStatus(customer));
 
         CurrentAccount savedBankAccount = bankAccountRepository.save(currentAccount);
+        balanceCheckpoints.open(savedBankAccount);
+        referenceDataCache.accountOpened(customerId);
         return dtoMapper.fromCurrentBankAccount(savedBankAccount);
     }
 
@@ -123,46 +158,53 @@ public class BankAccountServiceImpl implements BankAccountService {
         savingAccount.setStatus(determineInitialAccountStatus(customer));
 
         SavingAccount savedBankAccount = bankAccountRepository.save(savingAccount);
+        balanceCheckpoints.open(savedBankAccount);
+        referenceDataCache.accountOpened(customerId);
         return dtoMapper.fromSavingBankAccount(savedBankAccount);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> listCustomers() {
         log.info("Listing all customers");
-        List<Customer> customers = customerRepository.findAll();
-        return customers.stream()
-                .map(dtoMapper::fromCustomer)
-                .collect(Collectors.toList());
+        return customerRepository.findAllDTOs();
     }
 
     @Override
     public List<CustomerDTO> searchCustomers(String keyword) {
-        log.info("Searching customers with keyword: '{}'", keyword);
+        return searchCustomers(keyword, false, DEFAULT_SEARCH_RESULTS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> searchCustomers(String keyword, boolean prefix, int limit) {
+        log.info("Searching customers with keyword: '{}', Prefix: {}, Limit: {}", keyword, prefix, limit);
+        if (limit <= 0 || limit > CustomerSearchIndex.MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + CustomerSearchIndex.MAX_RESULTS + ".");
+        }
         if (keyword == null || keyword.trim().isEmpty()) {
             return listCustomers();
         }
+        if (customerSearchIndex.isReady()) {
+            return customerSearchIndex.search(keyword, prefix, limit);
+        }
+        // The index is still loading: scan the table instead
         List<Customer> customers = customerRepository.searchCustomer(keyword.trim());
         return customers.stream()
+                .limit(limit)
                 .map(dtoMapper::fromCustomer)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BankAccountDTO getBankAccount(String accountId) throws BankAccountNotFoundException {
         log.info("Fetching bank account ID: {}", accountId);
-        BankAccount bankAccount = bankAccountRepository.findById(accountId)
-                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
-
-
-        if (bankAccount instanceof SavingAccount savingAccount) {
-            return dtoMapper.fromSavingBankAccount(savingAccount);
-        } else if (bankAccount instanceof CurrentAccount currentAccount) {
-            return dtoMapper.fromCurrentBankAccount(currentAccount);
-        } else {
-
-            log.error("Unknown BankAccount subtype encountered for ID: {}", accountId);
-            throw new BankAccountNotFoundException("Unknown BankAccount type for ID: " + accountId);
+        List<BankAccountView> bankAccounts = cachedAccountViews(List.of(accountId), referenceDataCache.accounts().stamp());
+        if (bankAccounts.isEmpty()) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + accountId);
         }
+        return toBankAccountDTOs(bankAccounts).get(0);
     }    @Override
     public BankAccountDTO changeAccountStatus(String accountId, AccountStatus status) throws BankAccountNotFoundException {
         log.info("Changing account status for ID: {} to {}", accountId, status);
@@ -176,18 +218,34 @@ public class BankAccountServiceImpl implements BankAccountService {
         
         bankAccount.setStatus(status);
         bankAccountRepository.save(bankAccount);
+        referenceDataCache.accountChanged(accountId);
         
         log.info("Account {} status changed from {} to {}", accountId, oldStatus, status);
         
         // Return the updated account DTO
+        BankAccountDTO bankAccountDTO;
         if (bankAccount instanceof SavingAccount savingAccount) {
-            return dtoMapper.fromSavingBankAccount(savingAccount);
+            bankAccountDTO = dtoMapper.fromSavingBankAccount(savingAccount);
         } else if (bankAccount instanceof CurrentAccount currentAccount) {
-            return dtoMapper.fromCurrentBankAccount(currentAccount);
+            bankAccountDTO = dtoMapper.fromCurrentBankAccount(currentAccount);
         } else {
             log.error("Unknown BankAccount subtype encountered for ID: {}", accountId);
             throw new BankAccountNotFoundException("Unknown BankAccount type for ID: " + accountId);
         }
+        bankAccountDTO.setBalance(balanceStripes.balanceOf(bankAccount));
+        return bankAccountDTO;
+    }
+
+    @Override
+    public BankAccountDTO configureBalanceStripes(String accountId, int stripes) throws BankAccountNotFoundException {
+        log.info("Configuring {} balance stripes for account ID: {}", stripes, accountId);
+        ledgerLanes.enter(accountId);
+        BankAccount bankAccount = bankAccountRepository.findById(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+
+        balanceStripes.configure(bankAccount, stripes);
+        bankAccountRepository.save(bankAccount);
+        return getBankAccount(accountId);
     }
 
     private void checkAccountStatus(BankAccount bankAccount)
@@ -209,22 +267,23 @@ public class BankAccountServiceImpl implements BankAccountService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Debit amount must be positive.");
         }
+        ledgerLanes.enter(accountId);
         BankAccount bankAccount = bankAccountRepository.findById(accountId)
                 .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
 
         checkAccountStatus(bankAccount);
 
+        if (bankAccount.getBalance() < amount && bankAccount.getBalanceStripes() > 0) {
+            balanceStripes.fold(bankAccount);
+        }
         if (bankAccount.getBalance() < amount) {
             throw new BalanceNotSufficientException("Balance not sufficient for debit of " + amount);
         }
 
-        AccountOperation accountOperation = new AccountOperation();
-        accountOperation.setType(OperationType.DEBIT);
-        accountOperation.setAmount(amount);
-        accountOperation.setDescription(description != null ? description : "Debit Operation");
-        accountOperation.setOperationDate(new Date());
-        accountOperation.setBankAccount(bankAccount);
-        accountOperationRepository.save(accountOperation);
+        AccountOperation accountOperation = newOperation(bankAccount, OperationType.DEBIT, amount,
+                description != null ? description : "Debit Operation", new Date());
+        recordOperation(bankAccount, accountOperation);
+        balanceCheckpoints.apply(List.of(accountOperation));
 
         bankAccount.setBalance(bankAccount.getBalance() - amount);
         bankAccountRepository.save(bankAccount);
@@ -236,25 +295,46 @@ public class BankAccountServiceImpl implements BankAccountService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Credit amount must be positive.");
         }
-        BankAccount bankAccount = bankAccountRepository.findById(accountId)
-                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+        Date operationDate = new Date();
+        BankAccount bankAccount;
+        if (balanceStripes.isStriped(accountId)) {
+            bankAccount = bankAccountRepository.findById(accountId)
+                    .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+            checkAccountStatus(bankAccount);
+            // The checkpoint of the day gets the credit when the stripes are folded
+            if (bankAccount.getBalanceStripes() > 0 && balanceStripes.credit(bankAccount, amount, operationDate)) {
+                AccountOperation accountOperation = newOperation(bankAccount, OperationType.CREDIT, amount,
+                        description != null ? description : "Credit Operation", operationDate);
+                accountOperationRepository.save(accountOperation);
+                return;
+            }
+            // Striping was switched off concurrently, or the stripes hold an earlier day's credits
+            // and must be folded first, which takes the lane: credit the account itself instead
+            ledgerLanes.enter(accountId);
+            entityManager.refresh(bankAccount);
+            if (bankAccount.getBalanceStripes() > 0) {
+                balanceStripes.fold(bankAccount);
+            }
+        } else {
+            ledgerLanes.enter(accountId);
+            bankAccount = bankAccountRepository.findById(accountId)
+                    .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+        }
 
         checkAccountStatus(bankAccount);
 
-        AccountOperation accountOperation = new AccountOperation();
-        accountOperation.setType(OperationType.CREDIT);
-        accountOperation.setAmount(amount);
-        accountOperation.setDescription(description != null ? description : "Credit Operation");
-        accountOperation.setOperationDate(new Date());
-        accountOperation.setBankAccount(bankAccount);
-        accountOperationRepository.save(accountOperation);
+        AccountOperation accountOperation = newOperation(bankAccount, OperationType.CREDIT, amount,
+                description != null ? description : "Credit Operation", operationDate);
+        recordOperation(bankAccount, accountOperation);
+        balanceCheckpoints.apply(List.of(accountOperation));
 
         bankAccount.setBalance(bankAccount.getBalance() + amount);
         bankAccountRepository.save(bankAccount);
     }
 
     @Override
-    public void transfer(String accountIdSource, String accountIdDestination, double amount)
+    @Transactional(rollbackFor = Exception.class)
+    public TransferDTO transfer(String accountIdSource, String accountIdDestination, double amount)
             throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException {
         log.info("Transferring {} from {} to {}", amount, accountIdSource, accountIdDestination);
         if (amount <= 0) {
@@ -263,46 +343,378 @@ public class BankAccountServiceImpl implements BankAccountService {
         if (accountIdSource.equals(accountIdDestination)) {
             throw new IllegalArgumentException("Source and destination accounts cannot be the same.");
         }
+        ledgerLanes.enter(accountIdSource, accountIdDestination);
 
+        // Both legs are conditional updates applied in account id order, so concurrent transfers
+        // always take their row locks in the same order and cannot deadlock.
+        if (accountIdSource.compareTo(accountIdDestination) < 0) {
+            applyTransferDebit(accountIdSource, amount);
+            applyTransferCredit(accountIdDestination, amount);
+        } else {
+            applyTransferCredit(accountIdDestination, amount);
+            applyTransferDebit(accountIdSource, amount);
+        }
 
-        debit(accountIdSource, amount, "Transfer to " + accountIdDestination);
-        credit(accountIdDestination, amount, "Transfer from " + accountIdSource);
+        String transferId = UUID.randomUUID().toString();
+        Date operationDate = new Date();
+        AccountOperation debitOperation = newOperation(bankAccountRepository.getReferenceById(accountIdSource),
+                OperationType.DEBIT, amount, "Transfer to " + accountIdDestination, operationDate);
+        AccountOperation creditOperation = newOperation(bankAccountRepository.getReferenceById(accountIdDestination),
+                OperationType.CREDIT, amount, "Transfer from " + accountIdSource, operationDate);
+        debitOperation.setTransferId(transferId);
+        creditOperation.setTransferId(transferId);
+        List<AccountOperation> legs = List.of(debitOperation, creditOperation);
+        accountOperationRepository.saveAll(legs);
+        balanceCheckpoints.apply(legs);
+
+        return new TransferDTO(transferId, accountIdSource, accountIdDestination, amount, operationDate);
+    }
+
+    private void applyTransferDebit(String accountId, double amount)
+            throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        if (bankAccountRepository.debitIfSufficient(accountId, amount, OPERABLE_STATUSES) == 1) {
+            return;
+        }
+        // The conditional update did not apply, load the account to find out why
+        BankAccount bankAccount = bankAccountRepository.findById(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+        checkAccountStatus(bankAccount);
+        if (bankAccount.getBalanceStripes() > 0) {
+            balanceStripes.fold(bankAccount);
+        }
+        if (bankAccount.getBalance() < amount) {
+            throw new BalanceNotSufficientException("Balance not sufficient for debit of " + amount);
+        }
+        bankAccount.setBalance(bankAccount.getBalance() - amount);
+    }
+
+    private void applyTransferCredit(String accountId, double amount)
+            throws BankAccountNotFoundException, BankAccountActionNotAllowedException {
+        if (bankAccountRepository.creditIfAllowed(accountId, amount, OPERABLE_STATUSES) == 1) {
+            return;
+        }
+        BankAccount bankAccount = bankAccountRepository.findById(accountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
+        checkAccountStatus(bankAccount);
     }
 
     @Override
-    public List<BankAccountDTO> bankAccountList() {
-        return bankAccountList(false);
+    public TransferDTO getTransfer(String transferId) throws TransferNotFoundException {
+        log.info("Fetching transfer ID: {}", transferId);
+        AccountOperation debitLeg = null;
+        AccountOperation creditLeg = null;
+        for (AccountOperation accountOperation : accountOperationRepository.findByTransferId(transferId)) {
+            if (accountOperation.getType() == OperationType.DEBIT) {
+                debitLeg = accountOperation;
+            } else {
+                creditLeg = accountOperation;
+            }
+        }
+        if (debitLeg == null || creditLeg == null) {
+            throw new TransferNotFoundException("Transfer not found with ID: " + transferId);
+        }
+        return new TransferDTO(transferId, debitLeg.getBankAccount().getId(), creditLeg.getBankAccount().getId(),
+                debitLeg.getAmount(), debitLeg.getOperationDate());
     }
 
     @Override
-    public List<BankAccountDTO> bankAccountList(boolean includeInactive) {
-        log.info("Listing {} bank accounts", includeInactive ? "ALL (including inactive/closed)" : "ACTIVE only");
-
-        List<BankAccount> bankAccounts = bankAccountRepository.findAll();
-
-        return bankAccounts.stream()
-                .filter(account -> includeInactive ||
-                        (account.getStatus() != AccountStatus.SUSPENDED && account.getStatus() != AccountStatus.CLOSED))
-                .map(bankAccount -> {
-                    if (bankAccount instanceof SavingAccount sa) {
-                        return dtoMapper.fromSavingBankAccount(sa);
-                    } else if (bankAccount instanceof CurrentAccount ca) {
-                        return dtoMapper.fromCurrentBankAccount(ca);
-                    }
-
-                    log.warn("Encountered an unexpected BankAccount subtype during list mapping: {}", bankAccount.getClass().getName());
-                    return null;
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TransferResultDTO> batchTransfer(List<TransferRequestDTO> transfers) {
+        log.info("Processing batch of {} transfers", transfers.size());
+        if (transfers.size() > MAX_BATCH_TRANSFER_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_TRANSFER_SIZE + " transfers.");
+        }
+
+        // Each group is applied and committed in its own transaction, so one group costs
+        // a single account lookup and one flush of all its operations and balance updates.
+        // A group holds the ledger lanes of its accounts until it commits, so it is cut once it
+        // spans a few lanes: the rest of the ledger keeps running while a batch is applied.
+        int maxGroupLanes = Math.max(2, ledgerLanes.laneCount() / BATCH_TRANSFER_LANE_SHARE);
+        List<TransferResultDTO> results = new ArrayList<>(transfers.size());
+        int start = 0;
+        while (start < transfers.size()) {
+            int groupStart = start;
+            int end = transferGroupEnd(transfers, start, maxGroupLanes);
+            List<TransferRequestDTO> group = transfers.subList(start, end);
+            results.addAll(transactionTemplate.execute(status -> applyTransferGroup(group, groupStart)));
+            start = end;
+        }
+
+        long failed = results.stream().filter(result -> !result.success()).count();
+        log.info("Batch transfer completed: {} succeeded, {} failed", results.size() - failed, failed);
+        return results;
+    }
+
+    /**
+     * Returns the end of the group starting at {@code start}: at most
+     * {@link #BATCH_TRANSFER_GROUP_SIZE} transfers whose accounts fall in at most
+     * {@code maxLanes} ledger lanes, and always at least one transfer.
+     */
+    private int transferGroupEnd(List<TransferRequestDTO> transfers, int start, int maxLanes) {
+        Set<Integer> lanes = new HashSet<>();
+        int end = start;
+        while (end < transfers.size() && end - start < BATCH_TRANSFER_GROUP_SIZE) {
+            TransferRequestDTO transfer = transfers.get(end);
+            Set<Integer> transferLanes = new HashSet<>(2);
+            if (transfer.accountSource() != null) transferLanes.add(ledgerLanes.laneOf(transfer.accountSource()));
+            if (transfer.accountDestination() != null) transferLanes.add(ledgerLanes.laneOf(transfer.accountDestination()));
+            transferLanes.removeAll(lanes);
+            if (end > start && lanes.size() + transferLanes.size() > maxLanes) {
+                break;
+            }
+            lanes.addAll(transferLanes);
+            end++;
+        }
+        return end;
+    }
+
+    private List<TransferResultDTO> applyTransferGroup(List<TransferRequestDTO> group, int groupStart) {
+        Set<String> accountIds = new HashSet<>();
+        for (TransferRequestDTO transfer : group) {
+            if (transfer.accountSource() != null) accountIds.add(transfer.accountSource());
+            if (transfer.accountDestination() != null) accountIds.add(transfer.accountDestination());
+        }
+        ledgerLanes.enter(accountIds);
+        Map<String, BankAccount> accounts = bankAccountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+
+        Date operationDate = new Date();
+        List<AccountOperation> operations = new ArrayList<>(group.size() * 2);
+        List<TransferResultDTO> results = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            TransferRequestDTO transfer = group.get(i);
+            String failure = null;
+            try {
+                applyTransferLegs(transfer, accounts, operationDate, operations);
+            } catch (BankAccountNotFoundException | BalanceNotSufficientException
+                     | BankAccountActionNotAllowedException | IllegalArgumentException e) {
+                failure = e.getMessage();
+            }
+            results.add(new TransferResultDTO(groupStart + i, transfer.accountSource(), transfer.accountDestination(),
+                    transfer.amount(), failure == null, failure == null ? "Transfer completed" : failure));
+        }
+
+        accountOperationRepository.saveAll(operations);
+        balanceCheckpoints.apply(operations);
+        return results;
+    }
+
+    private void applyTransferLegs(TransferRequestDTO transfer, Map<String, BankAccount> accounts,
+                                   Date operationDate, List<AccountOperation> operations)
+            throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException {
+        String sourceId = transfer.accountSource();
+        String destinationId = transfer.accountDestination();
+        double amount = transfer.amount();
+        if (sourceId == null || destinationId == null) {
+            throw new IllegalArgumentException("Source and destination accounts are required.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        if (sourceId.equals(destinationId)) {
+            throw new IllegalArgumentException("Source and destination accounts cannot be the same.");
+        }
+
+        BankAccount source = accounts.get(sourceId);
+        if (source == null) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + sourceId);
+        }
+        BankAccount destination = accounts.get(destinationId);
+        if (destination == null) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + destinationId);
+        }
+        checkAccountStatus(source);
+        checkAccountStatus(destination);
+        if (source.getBalance() < amount && source.getBalanceStripes() > 0) {
+            balanceStripes.fold(source);
+        }
+        if (source.getBalance() < amount) {
+            throw new BalanceNotSufficientException("Balance not sufficient for debit of " + amount);
+        }
+
+        source.setBalance(source.getBalance() - amount);
+        destination.setBalance(destination.getBalance() + amount);
+        String transferId = UUID.randomUUID().toString();
+        AccountOperation debitOperation = newOperation(source, OperationType.DEBIT, amount, "Transfer to " + destinationId, operationDate);
+        AccountOperation creditOperation = newOperation(destination, OperationType.CREDIT, amount, "Transfer from " + sourceId, operationDate);
+        debitOperation.setTransferId(transferId);
+        creditOperation.setTransferId(transferId);
+        operations.add(debitOperation);
+        operations.add(creditOperation);
+    }
+
+    private AccountOperation newOperation(BankAccount bankAccount, OperationType type, double amount,
+                                          String description, Date operationDate) {
+        AccountOperation accountOperation = new AccountOperation();
+        accountOperation.setType(type);
+        accountOperation.setAmount(amount);
+        accountOperation.setDescription(description);
+        accountOperation.setOperationDate(operationDate);
+        accountOperation.setBankAccount(bankAccount);
+        return accountOperation;
+    }
+
+    /**
+     * Journals the operation when the journal is enabled, otherwise inserts it. The caller
+     * must hold the account's ledger lane.
+     */
+    private void recordOperation(BankAccount bankAccount, AccountOperation accountOperation) {
+        AccountOperationJournal journal = operationJournal.getIfAvailable();
+        if (journal != null) {
+            journal.record(bankAccount, accountOperation);
+        } else {
+            accountOperationRepository.save(accountOperation);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BankAccountPageDTO bankAccountPage(BankAccountFilterDTO filter, String cursor, int size) {
+        log.info("Listing bank accounts with {} after cursor {}, Size: {}", filter, cursor, size);
+        if (size <= 0 || size > MAX_ACCOUNT_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_ACCOUNT_PAGE_SIZE + ".");
+        }
+        if (filter.getType() != null && !filter.getType().equals("CA") && !filter.getType().equals("SA")) {
+            throw new IllegalArgumentException("Account type must be CA or SA.");
+        }
+        Set<AccountStatus> statuses = filter.getStatus() != null ? EnumSet.of(filter.getStatus())
+                : filter.isIncludeInactive() ? null : ACTIVE_STATUSES;
+
+        // One extra row tells whether there is a next page, without counting
+        List<BankAccountView> bankAccounts;
+        if (cursor == null || cursor.isEmpty()) {
+            bankAccounts = bankAccountRepository.findViewPage(filter, statuses, null, null, size + 1);
+        } else {
+            AccountCursor accountCursor = AccountCursor.decode(cursor);
+            bankAccounts = bankAccountRepository.findViewPage(filter, statuses,
+                    Timestamp.from(accountCursor.createdAt()), accountCursor.id(), size + 1);
+        }
+
+        String nextCursor = null;
+        if (bankAccounts.size() > size) {
+            bankAccounts = bankAccounts.subList(0, size);
+            BankAccountView last = bankAccounts.get(size - 1);
+            nextCursor = new AccountCursor(last.createdAt().toInstant(), last.id()).encode();
+        }
+
+        BankAccountPageDTO bankAccountPageDTO = new BankAccountPageDTO();
+        bankAccountPageDTO.setPageSize(size);
+        bankAccountPageDTO.setBankAccountDTOS(toBankAccountDTOs(bankAccounts));
+        bankAccountPageDTO.setNextCursor(nextCursor);
+        return bankAccountPageDTO;
+    }
+
+    /**
+     * Position of the last account of a list page, encoded as an opaque URL-safe token. The
+     * opening date keeps its nanoseconds so that accounts opened within a millisecond are not
+     * skipped.
+     */
+    private record AccountCursor(Instant createdAt, String id) {
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString((createdAt.getEpochSecond() + ":"
+                    + createdAt.getNano() + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AccountCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+                return new AccountCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), parts[2]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+                throw new IllegalArgumentException("Invalid account cursor.");
+            }
+        }
+    }
+
+    // Views are selected without loading entities, so the read-only transaction holds no snapshots
+    private List<BankAccountDTO> toBankAccountDTOs(List<BankAccountView> bankAccounts) {
+        Map<String, Double> stripedAmounts = balanceStripes.stripedAmounts(bankAccounts);
+        List<BankAccountDTO> bankAccountDTOS = new ArrayList<>(bankAccounts.size());
+        for (BankAccountView bankAccount : bankAccounts) {
+            BankAccountDTO bankAccountDTO = dtoMapper.fromBankAccountView(bankAccount);
+            bankAccountDTO.setBalance(bankAccount.balance() + stripedAmounts.getOrDefault(bankAccount.id(), 0.0));
+            bankAccountDTOS.add(bankAccountDTO);
+        }
+        return bankAccountDTOS;
     }
 
     @Override
     public CustomerDTO getCustomer(Long customerId) throws CustomerNotFoundException {
         log.info("Fetching customer ID: {}", customerId);
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
-        return dtoMapper.fromCustomer(customer);
+        CustomerDTO customerDTO = cachedCustomer(customerId);
+        if (customerDTO == null) {
+            throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
+        }
+        return copyOf(customerDTO);
+    }
+
+    // Cached DTOs are shared: callers get copies
+    private static CustomerDTO copyOf(CustomerDTO customerDTO) {
+        return new CustomerDTO(customerDTO.getId(), customerDTO.getName(), customerDTO.getEmail(), customerDTO.getCreatedAt());
+    }
+
+    private CustomerDTO cachedCustomer(Long customerId) {
+        BoundedCache<Long, CustomerDTO> customers = referenceDataCache.customers();
+        CustomerDTO customerDTO = customers.get(customerId);
+        if (customerDTO == null) {
+            long stamp = customers.stamp();
+            customerDTO = customerRepository.findById(customerId).map(dtoMapper::fromCustomer).orElse(null);
+            if (customerDTO != null) {
+                customers.put(customerId, customerDTO, stamp);
+            }
+        }
+        return customerDTO;
+    }
+
+    /**
+     * Views of the given accounts, in the given order, from their cached metadata and customers
+     * and their current balances. Metadata missing from the cache is loaded in one query and
+     * cached unless it was invalidated after {@code accountsStamp}; accounts that do not exist
+     * are left out.
+     */
+    private List<BankAccountView> cachedAccountViews(List<String> accountIds, long accountsStamp) {
+        BoundedCache<String, ReferenceDataCache.AccountMetadata> accounts = referenceDataCache.accounts();
+        Map<String, ReferenceDataCache.AccountMetadata> metadata = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String accountId : accountIds) {
+            ReferenceDataCache.AccountMetadata accountMetadata = accounts.get(accountId);
+            if (accountMetadata != null) {
+                metadata.put(accountId, accountMetadata);
+            } else {
+                missing.add(accountId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (BankAccount bankAccount : bankAccountRepository.findByIdIn(missing)) {
+                ReferenceDataCache.AccountMetadata accountMetadata = ReferenceDataCache.AccountMetadata.of(bankAccount);
+                metadata.put(bankAccount.getId(), accountMetadata);
+                accounts.put(bankAccount.getId(), accountMetadata, accountsStamp);
+            }
+        }
+        if (metadata.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Object[]> balances = new HashMap<>();
+        for (Object[] row : bankAccountRepository.findBalances(metadata.keySet())) {
+            balances.put((String) row[0], row);
+        }
+        Map<Long, CustomerDTO> customers = new HashMap<>();
+        List<BankAccountView> bankAccounts = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            ReferenceDataCache.AccountMetadata accountMetadata = metadata.get(accountId);
+            Object[] balance = balances.get(accountId);
+            if (accountMetadata == null || balance == null) {
+                continue;
+            }
+            CustomerDTO customerDTO = accountMetadata.customerId() == null ? null
+                    : customers.computeIfAbsent(accountMetadata.customerId(), this::cachedCustomer);
+            bankAccounts.add(new BankAccountView(accountId, accountMetadata.type(), ((Number) balance[1]).doubleValue(),
+                    accountMetadata.createdAt(), accountMetadata.status(), ((Number) balance[2]).intValue(),
+                    accountMetadata.overDraft(), accountMetadata.interestRate(),
+                    customerDTO != null ? customerDTO.getId() : null, customerDTO != null ? customerDTO.getName() : null,
+                    customerDTO != null ? customerDTO.getEmail() : null, customerDTO != null ? customerDTO.getCreatedAt() : null));
+        }
+        return bankAccounts;
     }
 
     @Override
@@ -321,23 +733,35 @@ public class BankAccountServiceImpl implements BankAccountService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void exportAccountHistory(String accountId, Consumer<AccountOperationDTO> sink) throws BankAccountNotFoundException {
+        log.info("Exporting operation history for account ID: {}", accountId);
+        if (!bankAccountRepository.existsById(accountId)) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + accountId + " for history export.");
+        }
+        // Each row is mapped, handed over and evicted before the next one is read
+        try (Stream<AccountOperation> accountOperations = accountOperationRepository.streamByBankAccountId(accountId)) {
+            accountOperations.forEach(accountOperation -> {
+                sink.accept(dtoMapper.fromAccountOperation(accountOperation));
+                entityManager.detach(accountOperation);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public AccountHistoryDTO getAccountHistory(String accountId, int page, int size) throws BankAccountNotFoundException {
         log.info("Fetching paginated history for account ID: {}, Page: {}, Size: {}", accountId, page, size);
-        BankAccount bankAccount = bankAccountRepository.findById(accountId)
-                .orElseThrow(() -> new BankAccountNotFoundException("BankAccount not found with ID: " + accountId));
-
+        double balance = historyBalance(accountId);
 
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "operationDate"));
-        Page<AccountOperation> accountOperationsPage = accountOperationRepository.findByBankAccountId(accountId, pageRequest);
-
-        List<AccountOperationDTO> accountOperationDTOS = accountOperationsPage.getContent().stream()
-                .map(dtoMapper::fromAccountOperation)
-                .collect(Collectors.toList());
+        Page<AccountOperationDTO> accountOperationsPage = accountOperationRepository.findDTOsByBankAccountId(accountId, pageRequest);
+        List<AccountOperationDTO> accountOperationDTOS = accountOperationsPage.getContent();
 
         AccountHistoryDTO accountHistoryDTO = new AccountHistoryDTO();
         accountHistoryDTO.setAccountOperationDTOS(accountOperationDTOS);
-        accountHistoryDTO.setAccountId(bankAccount.getId());
-        accountHistoryDTO.setBalance(bankAccount.getBalance());
+        accountHistoryDTO.setAccountId(accountId);
+        accountHistoryDTO.setBalance(balance);
         accountHistoryDTO.setCurrentPage(accountOperationsPage.getNumber());
         accountHistoryDTO.setPageSize(accountOperationsPage.getSize());
         accountHistoryDTO.setTotalPages(accountOperationsPage.getTotalPages());
@@ -346,31 +770,112 @@ public class BankAccountServiceImpl implements BankAccountService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public AccountHistoryCursorDTO getAccountHistory(String accountId, String cursor, int size, boolean includeTotal)
+            throws BankAccountNotFoundException {
+        log.info("Fetching history for account ID: {} after cursor {}, Size: {}", accountId, cursor, size);
+        if (size <= 0 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ".");
+        }
+        double balance = historyBalance(accountId);
+
+        // One extra row tells whether there is a next page, without counting
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<AccountOperationDTO> accountOperations;
+        if (cursor == null || cursor.isEmpty()) {
+            accountOperations = accountOperationRepository.findFirstPage(accountId, limit);
+        } else {
+            HistoryCursor historyCursor = HistoryCursor.decode(cursor);
+            accountOperations = accountOperationRepository.findPageAfter(accountId,
+                    new Date(historyCursor.operationDate()), historyCursor.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (accountOperations.size() > size) {
+            accountOperations = accountOperations.subList(0, size);
+            AccountOperationDTO last = accountOperations.get(size - 1);
+            nextCursor = new HistoryCursor(last.getOperationDate().getTime(), last.getId()).encode();
+        }
+
+        AccountHistoryCursorDTO accountHistoryCursorDTO = new AccountHistoryCursorDTO();
+        accountHistoryCursorDTO.setAccountId(accountId);
+        accountHistoryCursorDTO.setBalance(balance);
+        accountHistoryCursorDTO.setPageSize(size);
+        accountHistoryCursorDTO.setAccountOperationDTOS(accountOperations);
+        accountHistoryCursorDTO.setNextCursor(nextCursor);
+        if (includeTotal) {
+            accountHistoryCursorDTO.setTotalElements(accountOperationRepository.countByBankAccountId(accountId));
+        }
+        return accountHistoryCursorDTO;
+    }
+
+    /**
+     * The balance shown with a history page, read as a projection: loading the account would
+     * also load its customer. An account without a row does not exist.
+     */
+    private double historyBalance(String accountId) throws BankAccountNotFoundException {
+        List<Object[]> rows = bankAccountRepository.findBalances(List.of(accountId));
+        if (rows.isEmpty()) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + accountId);
+        }
+        return balanceStripes.balanceOf(accountId, ((Number) rows.get(0)[1]).doubleValue(),
+                ((Number) rows.get(0)[2]).intValue());
+    }
+
+    /**
+     * Position of the last operation of a history page, encoded as an opaque URL-safe token.
+     */
+    private record HistoryCursor(long operationDate, long id) {
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((operationDate + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                return new HistoryCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid history cursor.");
+            }
+        }
+    }
+
+    @Override
+    public List<DailyBalanceDTO> getDailyBalances(String accountId, LocalDate from, LocalDate to) throws BankAccountNotFoundException {
+        log.info("Fetching daily balances for account ID: {} from {} to {}", accountId, from, to);
+        if (!bankAccountRepository.existsById(accountId)) {
+            throw new BankAccountNotFoundException("BankAccount not found with ID: " + accountId);
+        }
+        return balanceCheckpoints.series(accountId, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<BankAccountDTO> getAccountsByCustomerId(Long customerId) throws CustomerNotFoundException {
         log.info("Fetching bank accounts for customer ID: {}", customerId);
-        
+        // Stamps are taken before the first read, so nothing older than it is cached
+        BoundedCache<Long, List<String>> customerAccountIds = referenceDataCache.customerAccountIds();
+        long accountIdsStamp = customerAccountIds.stamp();
+        long accountsStamp = referenceDataCache.accounts().stamp();
+
         // Check if customer exists
-        if (!customerRepository.existsById(customerId)) {
+        if (cachedCustomer(customerId) == null) {
             throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
         }
-        
+
         // Get accounts for this customer
-        List<BankAccount> accounts = bankAccountRepository.findByCustomerId(customerId);
-        
+        List<String> accountIds = customerAccountIds.get(customerId);
+        if (accountIds == null) {
+            accountIds = List.copyOf(bankAccountRepository.findIdsByCustomerId(customerId));
+            customerAccountIds.put(customerId, accountIds, accountIdsStamp);
+        }
+        if (accountIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
         // Convert to DTOs and return
-        return accounts.stream()
-            .map(bankAccount -> {
-                if (bankAccount instanceof SavingAccount sa) {
-                    return dtoMapper.fromSavingBankAccount(sa);
-                } else if (bankAccount instanceof CurrentAccount ca) {
-                    return dtoMapper.fromCurrentBankAccount(ca);
-                }
-                
-                log.warn("Encountered an unexpected BankAccount subtype: {}", bankAccount.getClass().getName());
-                return null;
-            })
-            .filter(java.util.Objects::nonNull)
-            .collect(Collectors.toList());
+        return toBankAccountDTOs(cachedAccountViews(accountIds, accountsStamp));
     }
 
     private void validateStatusTransition(AccountStatus fromStatus, AccountStatus toStatus) {
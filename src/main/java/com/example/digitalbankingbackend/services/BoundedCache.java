@@ -0,0 +1,103 @@
+package com.example.digitalbankingbackend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A size-bounded, least recently used map whose entries also expire after a fixed time. Hits,
+ * misses, evictions and the size are published under Micrometer's cache meter names
+ * ({@code cache.gets}, {@code cache.evictions}, {@code cache.size}) tagged with the cache name.
+ * <p>
+ * A value loaded from the database may already be out of date when it is stored, if the row
+ * was changed and invalidated meanwhile. Callers therefore take a {@link #stamp()} before
+ * loading and hand it to {@link #put}, which drops the value when any invalidation happened
+ * since.
+ */
+public class BoundedCache<K, V> {
+
+    private record Cached<V>(V value, long expiresAt) {}
+
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Cached<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long invalidations;
+
+    public BoundedCache(String name, int maxSize, long ttlMs, MeterRegistry registry) {
+        if (maxSize <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be positive.");
+        }
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Cache lookups that found a value").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Cache lookups that found no value").register(registry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+                .description("Entries dropped for size or age").register(registry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Cached<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("cache.size", this, BoundedCache::size).tag("cache", name)
+                .description("Entries in the cache").register(registry);
+    }
+
+    public synchronized V get(K key) {
+        Cached<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    /**
+     * Stores a value loaded after {@code stamp} was taken, unless an invalidation came in between.
+     */
+    public synchronized void put(K key, V value, long stamp) {
+        if (stamp == invalidations) {
+            entries.put(key, new Cached<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<V> stale) {
+        invalidations++;
+        for (Iterator<Cached<V>> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (stale.test(iterator.next().value())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over customer names and emails.
+ * <p>
+ * Names and emails are lower-cased and stripped of accents, then every three-character
+ * window of them is a key of an inverted index whose postings are sorted arrays of customer
+ * slots. Each word also adds two grams marked as word starts, so that a word prefix of one or
+ * two characters is a lookup too. A search intersects the postings of the query's grams,
+ * shortest first, checks the few survivors against the text and keeps the best ranked ones.
+ * <p>
+ * A removed or re-indexed customer only leaves its old slot empty, and searches skip empty
+ * slots, so a write never rewrites the postings of common grams under the write lock. Once
+ * a quarter of the slots are empty, and at least {@value #COMPACT_MIN_REMOVED}, they are
+ * dropped and the remaining slots renumbered in one pass over the postings.
+ * <p>
+ * The index is loaded once the application is ready and follows the customer writes after
+ * they commit. Until it is loaded, {@link #isReady()} is false and callers search the database.
+ */
+@Component
+@Slf4j
+public class CustomerSearchIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    // Marks the grams at the start of a word; never part of normalized text
+    private static final char WORD_START = '\u0001';
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int COMPACT_MIN_REMOVED = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    // Slot to entry, null once the customer is removed or re-indexed under a new slot
+    private final List<Entry> entries = new ArrayList<>();
+    // Null slots still listed in the postings
+    private int removed;
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private record Entry(CustomerDTO customer, String name, String email) {}
+
+    private record Match(Entry entry, int rank) {}
+
+    // Best first: rank, then shorter names, then older customers
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(match -> match.entry().name().length())
+            .thenComparingLong(match -> match.entry().customer().getId());
+
+    /**
+     * Sorted slots of the customers holding one gram. Slots are handed out in increasing
+     * order, so adding a customer only ever appends; removed slots stay until a compaction.
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void append(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        // Renumbers the slots, dropping the removed ones (-1); the order is kept
+        boolean compact(int[] moved) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = moved[slots[i]];
+                if (slot >= 0) {
+                    slots[kept++] = slot;
+                }
+            }
+            size = kept;
+            if (slots.length > 4 && size < slots.length / 4) {
+                slots = Arrays.copyOf(slots, Math.max(4, size * 2));
+            }
+            return size == 0;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            slots.clear();
+            entries.clear();
+            removed = 0;
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("select id, name, email, created_at from customer order by id");
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, resultSet -> {
+                add(new CustomerDTO(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getTimestamp(4)));
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} customers for search in {} ms", slots.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Indexes a new or changed customer once the current transaction commits, or right away
+     * outside of one.
+     */
+    public void put(CustomerDTO customer) {
+        CustomerDTO copy = new CustomerDTO(customer.getId(), customer.getName(), customer.getEmail(), customer.getCreatedAt());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(copy.getId());
+                add(copy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void putAll(Collection<CustomerDTO> customers) {
+        lock.writeLock().lock();
+        try {
+            for (CustomerDTO customer : customers) {
+                remove(customer.getId());
+                add(customer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted customer once the current transaction commits, or right away outside of one.
+     */
+    public void delete(Long customerId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(customerId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} customers whose name or email contains the query, best first:
+     * name prefix, then name word prefix, then anywhere in the name, then the email. With
+     * {@code prefix} set, every word of the query must instead start a word of the name or
+     * email, as a type-ahead does. Queries shorter than three characters are always matched as
+     * prefixes.
+     */
+    public List<CustomerDTO> search(String query, boolean prefix, int limit) {
+        String text = normalize(query).strip();
+        if (text.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String[] words = text.split("\\s+");
+        boolean wordPrefixes = prefix || text.length() < 3;
+
+        Set<Long> grams = new HashSet<>();
+        if (wordPrefixes) {
+            for (String word : words) {
+                addWordGrams(word, grams, true);
+            }
+        } else {
+            addGrams(text, grams);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            for (int slot : intersect(lists)) {
+                Entry entry = entries.get(slot);
+                if (entry == null) {
+                    continue;
+                }
+                int rank = wordPrefixes ? rankWordPrefixes(entry, words) : rankContains(entry, text);
+                if (rank < 0) {
+                    continue;
+                }
+                best.add(new Match(entry, rank));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(BEST_FIRST);
+            List<CustomerDTO> customers = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                CustomerDTO customer = match.entry().customer();
+                customers.add(new CustomerDTO(customer.getId(), customer.getName(), customer.getEmail(), customer.getCreatedAt()));
+            }
+            return customers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+
+    private void add(CustomerDTO customer) {
+        Entry entry = new Entry(customer, normalize(customer.getName()), normalize(customer.getEmail()));
+        int slot = entries.size();
+        entries.add(entry);
+        slots.put(customer.getId(), slot);
+        for (long gram : gramsOf(entry)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).append(slot);
+        }
+    }
+
+    private void remove(Long customerId) {
+        Integer slot = slots.remove(customerId);
+        if (slot == null) {
+            return;
+        }
+        entries.set(slot, null);
+        removed++;
+        if (removed >= COMPACT_MIN_REMOVED && removed * 4L > entries.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        long start = System.nanoTime();
+        int[] moved = new int[entries.size()];
+        int live = 0;
+        for (int slot = 0; slot < moved.length; slot++) {
+            Entry entry = entries.get(slot);
+            moved[slot] = entry == null ? -1 : live;
+            if (entry != null) {
+                entries.set(live++, entry);
+            }
+        }
+        entries.subList(live, entries.size()).clear();
+        slots.replaceAll((customerId, slot) -> moved[slot]);
+        postings.values().removeIf(list -> list.compact(moved));
+        log.debug("Compacted {} removed customer slots in {} ms", removed, (System.nanoTime() - start) / 1_000_000);
+        removed = 0;
+    }
+
+    private static Set<Long> gramsOf(Entry entry) {
+        Set<Long> grams = new HashSet<>();
+        for (String field : new String[]{entry.name(), entry.email()}) {
+            addGrams(field, grams);
+            for (String word : field.split("[^\\p{L}\\p{N}]+")) {
+                addWordGrams(word, grams, false);
+            }
+        }
+        return grams;
+    }
+
+    private static void addGrams(String text, Set<Long> grams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+        }
+    }
+
+    // The two word-start grams, plus the word's own trigrams for a query word
+    private static void addWordGrams(String word, Set<Long> grams, boolean query) {
+        if (word.isEmpty()) {
+            return;
+        }
+        grams.add(gram(WORD_START, WORD_START, word.charAt(0)));
+        if (word.length() > 1) {
+            grams.add(gram(WORD_START, word.charAt(0), word.charAt(1)));
+        }
+        if (query) {
+            addGrams(word, grams);
+        }
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static int[] intersect(List<Postings> lists) {
+        Postings shortest = lists.get(0);
+        int[] result = Arrays.copyOf(shortest.slots, shortest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            Postings list = lists.get(i);
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < size; j++) {
+                int index = Arrays.binarySearch(list.slots, from, list.size, result[j]);
+                if (index >= 0) {
+                    result[kept++] = result[j];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int rankContains(Entry entry, String text) {
+        int index = entry.name().indexOf(text);
+        if (index == 0) {
+            return 0;
+        }
+        if (index > 0) {
+            return startsWord(entry.name(), text) ? 1 : 2;
+        }
+        if (entry.email().startsWith(text)) {
+            return 3;
+        }
+        return entry.email().contains(text) ? 4 : -1;
+    }
+
+    private static int rankWordPrefixes(Entry entry, String[] words) {
+        boolean allInName = true;
+        for (String word : words) {
+            if (!startsWord(entry.name(), word)) {
+                allInName = false;
+                if (!startsWord(entry.email(), word)) {
+                    return -1;
+                }
+            }
+        }
+        if (!allInName) {
+            return 3;
+        }
+        return entry.name().startsWith(words[0]) ? 0 : 1;
+    }
+
+    private static boolean startsWord(String text, String word) {
+        for (int index = text.indexOf(word); index >= 0; index = text.indexOf(word, index + 1)) {
+            if (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.entities.IdempotencyRecord;
+import com.example.digitalbankingbackend.repositories.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Remembers the responses of completed money movements by idempotency key.
+ * <p>
+ * Completed responses live in a bounded in-memory cache with TTL eviction, backed by the
+ * {@code idempotency_keys} table so they survive restarts and cache evictions. A response is
+ * stored in the transaction of the operation that produced it, so the operation and its record
+ * commit together or not at all. Requests that are still running are tracked in memory: a
+ * retry that arrives meanwhile waits for the first request's response instead of running the
+ * operation again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    /**
+     * @param requestHash SHA-256 of the request body the response answers, null for the
+     *                    records stored before it was kept
+     */
+    public record StoredResponse(int status, String contentType, byte[] body, String requestHash) {}
+
+    private record CachedResponse(StoredResponse response, Instant expiresAt) {}
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final long ttlMs;
+    private final long waitTimeoutMs;
+    private final Map<String, CachedResponse> completed;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${app.idempotency.ttl-ms:86400000}") long ttlMs,
+                              @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttlMs = ttlMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the stored response for the key, waiting for it if another request holding the
+     * same key is still running. Returns {@code null} when the caller now owns the key and must
+     * run the operation, then report it through {@link #record} or {@link #release}.
+     */
+    public StoredResponse awaitOrClaim(String key) throws TimeoutException, InterruptedException {
+        while (true) {
+            StoredResponse cached = cachedResponse(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, claim);
+            if (running == null) {
+                Optional<StoredResponse> stored = storedResponse(key);
+                if (stored.isPresent()) {
+                    remember(key, stored.get(), Instant.now().plusMillis(ttlMs));
+                    inFlight.remove(key, claim);
+                    claim.complete(stored.get());
+                    return stored.get();
+                }
+                return null;
+            }
+
+            try {
+                StoredResponse response = running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+                if (response != null) {
+                    return response;
+                }
+                // The first request failed without a result to replay, so try to claim the key again
+            } catch (ExecutionException e) {
+                log.warn("Idempotent request failed while a retry was waiting: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores the response in the caller's transaction, the one that ran the operation. Once that
+     * transaction completes, requests waiting on the key get the response if it committed, or
+     * claim the key again if it rolled back. Fails when the key was stored meanwhile by another
+     * instance, whose operation is then the one that counts.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String key, StoredResponse response) {
+        Instant expiresAt = Instant.now().plusMillis(ttlMs);
+        String body = new String(response.body(), StandardCharsets.UTF_8);
+        idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(key, response.requestHash(),
+                response.status(), response.contentType(), body, expiresAt));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(key);
+                    return;
+                }
+                remember(key, response, expiresAt);
+                CompletableFuture<StoredResponse> claim = inFlight.remove(key);
+                if (claim != null) {
+                    claim.complete(response);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gives the key up without storing a response, so that a retry runs the operation again.
+     */
+    public void release(String key) {
+        CompletableFuture<StoredResponse> claim = inFlight.remove(key);
+        if (claim != null) {
+            claim.complete(null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResponse cachedResponse(String key) {
+        CachedResponse cached = completed.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt().isBefore(Instant.now())) {
+            completed.remove(key);
+            return null;
+        }
+        return cached.response();
+    }
+
+    private Optional<StoredResponse> storedResponse(String key) {
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(Instant.now()))
+                .map(record -> new StoredResponse(record.getStatus(), record.getContentType(),
+                        record.getBody() == null ? new byte[0] : record.getBody().getBytes(StandardCharsets.UTF_8),
+                        record.getRequestHash()));
+    }
+
+    private void remember(String key, StoredResponse response, Instant expiresAt) {
+        completed.put(key, new CachedResponse(response, expiresAt));
+    }
+}
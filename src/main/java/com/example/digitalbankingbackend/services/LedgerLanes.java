@@ -0,0 +1,76 @@
+package com.example.digitalbankingbackend.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped single-writer lanes for money movements.
+ * <p>
+ * Every account id hashes onto one of a fixed set of lanes. A transaction that moves money
+ * enters the lanes of the accounts it touches and keeps them until it commits or rolls back,
+ * so operations on one account never interleave their read-modify-write while operations on
+ * accounts in different lanes run fully in parallel. Lanes are always taken in ascending
+ * lane order, which keeps multi-account operations (transfers, batches) deadlock free.
+ */
+@Component
+@Slf4j
+public class LedgerLanes {
+
+    private final ReentrantLock[] lanes;
+
+    public LedgerLanes(@Value("${app.ledger.lanes:64}") int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Ledger lane count must be positive.");
+        }
+        this.lanes = new ReentrantLock[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ReentrantLock();
+        }
+        log.info("Ledger initialised with {} lanes", laneCount);
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneOf(String accountId) {
+        return Math.floorMod(accountId.hashCode(), lanes.length);
+    }
+
+    /**
+     * Enters the lanes of the given accounts for the rest of the current transaction.
+     */
+    public void enter(String... accountIds) {
+        enter(Arrays.asList(accountIds));
+    }
+
+    public void enter(Collection<String> accountIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger lanes can only be entered inside a transaction");
+        }
+        int[] laneIndexes = accountIds.stream()
+                .mapToInt(this::laneOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        for (int laneIndex : laneIndexes) {
+            lanes[laneIndex].lock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = laneIndexes.length - 1; i >= 0; i--) {
+                    lanes[laneIndexes[i]].unlock();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.SavingAccount;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Caches of the data that is read far more often than it changes: customers, account metadata
+ * and the ids of each customer's accounts. Balances are not part of it and are always read
+ * from the database.
+ * <p>
+ * Writers invalidate the entries they change both right away and once their transaction
+ * commits, so that a reader that loaded the old row in between cannot leave it cached.
+ */
+@Component
+public class ReferenceDataCache {
+
+    /**
+     * An account without its balance. The customer is kept by id and looked up in the customer
+     * cache, so that a customer update does not have to reach the accounts.
+     */
+    public record AccountMetadata(String id, String type, Date createdAt, AccountStatus status,
+                                  double overDraft, double interestRate, Long customerId) {
+
+        public static AccountMetadata of(BankAccount bankAccount) {
+            Long customerId = bankAccount.getCustomer() != null ? bankAccount.getCustomer().getId() : null;
+            if (bankAccount instanceof SavingAccount savingAccount) {
+                return new AccountMetadata(bankAccount.getId(), "SAVING", bankAccount.getCreatedAt(),
+                        bankAccount.getStatus(), 0, savingAccount.getInterestRate(), customerId);
+            }
+            return new AccountMetadata(bankAccount.getId(), "CURRENT", bankAccount.getCreatedAt(),
+                    bankAccount.getStatus(), ((CurrentAccount) bankAccount).getOverDraft(), 0, customerId);
+        }
+    }
+
+    private final BoundedCache<Long, CustomerDTO> customers;
+    private final BoundedCache<String, AccountMetadata> accounts;
+    private final BoundedCache<Long, List<String>> customerAccountIds;
+
+    public ReferenceDataCache(MeterRegistry registry,
+                              @Value("${app.cache.size:10000}") int size,
+                              @Value("${app.cache.ttl-ms:300000}") long ttlMs) {
+        this.customers = new BoundedCache<>("customers", size, ttlMs, registry);
+        this.accounts = new BoundedCache<>("accounts", size, ttlMs, registry);
+        this.customerAccountIds = new BoundedCache<>("customerAccountIds", size, ttlMs, registry);
+    }
+
+    public BoundedCache<Long, CustomerDTO> customers() {
+        return customers;
+    }
+
+    public BoundedCache<String, AccountMetadata> accounts() {
+        return accounts;
+    }
+
+    public BoundedCache<Long, List<String>> customerAccountIds() {
+        return customerAccountIds;
+    }
+
+    public void customerChanged(Long customerId) {
+        invalidate(() -> customers.invalidate(customerId));
+    }
+
+    /**
+     * A deleted customer's accounts are detached from it, so their metadata goes too.
+     */
+    public void customerDeleted(Long customerId) {
+        invalidate(() -> {
+            customers.invalidate(customerId);
+            customerAccountIds.invalidate(customerId);
+            accounts.invalidateIf(account -> Objects.equals(account.customerId(), customerId));
+        });
+    }
+
+    public void accountChanged(String accountId) {
+        invalidate(() -> accounts.invalidate(accountId));
+    }
+
+    public void accountOpened(Long customerId) {
+        invalidate(() -> customerAccountIds.invalidate(customerId));
+    }
+
+    private static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.digitalbankingbackend.services;
 
 import com.example.digitalbankingbackend.entities.User;
+import com.example.digitalbankingbackend.enums.Role;
 import com.example.digitalbankingbackend.repositories.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 
 @Service
 @AllArgsConstructor
@@ -22,15 +22,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
     
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
         
-        // Update last login
-        user.setLastLogin(new Date());
-        userRepository.save(user);
-        
         return UserPrincipal.create(user);
     }
     
@@ -77,6 +73,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             );
         }
         
+        /**
+         * A principal from signed token claims, without the user's row: no email or password,
+         * and the account flags are checked separately.
+         */
+        public static UserPrincipal create(Long id, String username, Role role) {
+            return new UserPrincipal(
+                id,
+                username,
+                null,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())),
+                true,
+                true,
+                true,
+                true
+            );
+        }
+        
         // Getters
         public Long getId() { return id; }
         public String getEmail() { return email; }
@@ -0,0 +1,198 @@
+package com.example.digitalbankingbackend.statements;
+
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.SavingAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BalanceCheckpointRepository;
+import com.example.digitalbankingbackend.repositories.BalanceStripeRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the statements of one chunk of accounts to a gzipped NDJSON file, one statement per line.
+ * <p>
+ * A chunk costs four queries whatever its size: the account headers, the closing balance of
+ * every account from its balance checkpoints, the striped credits of the period not folded into
+ * them yet, and one range query streaming the operations of all the chunk's accounts over the
+ * period, grouped by account. Only one statement is open at a
+ * time, so memory does not depend on the number of operations. The opening balance is the
+ * closing balance minus the period's movements, which is why it is written after them.
+ * <p>
+ * The file is written under a temporary name and moved into place once complete, so a chunk
+ * file that exists is always whole.
+ */
+@Component
+public class StatementChunkWriter {
+
+    public record ChunkResult(int accounts, long operations) {}
+
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountOperationRepository accountOperationRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public StatementChunkWriter(BankAccountRepository bankAccountRepository,
+                                AccountOperationRepository accountOperationRepository,
+                                BalanceCheckpointRepository balanceCheckpointRepository,
+                                BalanceStripeRepository balanceStripeRepository) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountOperationRepository = accountOperationRepository;
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.balanceStripeRepository = balanceStripeRepository;
+    }
+
+    /**
+     * Writes the statements of the accounts for the period {@code [from, to)}, whose last day is
+     * {@code lastDay}. Must run inside a (read-only) transaction, which the operation stream needs.
+     */
+    public ChunkResult write(List<String> accountIds, Date from, Date to, LocalDate lastDay, Path file) {
+        Map<String, Object[]> headers = new HashMap<>();
+        for (Object[] header : bankAccountRepository.findStatementHeaders(accountIds)) {
+            headers.put((String) header[0], header);
+        }
+        Map<String, Double> closingBalances = new HashMap<>();
+        for (Object[] row : balanceCheckpointRepository.findClosingBalances(accountIds, lastDay)) {
+            closingBalances.put((String) row[0], (Double) row[1]);
+        }
+        for (Object[] row : balanceStripeRepository.sumPendingByBankAccountIds(accountIds, lastDay)) {
+            closingBalances.merge((String) row[0], ((Number) row[1]).doubleValue(), Double::sum);
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long operations = 0;
+        try (OutputStream outputStream = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)), 65536);
+             JsonGenerator generator = jsonFactory.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            String periodStart = from.toInstant().toString();
+            String periodEnd = to.toInstant().toString();
+
+            Set<String> written = new HashSet<>();
+            Statement statement = null;
+            try (Stream<Object[]> lines = accountOperationRepository.streamStatementLines(accountIds, from, to)) {
+                for (Iterator<Object[]> iterator = lines.iterator(); iterator.hasNext(); ) {
+                    Object[] line = iterator.next();
+                    String accountId = (String) line[0];
+                    if (statement == null || !statement.accountId.equals(accountId)) {
+                        if (statement != null) {
+                            statement.close(generator);
+                        }
+                        statement = new Statement(accountId, closingBalances.getOrDefault(accountId, 0.0));
+                        statement.open(generator, headers.get(accountId), periodStart, periodEnd);
+                        written.add(accountId);
+                    }
+                    statement.writeOperation(generator, line);
+                    operations++;
+                }
+            }
+            if (statement != null) {
+                statement.close(generator);
+            }
+
+            // Accounts without operations in the period still get their statement
+            for (String accountId : accountIds) {
+                if (!written.contains(accountId) && headers.containsKey(accountId)) {
+                    Statement empty = new Statement(accountId, closingBalances.getOrDefault(accountId, 0.0));
+                    empty.open(generator, headers.get(accountId), periodStart, periodEnd);
+                    empty.close(generator);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write statement chunk " + file, e);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot move statement chunk into place: " + file, e);
+        }
+        return new ChunkResult(headers.size(), operations);
+    }
+
+    private static String typeOf(Object type) {
+        if (type instanceof String discriminator) {
+            return discriminator;
+        }
+        if (type == CurrentAccount.class) {
+            return "CA";
+        }
+        if (type == SavingAccount.class) {
+            return "SA";
+        }
+        return null;
+    }
+
+    /**
+     * The statement being written, accumulating the period's movements.
+     */
+    private static final class Statement {
+        final String accountId;
+        final double closingBalance;
+        double credits;
+        double debits;
+
+        Statement(String accountId, double closingBalance) {
+            this.accountId = accountId;
+            this.closingBalance = closingBalance;
+        }
+
+        void open(JsonGenerator generator, Object[] header, String periodStart, String periodEnd) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("accountId", accountId);
+            generator.writeStringField("type", header != null ? typeOf(header[1]) : null);
+            if (header != null && header[2] != null) {
+                generator.writeNumberField("customerId", ((Number) header[2]).longValue());
+                generator.writeStringField("customerName", (String) header[3]);
+            }
+            generator.writeStringField("periodStart", periodStart);
+            generator.writeStringField("periodEnd", periodEnd);
+            generator.writeArrayFieldStart("operations");
+        }
+
+        void writeOperation(JsonGenerator generator, Object[] line) throws IOException {
+            double amount = (Double) line[3];
+            OperationType type = (OperationType) line[4];
+            if (type == OperationType.CREDIT) {
+                credits += amount;
+            } else {
+                debits += amount;
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("id", (Long) line[1]);
+            generator.writeStringField("operationDate", Instant.ofEpochMilli(((Date) line[2]).getTime()).toString());
+            generator.writeNumberField("amount", amount);
+            generator.writeStringField("type", type.name());
+            generator.writeStringField("description", (String) line[5]);
+            if (line[6] != null) {
+                generator.writeStringField("transferId", (String) line[6]);
+            }
+            generator.writeEndObject();
+        }
+
+        void close(JsonGenerator generator) throws IOException {
+            generator.writeEndArray();
+            generator.writeNumberField("totalCredits", credits);
+            generator.writeNumberField("totalDebits", debits);
+            generator.writeNumberField("openingBalance", closingBalance - credits + debits);
+            generator.writeNumberField("closingBalance", closingBalance);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.digitalbankingbackend.statements;
+
+import com.example.digitalbankingbackend.dtos.StatementRunDTO;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Month-end statement generation.
+ * <p>
+ * The accounts opened before the end of the period are walked in id order and cut into chunks
+ * of {@code app.statements.chunk-size} accounts. Each chunk is handed to a pool of
+ * {@code app.statements.workers} threads, which writes its statements to
+ * {@code <directory>/<yyyy-MM>/statements-<chunk>.ndjson.gz} (see {@link StatementChunkWriter}).
+ * At most two chunks per worker are queued, so the walk never runs far ahead of the writers.
+ * <p>
+ * Chunk files are the checkpoint: a file only appears once its chunk is complete, and a run
+ * skips the chunks whose file already exists. The first run of a period records the chunk size
+ * and the last account id of every chunk in its {@code run.properties}, and a chunk is the id
+ * range up to its last account. A resumed run reads the same ranges, so its chunks line up with
+ * the files a crashed run left even when accounts opened before the period end were inserted
+ * meanwhile, for example by an import: such an account goes to the chunk of its id range if
+ * that chunk is not written yet, and is missing from the run otherwise.
+ * <p>
+ * Each run reports its throughput in accounts per second and the peak heap used while it ran.
+ */
+@Component
+@Slf4j
+public class StatementEngine {
+
+    private static final String RUN_FILE = "run.properties";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final StatementChunkWriter chunkWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int workers;
+    private final int chunkSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Runs are started one at a time, in the background
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> new Thread(task, "statement-run"));
+    private final Map<YearMonth, Progress> runs = new ConcurrentHashMap<>();
+
+    public StatementEngine(BankAccountRepository bankAccountRepository,
+                           StatementChunkWriter chunkWriter,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.statements.directory:statements}") String directory,
+                           @Value("${app.statements.workers:4}") int workers,
+                           @Value("${app.statements.chunk-size:1000}") int chunkSize) {
+        if (workers <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Statement workers and chunk size must be positive.");
+        }
+        this.bankAccountRepository = bankAccountRepository;
+        this.chunkWriter = chunkWriter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Path.of(directory);
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Generates last month's statements, when {@code app.statements.cron} is set.
+     */
+    @Scheduled(cron = "${app.statements.cron:-}")
+    public void runPreviousMonth() {
+        start(YearMonth.now(zone).minusMonths(1));
+    }
+
+    /**
+     * Starts, or resumes, the statement run of the period in the background. Returns the state
+     * of the run already in progress if there is one.
+     */
+    public StatementRunDTO start(YearMonth period) {
+        checkPeriod(period);
+        Progress progress = new Progress(period);
+        Progress running = runs.compute(period, (key, current) ->
+                current != null && current.status.equals("RUNNING") ? current : progress);
+        if (running == progress) {
+            runner.execute(() -> execute(progress));
+        }
+        return running.snapshot();
+    }
+
+    public Optional<StatementRunDTO> status(YearMonth period) {
+        return Optional.ofNullable(runs.get(period)).map(Progress::snapshot);
+    }
+
+    /**
+     * Runs, or resumes, the statement run of the period in the calling thread.
+     */
+    public StatementRunDTO run(YearMonth period) {
+        checkPeriod(period);
+        Progress progress = new Progress(period);
+        runs.put(period, progress);
+        execute(progress);
+        return progress.snapshot();
+    }
+
+    @PreDestroy
+    void close() {
+        runner.shutdownNow();
+    }
+
+    private void checkPeriod(YearMonth period) {
+        if (!period.isBefore(YearMonth.now(zone))) {
+            throw new IllegalArgumentException("Statements can only be generated for a month that has ended.");
+        }
+    }
+
+    private void execute(Progress progress) {
+        YearMonth period = progress.period;
+        log.info("Generating statements for {}", period);
+        resetPeakHeap();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+            private final AtomicInteger threads = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable task) {
+                return new Thread(task, "statement-worker-" + threads.incrementAndGet());
+            }
+        });
+        try {
+            Path periodDirectory = directory.resolve(period.toString());
+            Files.createDirectories(periodDirectory);
+
+            Date from = Date.from(period.atDay(1).atStartOfDay(zone).toInstant());
+            Date to = Date.from(period.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+            LocalDate lastDay = period.atEndOfMonth();
+            List<String> lastAccountIds = chunkBoundaries(periodDirectory, to);
+
+            Semaphore queued = new Semaphore(workers * 2);
+            AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            // Stops queueing chunks as soon as one has failed
+            for (int chunk = 0; chunk < lastAccountIds.size() && failure.get() == null; chunk++) {
+                progress.chunks.incrementAndGet();
+                Path file = periodDirectory.resolve(String.format("statements-%06d.ndjson.gz", chunk));
+                if (Files.exists(file)) {
+                    progress.skippedChunks.incrementAndGet();
+                    continue;
+                }
+                String after = chunk == 0 ? "" : lastAccountIds.get(chunk - 1);
+                String last = lastAccountIds.get(chunk);
+                List<String> accountIds = readOnlyTransaction.execute(status ->
+                        bankAccountRepository.findIdsOpenedBetween(after, last, to));
+                if (accountIds.isEmpty()) {
+                    continue;
+                }
+                queued.acquire();
+                pool.execute(() -> {
+                    try {
+                        StatementChunkWriter.ChunkResult result = readOnlyTransaction.execute(status ->
+                                chunkWriter.write(accountIds, from, to, lastDay, file));
+                        progress.accounts.addAndGet(result.accounts());
+                        progress.operations.addAndGet(result.operations());
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        queued.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            progress.finish("COMPLETED", null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish("FAILED", "Interrupted");
+        } catch (RuntimeException | IOException e) {
+            log.error("Statement run for {} failed, it will resume from its last complete chunk", period, e);
+            progress.finish("FAILED", e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+        StatementRunDTO result = progress.snapshot();
+        log.info("Statements for {} {}: {} accounts and {} operations in {} chunks ({} already done) in {} ms, " +
+                        "{} accounts/s, peak heap {} MB", period, result.status(), result.accounts(), result.operations(),
+                result.chunks(), result.skippedChunks(), result.elapsedMs(), Math.round(result.accountsPerSecond()),
+                result.peakHeapBytes() / (1024 * 1024));
+    }
+
+    /**
+     * The last account id of each chunk of the period: read from its run file, or cut on the
+     * first run and recorded there before any chunk is written.
+     */
+    private List<String> chunkBoundaries(Path periodDirectory, Date to) throws IOException {
+        Path runFile = periodDirectory.resolve(RUN_FILE);
+        Properties properties = new Properties();
+        List<String> lastAccountIds = new ArrayList<>();
+        if (Files.exists(runFile)) {
+            try (InputStream inputStream = Files.newInputStream(runFile)) {
+                properties.load(inputStream);
+            }
+            int chunks = Integer.parseInt(properties.getProperty("chunks"));
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                lastAccountIds.add(properties.getProperty(String.format("chunk.%06d.last-account", chunk)));
+            }
+            return lastAccountIds;
+        }
+
+        String after = "";
+        while (true) {
+            String start = after;
+            List<String> accountIds = readOnlyTransaction.execute(status ->
+                    bankAccountRepository.findIdsOpenedBefore(start, to, PageRequest.ofSize(chunkSize)));
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            after = accountIds.get(accountIds.size() - 1);
+            lastAccountIds.add(after);
+        }
+        properties.setProperty("chunk-size", Integer.toString(chunkSize));
+        properties.setProperty("chunks", Integer.toString(lastAccountIds.size()));
+        for (int chunk = 0; chunk < lastAccountIds.size(); chunk++) {
+            properties.setProperty(String.format("chunk.%06d.last-account", chunk), lastAccountIds.get(chunk));
+        }
+        // Moved into place once complete, so that a crash while cutting leaves no partial run file
+        Path temporary = runFile.resolveSibling(RUN_FILE + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+            properties.store(outputStream, "Statement run parameters, kept so that a resumed run cuts the same chunks");
+        }
+        Files.move(temporary, runFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return lastAccountIds;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static final class Progress {
+        final YearMonth period;
+        final long startedAt = System.nanoTime();
+        final AtomicLong chunks = new AtomicLong();
+        final AtomicLong skippedChunks = new AtomicLong();
+        final AtomicLong accounts = new AtomicLong();
+        final AtomicLong operations = new AtomicLong();
+        volatile String status = "RUNNING";
+        volatile String message;
+        volatile long elapsedMs = -1;
+        volatile long peakHeapBytes;
+
+        Progress(YearMonth period) {
+            this.period = period;
+        }
+
+        void finish(String status, String message) {
+            this.elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            this.peakHeapBytes = peakHeap();
+            this.message = message;
+            this.status = status;
+        }
+
+        StatementRunDTO snapshot() {
+            boolean finished = elapsedMs >= 0;
+            long elapsed = finished ? elapsedMs : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            long written = accounts.get();
+            return new StatementRunDTO(period.toString(), status, chunks.get(), skippedChunks.get(), written,
+                    operations.get(), elapsed, elapsed > 0 ? written * 1000.0 / elapsed : 0,
+                    finished ? peakHeapBytes : peakHeap(), message);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.digitalbankingbackend.web;
 
 import com.example.digitalbankingbackend.dtos.auth.*;
+import com.example.digitalbankingbackend.security.AuthTokenFilter;
 import com.example.digitalbankingbackend.services.AuthService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -43,8 +44,10 @@ public class AuthController {
         }
     }
       @PostMapping("/logout")
-    public ResponseEntity<MessageResponseDTO> logoutUser() {
+    public ResponseEntity<MessageResponseDTO> logoutUser(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
         log.info("User logout request");
+        authService.logout(AuthTokenFilter.parseJwt(authorization));
         return ResponseEntity.ok(new MessageResponseDTO("User logged out successfully!"));
     }
     
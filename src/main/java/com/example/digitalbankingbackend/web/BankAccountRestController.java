@@ -6,14 +6,23 @@ import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientExceptio
 import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
 import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
 import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import com.example.digitalbankingbackend.exceptions.TransferNotFoundException;
 import com.example.digitalbankingbackend.services.BankAccountService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,7 +32,11 @@ import java.util.List;
 @CrossOrigin("*")
 public class BankAccountRestController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final int STREAM_FLUSH_ROWS = 500;
+
     private final BankAccountService bankAccountService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{accountId}")
     public ResponseEntity<BankAccountDTO> getBankAccount(@PathVariable String accountId) throws BankAccountNotFoundException {
@@ -32,12 +45,14 @@ public class BankAccountRestController {
         return ResponseEntity.ok(bankAccount);
     }
 
+    // Filters are bound from the query string: includeInactive, status, type, customerId, minBalance, maxBalance
     @GetMapping
-    public ResponseEntity<List<BankAccountDTO>> listBankAccounts(
-            @RequestParam(name = "includeInactive", defaultValue = "false") boolean includeInactive) {
-        log.info("REST request to list bank accounts. Include Inactive: {}", includeInactive);
-        List<BankAccountDTO> accounts = bankAccountService.bankAccountList(includeInactive);
-        return ResponseEntity.ok(accounts);
+    public ResponseEntity<BankAccountPageDTO> listBankAccounts(
+            BankAccountFilterDTO filter,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        log.info("REST request to list bank accounts. Filter: {}, Cursor: {}, Size: {}", filter, cursor, size);
+        return ResponseEntity.ok(bankAccountService.bankAccountPage(filter, cursor, size));
     }
 
     @PostMapping("/current")
@@ -69,6 +84,35 @@ public class BankAccountRestController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping(value = "/{accountId}/history/stream", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAccountHistory(@PathVariable String accountId) throws BankAccountNotFoundException {
+        log.info("REST request to stream operation history for account ID: {}", accountId);
+        // Checked up front, the status cannot change once streaming has started
+        bankAccountService.getBankAccount(accountId);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Rows are newline-terminated instead of space-separated
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                bankAccountService.exportAccountHistory(accountId, accountOperationDTO -> {
+                    try {
+                        objectMapper.writeValue(generator, accountOperationDTO);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (BankAccountNotFoundException e) {
+                log.warn("Account {} disappeared while its history was being streamed", accountId);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)).body(body);
+    }
+
     @GetMapping("/{accountId}/pageHistory")
     public ResponseEntity<AccountHistoryDTO> getAccountPaginatedHistory(
             @PathVariable String accountId,
@@ -79,6 +123,28 @@ public class BankAccountRestController {
         return ResponseEntity.ok(paginatedHistory);
     }
 
+    @GetMapping("/{accountId}/cursorHistory")
+    public ResponseEntity<AccountHistoryCursorDTO> getAccountCursorHistory(
+            @PathVariable String accountId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) throws BankAccountNotFoundException {
+        log.info("REST request for cursor history. Account: {}, Cursor: {}, Size: {}", accountId, cursor, size);
+        return ResponseEntity.ok(bankAccountService.getAccountHistory(accountId, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/{accountId}/balances")
+    public ResponseEntity<List<DailyBalanceDTO>> getDailyBalances(
+            @PathVariable String accountId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to)
+            throws BankAccountNotFoundException {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        log.info("REST request for daily balances. Account: {}, From: {}, To: {}", accountId, start, end);
+        return ResponseEntity.ok(bankAccountService.getDailyBalances(accountId, start, end));
+    }
+
     @PostMapping("/debit")
     public ResponseEntity<Void> debitAccount(@Valid @RequestBody DebitRequestDTO debitRequestDTO)
             throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException {
@@ -102,14 +168,28 @@ public class BankAccountRestController {
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<Void> transferFunds(@Valid @RequestBody TransferRequestDTO transferRequestDTO)
+    public ResponseEntity<TransferDTO> transferFunds(@Valid @RequestBody TransferRequestDTO transferRequestDTO)
             throws BankAccountNotFoundException, BalanceNotSufficientException, BankAccountActionNotAllowedException {
         log.info("REST request to transfer from {} to {}", transferRequestDTO.accountSource(), transferRequestDTO.accountDestination());
-        bankAccountService.transfer(
+        TransferDTO transfer = bankAccountService.transfer(
                 transferRequestDTO.accountSource(),
                 transferRequestDTO.accountDestination(),
                 transferRequestDTO.amount());
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(transfer);
+    }
+
+    @GetMapping("/transfers/{transferId}")
+    public ResponseEntity<TransferDTO> getTransfer(@PathVariable String transferId) throws TransferNotFoundException {
+        log.info("REST request to get transfer by ID: {}", transferId);
+        TransferDTO transfer = bankAccountService.getTransfer(transferId);
+        return ResponseEntity.ok(transfer);
+    }
+
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<List<TransferResultDTO>> batchTransferFunds(@RequestBody List<TransferRequestDTO> transferRequestDTOs) {
+        log.info("REST request to process a batch of {} transfers", transferRequestDTOs.size());
+        List<TransferResultDTO> results = bankAccountService.batchTransfer(transferRequestDTOs);
+        return ResponseEntity.ok(results);
     }
 
     @PutMapping("/{accountId}/status")
@@ -120,4 +200,13 @@ public class BankAccountRestController {
         BankAccountDTO updatedAccount = bankAccountService.changeAccountStatus(accountId, status);
         return ResponseEntity.ok(updatedAccount);
     }
+
+    @PutMapping("/{accountId}/stripes")
+    public ResponseEntity<BankAccountDTO> configureBalanceStripes(
+            @PathVariable String accountId,
+            @RequestParam int stripes) throws BankAccountNotFoundException {
+        log.info("REST request to stripe the balance of account {} over {} slots", accountId, stripes);
+        BankAccountDTO updatedAccount = bankAccountService.configureBalanceStripes(accountId, stripes);
+        return ResponseEntity.ok(updatedAccount);
+    }
 }
\ No newline at end of file
@@ -36,10 +36,17 @@ public class CustomerRestController {
         return ResponseEntity.ok(customer);
     }
 
+    // mode=prefix matches word prefixes, for type-ahead; the default matches anywhere in the name or email
     @GetMapping("/search")
-    public ResponseEntity<List<CustomerDTO>> searchCustomers(@RequestParam(name = "keyword", defaultValue = "") String keyword) {
-        log.info("REST request to search customers with keyword: '{}'", keyword);
-        List<CustomerDTO> customers = bankAccountService.searchCustomers(keyword);
+    public ResponseEntity<List<CustomerDTO>> searchCustomers(
+            @RequestParam(name = "keyword", defaultValue = "") String keyword,
+            @RequestParam(name = "mode", defaultValue = "contains") String mode,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        log.info("REST request to search customers with keyword: '{}', Mode: {}, Limit: {}", keyword, mode, limit);
+        if (!mode.equals("contains") && !mode.equals("prefix")) {
+            throw new IllegalArgumentException("Search mode must be contains or prefix.");
+        }
+        List<CustomerDTO> customers = bankAccountService.searchCustomers(keyword, mode.equals("prefix"), limit);
         return ResponseEntity.ok(customers);
     }
 
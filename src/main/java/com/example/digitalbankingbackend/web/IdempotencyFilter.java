@@ -0,0 +1,233 @@
+package com.example.digitalbankingbackend.web;
+
+import com.example.digitalbankingbackend.services.IdempotencyService;
+import com.example.digitalbankingbackend.services.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the money-movement endpoints safe to retry when the client sends an
+ * {@code Idempotency-Key} header: a completed request is answered from the stored response
+ * without running the operation again. A key is bound to the body of the request that first
+ * used it; reusing it for another body is refused with 422.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/v1/accounts/debit",
+            "/api/v1/accounts/credit",
+            "/api/v1/accounts/transfer"
+    );
+
+    private final IdempotencyService idempotencyService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getServletPath())
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = scopedKey(request);
+        byte[] requestBody = StreamUtils.copyToByteArray(request.getInputStream());
+        String requestHash = sha256(requestBody);
+
+        StoredResponse storedResponse = awaitOrClaim(key, request, response);
+        if (storedResponse != null) {
+            replay(request, response, storedResponse, requestHash);
+            return;
+        }
+        if (response.isCommitted()) {
+            return;
+        }
+
+        // The operation joins this transaction and its response is stored in it, so the money
+        // movement and its idempotency record commit together or not at all
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        TransactionStatus transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, requestBody), responseWrapper);
+            if (HttpStatus.valueOf(responseWrapper.getStatus()).is2xxSuccessful()) {
+                idempotencyService.record(key, new StoredResponse(responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), requestHash));
+                recorded = true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            rollback(transaction, key);
+            // Another instance stored the key first: answer with its response
+            storedResponse = awaitOrClaim(key, request, response);
+            if (response.isCommitted()) {
+                return;
+            }
+            if (storedResponse == null) {
+                idempotencyService.release(key);
+                throw e;
+            }
+            replay(request, response, storedResponse, requestHash);
+            return;
+        } catch (ServletException | IOException | RuntimeException e) {
+            rollback(transaction, key);
+            throw e;
+        }
+
+        if (recorded) {
+            // A failed commit rolls the operation back, releases the key and sends no response
+            transactionManager.commit(transaction);
+        } else {
+            rollback(transaction, key);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Returns the stored response to replay, or null when this request now owns the key, or
+     * when it gave up waiting, in which case the response is already sent.
+     */
+    private StoredResponse awaitOrClaim(String key, HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            return idempotencyService.awaitOrClaim(key);
+        } catch (TimeoutException e) {
+            log.warn("Request with idempotency key {} is still in progress", request.getHeader(IDEMPOTENCY_KEY_HEADER));
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this Idempotency-Key is still in progress");
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse storedResponse,
+                        String requestHash) throws IOException {
+        if (storedResponse.requestHash() != null && !storedResponse.requestHash().equals(requestHash)) {
+            log.warn("Idempotency key {} reused with a different request", request.getHeader(IDEMPOTENCY_KEY_HEADER));
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "This Idempotency-Key was already used with a different request");
+            return;
+        }
+        log.info("Replaying stored response for idempotency key {}", request.getHeader(IDEMPOTENCY_KEY_HEADER));
+        response.setStatus(storedResponse.status());
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (storedResponse.contentType() != null) {
+            response.setContentType(storedResponse.contentType());
+        }
+        response.getOutputStream().write(storedResponse.body());
+    }
+
+    private void rollback(TransactionStatus transaction, String key) {
+        if (!transaction.isCompleted()) {
+            transactionManager.rollback(transaction);
+        }
+        idempotencyService.release(key);
+    }
+
+    private String scopedKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null ? authentication.getName() : "";
+        String scope = caller + "\n" + request.getServletPath() + "\n" + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return sha256(scope.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The request with its body read up front, to hash it, and served again to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("The body is already read");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
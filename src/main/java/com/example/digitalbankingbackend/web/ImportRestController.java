@@ -0,0 +1,39 @@
+package com.example.digitalbankingbackend.web;
+
+import com.example.digitalbankingbackend.dtos.ImportResultDTO;
+import com.example.digitalbankingbackend.imports.BulkImporter;
+import com.example.digitalbankingbackend.imports.ImportKind;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@AllArgsConstructor
+@Slf4j
+@CrossOrigin("*")
+public class ImportRestController {
+
+    private final BulkImporter bulkImporter;
+
+    /**
+     * Imports the CSV file sent as the request body, read as it arrives. The body may be gzipped
+     * ({@code Content-Encoding: gzip}).
+     */
+    @PostMapping(value = "/{kind}", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<ImportResultDTO> importRows(@PathVariable String kind, HttpServletRequest request) throws IOException {
+        ImportKind importKind = ImportKind.of(kind);
+        log.info("REST request to import {}", importKind);
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+            body = new GZIPInputStream(body, 65536);
+        }
+        return ResponseEntity.ok(bulkImporter.importCsv(importKind, body));
+    }
+}
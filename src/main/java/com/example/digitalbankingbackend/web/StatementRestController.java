@@ -0,0 +1,38 @@
+package com.example.digitalbankingbackend.web;
+
+import com.example.digitalbankingbackend.dtos.StatementRunDTO;
+import com.example.digitalbankingbackend.statements.StatementEngine;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/statements")
+@AllArgsConstructor
+@Slf4j
+@CrossOrigin("*")
+public class StatementRestController {
+
+    private final StatementEngine statementEngine;
+
+    @PostMapping("/{period}")
+    public ResponseEntity<StatementRunDTO> startStatementRun(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        log.info("REST request to generate statements for {}", period);
+        return new ResponseEntity<>(statementEngine.start(period), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{period}")
+    public ResponseEntity<StatementRunDTO> getStatementRun(
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        log.info("REST request to get the statement run for {}", period);
+        return statementEngine.status(period)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
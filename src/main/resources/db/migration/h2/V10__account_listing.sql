@@ -0,0 +1,6 @@
+-- The account list pages by (created_at, id): every account needs an opening date for its
+-- position to be stable.
+update bank_account set created_at = current_timestamp where created_at is null;
+alter table bank_account alter column created_at set not null;
+
+create index idx_bank_account_created on bank_account (created_at, id);
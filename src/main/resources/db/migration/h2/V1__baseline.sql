@@ -0,0 +1,62 @@
+-- Baseline schema, as generated from the original entity model by ddl-auto=update before
+-- migrations were introduced. Existing databases are baselined at this version, and the
+-- later migrations bring them to the current model.
+
+create table account_operation (
+    amount float(53) not null,
+    id bigint generated by default as identity,
+    operation_date timestamp(6),
+    bank_account_id varchar(255),
+    description varchar(255),
+    type enum ('CREDIT','DEBIT'),
+    primary key (id)
+);
+
+create table bank_account (
+    balance float(53) not null,
+    interest_rate float(53),
+    over_draft float(53),
+    type varchar(4) not null,
+    created_at timestamp(6),
+    customer_id bigint,
+    id varchar(255) not null,
+    status enum ('ACTIVATED','CLOSED','CREATED','SUSPENDED'),
+    primary key (id)
+);
+
+create table customer (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    email varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+create table refresh_tokens (
+    expiry_date timestamp(6) with time zone not null,
+    id bigint generated by default as identity,
+    user_id bigint unique,
+    token varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users (
+    account_non_expired boolean not null,
+    account_non_locked boolean not null,
+    credentials_non_expired boolean not null,
+    enabled boolean not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    last_login timestamp(6),
+    email varchar(255) not null unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255) not null,
+    username varchar(255) not null unique,
+    role enum ('ADMIN','MANAGER','USER'),
+    primary key (id)
+);
+
+alter table account_operation add constraint FKmimm8esca3p6ux3s6bdwvu1cn foreign key (bank_account_id) references bank_account;
+alter table bank_account add constraint FKj818ht4ban0c4uw4bmsbf3jme foreign key (customer_id) references customer;
+alter table refresh_tokens add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users;
@@ -0,0 +1,14 @@
+-- Striped balances of hot accounts: credits go to one of balance_stripes rows, folded into
+-- the balance on debits. Existing accounts are not striped.
+alter table bank_account add column balance_stripes integer default 0 not null;
+
+create table balance_stripe (
+    amount float(53) not null,
+    stripe integer not null,
+    id bigint not null,
+    bank_account_id varchar(255),
+    primary key (id),
+    unique (bank_account_id, stripe)
+);
+
+alter table balance_stripe add constraint FKln9w5f55glyue3gcimoymdylw foreign key (bank_account_id) references bank_account;
@@ -0,0 +1,9 @@
+-- Responses stored under the Idempotency-Key of the request that produced them
+create table idempotency_keys (
+    status integer not null,
+    expires_at timestamp(6) with time zone not null,
+    id varchar(64) not null,
+    body varchar(4000),
+    content_type varchar(255),
+    primary key (id)
+);
@@ -0,0 +1,9 @@
+-- Journal mode: each account records the sequence of its last committed journal record, and
+-- journal_checkpoint the sequence up to which the journal was drained into account_operation
+alter table bank_account add column journal_sequence bigint default 0 not null;
+
+create table journal_checkpoint (
+    id integer not null,
+    drained_sequence bigint not null,
+    primary key (id)
+);
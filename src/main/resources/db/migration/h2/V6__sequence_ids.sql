@@ -0,0 +1,13 @@
+-- Ids come from pooled sequences (50 per call) instead of identity columns, so that inserts
+-- can be batched. Hibernate hands out the 50 ids below the value it reads, so each sequence
+-- starts 50 above the largest id in use.
+alter table account_operation alter column id drop identity;
+alter table customer alter column id drop identity;
+alter table refresh_tokens alter column id drop identity;
+alter table users alter column id drop identity;
+
+create sequence account_operation_seq start with (select coalesce(max(id), 0) + 50 from account_operation) increment by 50;
+create sequence balance_stripe_seq start with (select coalesce(max(id), 0) + 50 from balance_stripe) increment by 50;
+create sequence customer_seq start with (select coalesce(max(id), 0) + 50 from customer) increment by 50;
+create sequence refresh_tokens_seq start with (select coalesce(max(id), 0) + 50 from refresh_tokens) increment by 50;
+create sequence users_seq start with (select coalesce(max(id), 0) + 50 from users) increment by 50;
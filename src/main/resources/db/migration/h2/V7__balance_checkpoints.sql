@@ -0,0 +1,14 @@
+-- Closing balance of each account per day with operations. Accounts without checkpoints are
+-- backfilled from their history at startup.
+create sequence balance_checkpoint_seq start with 1 increment by 50;
+
+create table balance_checkpoint (
+    balance_date date,
+    closing_balance float(53) not null,
+    id bigint not null,
+    bank_account_id varchar(255),
+    primary key (id),
+    unique (bank_account_id, balance_date)
+);
+
+alter table balance_checkpoint add constraint FK7hxqs7jvy26dcljgypd0rcghu foreign key (bank_account_id) references bank_account;
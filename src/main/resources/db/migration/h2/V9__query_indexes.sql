@@ -0,0 +1,12 @@
+-- Indexes behind the repository queries. History lookups by account and date are served by
+-- idx_account_operation_history (bank_account_id, operation_date, id) from V8, and
+-- users(username) by its unique constraint.
+
+-- Accounts of a customer, filtered by status
+create index idx_bank_account_customer_status on bank_account (customer_id, status);
+
+-- Striped accounts, loaded at startup
+create index idx_bank_account_balance_stripes on bank_account (balance_stripes);
+
+-- Both legs of a transfer
+create index idx_account_operation_transfer on account_operation (transfer_id);
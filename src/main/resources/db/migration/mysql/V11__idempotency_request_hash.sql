@@ -0,0 +1,2 @@
+-- Binds an idempotency key to the request it was first used with
+alter table idempotency_keys add column request_hash varchar(64);
@@ -0,0 +1,3 @@
+-- Stripes hold the credits of one day, which reach the balance checkpoints when they are folded.
+-- Amounts already in the stripes were applied to the checkpoints when credited: they keep no day.
+alter table balance_stripe add column credit_date date;
@@ -0,0 +1,66 @@
+-- Baseline schema, as generated from the original entity model by ddl-auto=update before
+-- migrations were introduced. Existing databases are baselined at this version, and the
+-- later migrations bring them to the current model.
+
+create table account_operation (
+    amount float(53) not null,
+    id bigint not null auto_increment,
+    operation_date datetime(6),
+    bank_account_id varchar(255),
+    description varchar(255),
+    type enum ('CREDIT','DEBIT'),
+    primary key (id)
+) engine=InnoDB;
+
+create table bank_account (
+    balance float(53) not null,
+    interest_rate float(53),
+    over_draft float(53),
+    type varchar(4) not null,
+    created_at datetime(6),
+    customer_id bigint,
+    id varchar(255) not null,
+    status enum ('ACTIVATED','CLOSED','CREATED','SUSPENDED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table customer (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table refresh_tokens (
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    token varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    account_non_expired bit not null,
+    account_non_locked bit not null,
+    credentials_non_expired bit not null,
+    enabled bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    last_login datetime(6),
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255) not null,
+    username varchar(255) not null,
+    role enum ('ADMIN','MANAGER','USER'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table refresh_tokens add constraint UK7tdcd6ab5wsgoudnvj7xf1b7l unique (user_id);
+alter table refresh_tokens add constraint UKghpmfn23vmxfu3spu3lfg4r2d unique (token);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table account_operation add constraint FKmimm8esca3p6ux3s6bdwvu1cn foreign key (bank_account_id) references bank_account (id);
+alter table bank_account add constraint FKj818ht4ban0c4uw4bmsbf3jme foreign key (customer_id) references customer (id);
+alter table refresh_tokens add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id);
@@ -0,0 +1,2 @@
+-- Links the two legs of a transfer
+alter table account_operation add column transfer_id varchar(255);
@@ -0,0 +1,42 @@
+-- Ids come from pooled sequences (50 per call) instead of auto_increment columns, so that
+-- inserts can be batched. MySQL has no sequences: Hibernate keeps the next value in a
+-- single-row table. It hands out the 50 ids below the value it reads, so each sequence
+-- starts 50 above the largest id in use.
+
+-- The ids of customer and users are referenced by foreign keys, which otherwise forbid the change
+set foreign_key_checks = 0;
+alter table account_operation modify id bigint not null;
+alter table customer modify id bigint not null;
+alter table refresh_tokens modify id bigint not null;
+alter table users modify id bigint not null;
+set foreign_key_checks = 1;
+
+create table account_operation_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into account_operation_seq select coalesce(max(id), 0) + 50 from account_operation;
+
+create table balance_stripe_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into balance_stripe_seq select coalesce(max(id), 0) + 50 from balance_stripe;
+
+create table customer_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into customer_seq select coalesce(max(id), 0) + 50 from customer;
+
+create table refresh_tokens_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into refresh_tokens_seq select coalesce(max(id), 0) + 50 from refresh_tokens;
+
+create table users_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into users_seq select coalesce(max(id), 0) + 50 from users;
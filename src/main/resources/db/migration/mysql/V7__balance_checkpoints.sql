@@ -0,0 +1,18 @@
+-- Closing balance of each account per day with operations. Accounts without checkpoints are
+-- backfilled from their history at startup.
+create table balance_checkpoint_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into balance_checkpoint_seq values ( 1 );
+
+create table balance_checkpoint (
+    balance_date date,
+    closing_balance float(53) not null,
+    id bigint not null,
+    bank_account_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table balance_checkpoint add constraint UK9pchuxuayys4ic8mmju9ek2y7 unique (bank_account_id, balance_date);
+alter table balance_checkpoint add constraint FK7hxqs7jvy26dcljgypd0rcghu foreign key (bank_account_id) references bank_account (id);
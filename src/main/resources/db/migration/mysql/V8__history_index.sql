@@ -0,0 +1,2 @@
+-- History pages seek on (account, date, id), for the cursor and for the page number
+create index idx_account_operation_history on account_operation (bank_account_id, operation_date, id);
@@ -0,0 +1,103 @@
+package com.example.digitalbankingbackend.generator;
+
+import com.example.digitalbankingbackend.imports.SequenceBlocks;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private SequenceBlocks sequenceBlocks;
+
+    @Test
+    void generatesConsistentSkewedHistory() {
+        long lastCustomer = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from customer", Long.class);
+
+        // 40 accounts, one in ten hot with half of the 400 operations; batches of 16 flush mid-account
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(customerRepository, jdbcTemplate,
+                transactionTemplate, sequenceBlocks, 20, 2, 10, 90, 0.1, 0.5, 7, "2024-06-30", 3, 16, 3);
+        generator.generate();
+
+        assertEquals(20, count("select count(*) from customer where id > ?", lastCustomer));
+        assertEquals(40, count("select count(*) from bank_account a join customer c on c.id = a.customer_id " +
+                "where c.id > ?", lastCustomer));
+
+        List<Long> operationsPerAccount = jdbcTemplate.queryForList(
+                "select count(o.id) from bank_account a join customer c on c.id = a.customer_id " +
+                        "left join account_operation o on o.bank_account_id = a.id where c.id > ? group by a.id",
+                Long.class, lastCustomer);
+        assertEquals(4, operationsPerAccount.stream().filter(n -> n == 50).count());
+        assertEquals(36, operationsPerAccount.stream().filter(n -> n == 6).count());
+
+        // The balance is the last checkpoint, and the history never goes past the end date
+        assertEquals(0, count("select count(*) from bank_account a join customer c on c.id = a.customer_id " +
+                "where c.id > ? and a.balance < 0", lastCustomer));
+        assertEquals(0, count("select count(*) from bank_account a join customer c on c.id = a.customer_id " +
+                "where c.id > ? and a.balance <> (select k.closing_balance from balance_checkpoint k " +
+                "where k.bank_account_id = a.id and k.balance_date = (select max(m.balance_date) " +
+                "from balance_checkpoint m where m.bank_account_id = a.id))", lastCustomer));
+        assertEquals(0, count("select count(*) from account_operation o join bank_account a on a.id = o.bank_account_id " +
+                "join customer c on c.id = a.customer_id where c.id > ? " +
+                "and (o.operation_date > timestamp '2024-07-01 00:00:00' or o.operation_date < a.created_at)",
+                lastCustomer));
+    }
+
+    @Test
+    void generatesTheSameDataWhateverTheNumberOfThreads() {
+        List<List<Map<String, Object>>> singleThreaded = generateAndRemove(1);
+        List<List<Map<String, Object>>> fourThreads = generateAndRemove(4);
+
+        assertFalse(singleThreaded.get(2).isEmpty());
+        assertEquals(singleThreaded, fourThreads);
+    }
+
+    /**
+     * Generates 7 slices of 3 customers with the given number of threads, and returns the
+     * generated customers, accounts, operations and checkpoints without their numeric ids. The
+     * rows are then deleted, since the next run generates the same account ids.
+     */
+    private List<List<Map<String, Object>>> generateAndRemove(int threads) {
+        long lastCustomer = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from customer", Long.class);
+        new SyntheticDataGenerator(customerRepository, jdbcTemplate, transactionTemplate, sequenceBlocks,
+                20, 2, 10, 90, 0.1, 0.5, 11, "2024-06-30", threads, 16, 3).generate();
+
+        String accounts = "select a.id from bank_account a where a.customer_id > ?";
+        List<List<Map<String, Object>>> data = List.of(
+                jdbcTemplate.queryForList("select name, email, created_at from customer where id > ? order by email",
+                        lastCustomer),
+                jdbcTemplate.queryForList("select a.id, a.type, a.balance, a.created_at, a.over_draft, a.interest_rate, " +
+                        "c.email from bank_account a join customer c on c.id = a.customer_id where c.id > ? order by a.id",
+                        lastCustomer),
+                jdbcTemplate.queryForList("select bank_account_id, operation_date, amount, type, description " +
+                        "from account_operation where bank_account_id in (" + accounts + ") " +
+                        "order by bank_account_id, operation_date, amount", lastCustomer),
+                jdbcTemplate.queryForList("select bank_account_id, balance_date, closing_balance from balance_checkpoint " +
+                        "where bank_account_id in (" + accounts + ") order by bank_account_id, balance_date", lastCustomer));
+
+        jdbcTemplate.update("delete from account_operation where bank_account_id in (" + accounts + ")", lastCustomer);
+        jdbcTemplate.update("delete from balance_checkpoint where bank_account_id in (" + accounts + ")", lastCustomer);
+        jdbcTemplate.update("delete from bank_account where customer_id > ?", lastCustomer);
+        jdbcTemplate.update("delete from customer where id > ?", lastCustomer);
+        return data;
+    }
+
+    private long count(String sql, long lastCustomer) {
+        return jdbcTemplate.queryForObject(sql, Long.class, lastCustomer);
+    }
+}
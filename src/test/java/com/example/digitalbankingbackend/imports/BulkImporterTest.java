@@ -0,0 +1,279 @@
+package com.example.digitalbankingbackend.imports;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.ImportResultDTO;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BalanceCheckpointRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.services.BalanceCheckpoints;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import com.example.digitalbankingbackend.services.CustomerSearchIndex;
+import com.example.digitalbankingbackend.services.ReferenceDataCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BulkImporterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private SequenceBlocks sequenceBlocks;
+    @Autowired
+    private BalanceCheckpoints balanceCheckpoints;
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @TempDir
+    Path reports;
+
+    @Test
+    void importsValidRowsAndReportsRejectedOnes() throws IOException {
+        // Small batches and a one-batch queue, so the parser has to wait for the database
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 7, 1, 4096, reports.toString());
+
+        StringBuilder customers = new StringBuilder("reference,name,email,createdAt\n");
+        for (int i = 0; i < 40; i++) {
+            customers.append("ref-").append(i).append(",\"Imported, ").append(i).append("\",imported").append(i)
+                    .append("@example.com,2023-01-15\n");
+        }
+        customers.append("ref-bad,,nobody@example.com,\n");
+        customers.append("ref-short,Short row\n");
+        ImportResultDTO customerResult = importer.importCsv(ImportKind.CUSTOMERS, csv(customers));
+        assertEquals(42, customerResult.rowsRead());
+        assertEquals(40, customerResult.imported());
+        assertEquals(2, customerResult.rejected());
+        assertNull(customerResult.error());
+        assertEquals(40, customerSearchIndex.search("imported", true, 100).size());
+
+        Map<String, Long> customerIds = new HashMap<>();
+        for (String line : Files.readAllLines(Path.of(customerResult.idMappingFile())).subList(1, 41)) {
+            String[] mapping = line.split(",");
+            customerIds.put(mapping[0], Long.parseLong(mapping[1]));
+        }
+        assertEquals(40, new HashSet<>(customerIds.values()).size());
+
+        StringBuilder accounts = new StringBuilder("id,type,customerId,balance,overDraft,interestRate,status,createdAt\n");
+        for (int i = 0; i < 40; i++) {
+            accounts.append("imported-").append(i).append(i % 2 == 0 ? ",CA," : ",SA,").append(customerIds.get("ref-" + i))
+                    .append(",500,100,2.5,ACTIVATED,2023-01-16T09:00:00\n");
+        }
+        accounts.append("imported-0,CA,").append(customerIds.get("ref-1")).append(",1,,,,\n");
+        accounts.append("imported-orphan,CA,-1,1,,,,\n");
+        accounts.append("imported-bad-type,XX,").append(customerIds.get("ref-1")).append(",1,,,,\n");
+        ImportResultDTO accountResult = importer.importCsv(ImportKind.ACCOUNTS, csv(accounts));
+        assertEquals(40, accountResult.imported());
+        assertEquals(3, accountResult.rejected());
+        assertEquals(500, bankAccountRepository.findById("imported-7").orElseThrow().getBalance());
+
+        StringBuilder operations = new StringBuilder("accountId,operationDate,type,amount,description,transferId\n");
+        for (int i = 0; i < 40; i++) {
+            operations.append("imported-").append(i).append(",2023-02-01T10:00:00Z,CREDIT,300,Opening deposit,\n");
+            operations.append("imported-").append(i).append(",2023-03-01T10:00:00Z,DEBIT,100,,\n");
+        }
+        operations.append("imported-missing,2023-02-01T10:00:00Z,CREDIT,1,,\n");
+        operations.append("imported-0,not-a-date,CREDIT,1,,\n");
+        operations.append("imported-0,2023-02-01,CREDIT,-5,,\n");
+        ImportResultDTO operationResult = importer.importCsv(ImportKind.OPERATIONS, csv(operations));
+        assertEquals(80, operationResult.imported());
+        assertEquals(3, operationResult.rejected());
+        assertEquals(2, accountOperationRepository.countByBankAccountId("imported-3"));
+
+        List<String> rejected = Files.readAllLines(Path.of(operationResult.rejectedRowsReport()));
+        assertEquals("line,reason,record", rejected.get(0));
+        assertTrue(rejected.stream().anyMatch(line -> line.startsWith("82,BankAccount not found")));
+
+        // Checkpoints are rebuilt from the imported history and the account's balance
+        assertEquals(500, balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc("imported-3", LocalDate.now())
+                .orElseThrow().getClosingBalance());
+        assertEquals(600, balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc("imported-3", LocalDate.of(2023, 2, 28))
+                .orElseThrow().getClosingBalance());
+        assertEquals(300, balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc("imported-3", LocalDate.of(2023, 1, 31))
+                .orElseThrow().getClosingBalance());
+
+        // The history of an account is imported once
+        ImportResultDTO again = importer.importCsv(ImportKind.OPERATIONS,
+                csv(new StringBuilder("accountId,operationDate,type,amount,description,transferId\nimported-3,2023-04-01,CREDIT,1,,\n")));
+        assertEquals(0, again.imported());
+        assertEquals(1, again.rejected());
+    }
+
+    @Test
+    void refusesAFileWithTheWrongHeader() {
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 10, 1, 4096, reports.toString());
+        assertThrows(IllegalArgumentException.class, () ->
+                importer.importCsv(ImportKind.ACCOUNTS, csv(new StringBuilder("name,email\nx,y\n"))));
+    }
+
+    @Test
+    void reportsEachRejectedRowWithItsLineAndReason() throws IOException {
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 10, 1, 4096, reports.toString());
+        Long customerId = saveCustomer();
+        String id = "rejects-" + UUID.randomUUID();
+
+        ImportResultDTO result = importer.importCsv(ImportKind.ACCOUNTS, csv(new StringBuilder()
+                .append("id,type,customerId,balance,overDraft,interestRate,status,createdAt\n")
+                .append(id).append("-valid,CA,").append(customerId).append(",10,,,,\n")
+                .append(id).append("-orphan,CA,-1,10,,,,\n")
+                .append(id).append("-type,XX,").append(customerId).append(",10,,,,\n")
+                .append(id).append("-balance,CA,").append(customerId).append(",ten,,,,\n")
+                .append(id).append("-short,CA\n")
+                .append(id).append("-valid,SA,").append(customerId).append(",20,,,,\n")
+                .append(id).append("-status,CA,").append(customerId).append(",10,,,OPEN,\n")));
+
+        assertEquals(7, result.rowsRead());
+        assertEquals(1, result.imported());
+        assertEquals(6, result.rejected());
+        Map<String, String> reasons = new HashMap<>();
+        Map<String, String> records = new HashMap<>();
+        try (BufferedReader reportReader = Files.newBufferedReader(Path.of(result.rejectedRowsReport()))) {
+            CsvReader report = new CsvReader(reportReader, 4096);
+            assertArrayEquals(new String[]{"line", "reason", "record"}, report.next());
+            String[] rejected;
+            while ((rejected = report.next()) != null) {
+                reasons.put(rejected[0], rejected[1]);
+                records.put(rejected[0], rejected[2]);
+            }
+        }
+        assertEquals(Map.of(
+                "3", "Customer not found with ID: -1",
+                "4", "Invalid type, expected CA or SA: XX",
+                "5", "Invalid balance: ten",
+                "6", "Expected 8 columns, found 2",
+                "7", "Duplicate account ID: " + id + "-valid",
+                "8", "Invalid status: OPEN"), reasons);
+        assertTrue(records.get("4").startsWith(id + "-type,XX,"));
+        assertEquals(10, bankAccountRepository.findById(id + "-valid").orElseThrow().getBalance());
+        assertTrue(bankAccountRepository.findById(id + "-type").isEmpty());
+    }
+
+    @Test
+    void resumesAnImportThatStoppedAtUnreadableInput() throws IOException {
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 5, 1, 4096, reports.toString());
+        Long customerId = saveCustomer();
+        String id = "resumed-" + UUID.randomUUID();
+        StringBuilder firstRows = new StringBuilder("id,type,customerId,balance,overDraft,interestRate,status,createdAt\n");
+        for (int i = 0; i < 12; i++) {
+            firstRows.append(id).append('-').append(i).append(",CA,").append(customerId).append(",100,,,,\n");
+        }
+
+        // A record longer than the reader accepts stops the import, the rows before it are kept
+        StringBuilder broken = new StringBuilder(firstRows)
+                .append(id).append("-12,CA,").append(customerId).append(",100,,,,").append("x".repeat(5000)).append("\n")
+                .append(id).append("-13,CA,").append(customerId).append(",100,,,,\n");
+        ImportResultDTO stopped = importer.importCsv(ImportKind.ACCOUNTS, csv(broken));
+        assertNotNull(stopped.error());
+        assertEquals(12, stopped.imported());
+        assertTrue(bankAccountRepository.findById(id + "-13").isEmpty());
+
+        // The corrected file is imported again: the rows already in are rejected, the others added
+        StringBuilder corrected = new StringBuilder(firstRows);
+        for (int i = 12; i < 16; i++) {
+            corrected.append(id).append('-').append(i).append(",CA,").append(customerId).append(",100,,,,\n");
+        }
+        ImportResultDTO resumed = importer.importCsv(ImportKind.ACCOUNTS, csv(corrected));
+        assertNull(resumed.error());
+        assertEquals(4, resumed.imported());
+        assertEquals(12, resumed.rejected());
+        for (int i = 0; i < 16; i++) {
+            String accountId = id + "-" + i;
+            assertEquals(100, bankAccountRepository.findById(accountId).orElseThrow().getBalance());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "select count(*) from balance_checkpoint where bank_account_id = ?", Integer.class, accountId));
+        }
+    }
+
+    @Test
+    void importedAccountsFollowLaterOperationsInTheirCheckpoints() throws Exception {
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 10, 1, 4096, reports.toString());
+        String id = "followed-" + UUID.randomUUID();
+        importer.importCsv(ImportKind.ACCOUNTS, csv(new StringBuilder("id,type,customerId,balance,overDraft,interestRate,status,createdAt\n")
+                .append(id).append(",CA,").append(saveCustomer()).append(",500,,,,\n")));
+        assertEquals(500, closingBalance(id, LocalDate.now()));
+
+        // No restart or backfill in between
+        bankAccountService.credit(id, 50, "After the import");
+        bankAccountService.debit(id, 20, "After the import");
+
+        assertEquals(530, closingBalance(id, LocalDate.now()));
+    }
+
+    @Test
+    void rebuildsTheCheckpointsOfAHistorySpanningSeveralBatches() throws Exception {
+        BulkImporter importer = new BulkImporter(jdbcTemplate, transactionTemplate, sequenceBlocks, balanceCheckpoints,
+                customerSearchIndex, referenceDataCache, 10, 1, 4096, reports.toString());
+        String id = "spanning-" + UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        importer.importCsv(ImportKind.ACCOUNTS, csv(new StringBuilder("id,type,customerId,balance,overDraft,interestRate,status,createdAt\n")
+                .append(id).append(",CA,").append(saveCustomer()).append(",500,,,,").append(today.minusDays(5)).append('\n')));
+
+        // 25 operations in batches of 10: 12 credits of 10 three days ago, 13 debits of 2 yesterday
+        StringBuilder operations = new StringBuilder("accountId,operationDate,type,amount,description,transferId\n");
+        for (int i = 0; i < 12; i++) {
+            operations.append(id).append(',').append(today.minusDays(3)).append("T10:00:00,CREDIT,10,,\n");
+        }
+        for (int i = 0; i < 13; i++) {
+            operations.append(id).append(',').append(today.minusDays(1)).append("T10:00:00,DEBIT,2,,\n");
+        }
+        assertEquals(25, importer.importCsv(ImportKind.OPERATIONS, csv(operations)).imported());
+
+        // Walked back from the balance the account was given
+        assertEquals(406, closingBalance(id, today.minusDays(4)));
+        assertEquals(526, closingBalance(id, today.minusDays(2)));
+        assertEquals(500, closingBalance(id, today.minusDays(1)));
+        assertEquals(500, closingBalance(id, today));
+    }
+
+    private Long saveCustomer() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Import owner");
+        customer.setEmail("import-owner-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        return bankAccountService.saveCustomer(customer).getId();
+    }
+
+    private double closingBalance(String accountId, LocalDate day) {
+        return balanceCheckpointRepository
+                .findFirstByBankAccountIdAndBalanceDateLessThanEqualOrderByBalanceDateDesc(accountId, day)
+                .orElseThrow().getClosingBalance();
+    }
+
+    private static ByteArrayInputStream csv(StringBuilder content) {
+        return new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
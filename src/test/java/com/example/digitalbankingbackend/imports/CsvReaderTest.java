@@ -0,0 +1,37 @@
+package com.example.digitalbankingbackend.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAcrossLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\n1,,3"), 1024);
+
+        assertArrayEquals(new String[]{"a", "b", "c"}, reader.next());
+        assertEquals(1, reader.recordLine());
+        assertArrayEquals(new String[]{"x, y", "say \"hi\"", "two\nlines"}, reader.next());
+        assertEquals(2, reader.recordLine());
+        assertArrayEquals(new String[]{"1", "", "3"}, reader.next());
+        assertEquals(5, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void refusesOverlongAndUnterminatedRecords() {
+        CsvReader overlong = new CsvReader(new StringReader("a,b\n" + "x".repeat(100) + "\n"), 50);
+        assertThrows(IOException.class, () -> {
+            overlong.next();
+            overlong.next();
+        });
+
+        CsvReader unterminated = new CsvReader(new StringReader("\"open,field\n"), 1024);
+        assertThrows(IOException.class, unterminated::next);
+    }
+}
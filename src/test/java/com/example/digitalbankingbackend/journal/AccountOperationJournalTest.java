@@ -0,0 +1,153 @@
+package com.example.digitalbankingbackend.journal;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.JournalCheckpointRepository;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crash recovery of the journal mode. The application runs without it; each test builds its
+ * own journals on a temporary directory, and a crash is a journal that is dropped without
+ * being closed and replaced by a new one on the same directory, as on a restart.
+ */
+@SpringBootTest
+class AccountOperationJournalTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private JournalCheckpointRepository journalCheckpointRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path directory;
+
+    private String accountId;
+
+    @BeforeEach
+    void createAccount() throws Exception {
+        // Every test starts a journal from sequence 1
+        journalCheckpointRepository.deleteAll();
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Journaled");
+        customer.setEmail("journaled-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(100, 0, customerId).getId();
+    }
+
+    @Test
+    void drainsAnOperationCommittedBeforeTheCrash() {
+        AccountOperationJournal journal = newJournal();
+        transactionTemplate.executeWithoutResult(status -> journalCredit(journal, "Committed credit"));
+
+        // Restart before the drain ran
+        newJournal().replay();
+
+        assertEquals(List.of("Committed credit"), journaledOperations());
+        assertEquals(110, bankAccountRepository.findById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void cancelsAnOperationWhoseTransactionNeverCommitted() {
+        AccountOperationJournal journal = newJournal();
+        // The record is appended, then the process dies before the transaction commits or rolls back
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            BankAccount bankAccount = bankAccountRepository.findById(accountId).orElseThrow();
+            journal.record(bankAccount, operation(bankAccount, "Lost credit"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        AccountOperationJournal restarted = newJournal();
+        restarted.replay();
+
+        assertEquals(List.of(), journaledOperations());
+        // The cancellation is journaled, so a later committed operation does not revive it
+        transactionTemplate.executeWithoutResult(status -> journalCredit(restarted, "Later credit"));
+        newJournal().replay();
+        assertEquals(List.of("Later credit"), journaledOperations());
+    }
+
+    @Test
+    void doesNotReapplyARolledBackOperationAfterARestart() {
+        AccountOperationJournal journal = newJournal();
+        transactionTemplate.executeWithoutResult(status -> {
+            journalCredit(journal, "Rolled back credit");
+            status.setRollbackOnly();
+        });
+        // Commits a witness higher than the rolled back operation's sequence
+        transactionTemplate.executeWithoutResult(status -> journalCredit(journal, "Committed credit"));
+
+        newJournal().replay();
+
+        assertEquals(List.of("Committed credit"), journaledOperations());
+        assertEquals(110, bankAccountRepository.findById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void drainsEachOperationOnceAcrossRestarts() {
+        AccountOperationJournal journal = newJournal();
+        transactionTemplate.executeWithoutResult(status -> journalCredit(journal, "First credit"));
+        journal.drain();
+        transactionTemplate.executeWithoutResult(status -> journalCredit(journal, "Second credit"));
+
+        newJournal().replay();
+        newJournal().replay();
+
+        assertEquals(List.of("First credit", "Second credit"), journaledOperations());
+    }
+
+    private AccountOperationJournal newJournal() {
+        return new AccountOperationJournal(bankAccountRepository, accountOperationRepository,
+                journalCheckpointRepository, transactionTemplate, directory.toString(), 4096, 100);
+    }
+
+    private void journalCredit(AccountOperationJournal journal, String description) {
+        BankAccount bankAccount = bankAccountRepository.findById(accountId).orElseThrow();
+        journal.record(bankAccount, operation(bankAccount, description));
+        bankAccount.setBalance(bankAccount.getBalance() + 10);
+    }
+
+    private static AccountOperation operation(BankAccount bankAccount, String description) {
+        AccountOperation accountOperation = new AccountOperation();
+        accountOperation.setType(OperationType.CREDIT);
+        accountOperation.setAmount(10);
+        accountOperation.setDescription(description);
+        accountOperation.setOperationDate(new Date());
+        accountOperation.setBankAccount(bankAccount);
+        return accountOperation;
+    }
+
+    private List<String> journaledOperations() {
+        return accountOperationRepository.findByBankAccountId(accountId).stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .map(AccountOperation::getDescription)
+                .filter(description -> description.endsWith("credit"))
+                .toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.digitalbankingbackend.journal;
+
+import com.example.digitalbankingbackend.enums.OperationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsSurviveReopenWithoutClose() {
+        OperationJournal journal = new OperationJournal(directory, SEGMENT_SIZE);
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, journal.append(operation("acc-" + i, i)));
+        }
+        journal.append(JournalRecord.cancel("acc-3", 3));
+
+        // Simulates a crash: the first journal is never closed
+        OperationJournal reopened = new OperationJournal(directory, SEGMENT_SIZE);
+        assertEquals(11, reopened.lastSequence());
+        List<JournalRecord> records = reopened.readAfter(0, 100);
+        assertEquals(11, records.size());
+        assertEquals("acc-1", records.get(0).accountId());
+        assertEquals(OperationType.CREDIT, records.get(0).type());
+        assertEquals(1.0, records.get(0).amount());
+        assertEquals("Journal test", records.get(0).description());
+        assertEquals(JournalRecord.Kind.CANCEL, records.get(10).kind());
+        assertEquals(3, records.get(10).cancelledSequence());
+    }
+
+    @Test
+    void tornTailIsDiscardedAndSequenceContinues() throws IOException {
+        OperationJournal journal = new OperationJournal(directory, SEGMENT_SIZE);
+        for (int i = 1; i <= 5; i++) {
+            journal.append(operation("acc-" + i, i));
+        }
+        Path segment = segments().get(0);
+        int tail = tailOffset();
+
+        // A record whose header made it to disk but whose payload did not
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(tail);
+            file.writeInt(64);
+            file.writeInt(0xCAFEBABE);
+            file.write(new byte[]{1, 2, 3, 4, 5, 6, 7});
+        }
+
+        OperationJournal recovered = new OperationJournal(directory, SEGMENT_SIZE);
+        assertEquals(5, recovered.lastSequence());
+        assertEquals(5, recovered.readAfter(0, 100).size());
+
+        assertEquals(6, recovered.append(operation("acc-6", 6)));
+        OperationJournal reopened = new OperationJournal(directory, SEGMENT_SIZE);
+        List<JournalRecord> records = reopened.readAfter(4, 100);
+        assertEquals(List.of(5L, 6L), records.stream().map(JournalRecord::sequence).toList());
+    }
+
+    @Test
+    void rotatesSegmentsAndDeletesDrainedOnes() throws IOException {
+        OperationJournal journal = new OperationJournal(directory, SEGMENT_SIZE);
+        for (int i = 1; i <= 200; i++) {
+            journal.append(operation("acc-" + i, i));
+        }
+        int segmentCount = segments().size();
+        assertTrue(segmentCount > 2);
+
+        // Reading in small batches crosses segment boundaries
+        long after = 0;
+        int read = 0;
+        List<JournalRecord> records;
+        while (!(records = journal.readAfter(after, 7)).isEmpty()) {
+            for (JournalRecord record : records) {
+                assertEquals(after + 1, record.sequence());
+                after = record.sequence();
+                read++;
+            }
+        }
+        assertEquals(200, read);
+
+        journal.deleteThrough(150);
+        List<Path> remaining = segments();
+        assertTrue(remaining.size() < segmentCount);
+        List<JournalRecord> undrained = journal.readAfter(150, 100);
+        assertEquals(50, undrained.size());
+        assertEquals(151, undrained.get(0).sequence());
+
+        OperationJournal reopened = new OperationJournal(directory, SEGMENT_SIZE);
+        assertEquals(200, reopened.lastSequence());
+        assertEquals(201, reopened.append(operation("acc-201", 201)));
+        assertEquals(51, reopened.readAfter(150, 100).size());
+    }
+
+    private static JournalRecord operation(String accountId, double amount) {
+        return JournalRecord.operation(accountId, OperationType.CREDIT, amount, 1_700_000_000_000L, "Journal test");
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    // Offset right after the last record, found by walking the length prefixes
+    private int tailOffset() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "r")) {
+            int offset = 0;
+            int length;
+            while ((length = readInt(file, offset)) != 0) {
+                offset += 8 + length;
+            }
+            return offset;
+        }
+    }
+
+    private static int readInt(RandomAccessFile file, int offset) throws IOException {
+        file.seek(offset);
+        return file.readInt();
+    }
+}
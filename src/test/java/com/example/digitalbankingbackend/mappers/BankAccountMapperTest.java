@@ -0,0 +1,92 @@
+package com.example.digitalbankingbackend.mappers;
+
+import com.example.digitalbankingbackend.dtos.*;
+import com.example.digitalbankingbackend.entities.*;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The mapper copies properties by hand; these tests check it against the reflective copy it
+ * replaced, so a property added to an entity and its DTO cannot be forgotten.
+ */
+class BankAccountMapperTest {
+
+    private final BankAccountMapper mapper = new BankAccountMapper();
+
+    @Test
+    void mapsCustomersLikeBeanUtils() {
+        Customer customer = customer();
+        CustomerDTO expected = new CustomerDTO();
+        BeanUtils.copyProperties(customer, expected);
+        assertEquals(expected, mapper.fromCustomer(customer));
+
+        Customer back = mapper.fromCustomerDTO(expected);
+        Customer expectedBack = new Customer();
+        BeanUtils.copyProperties(expected, expectedBack);
+        assertEquals(expectedBack, back);
+    }
+
+    @Test
+    void mapsAccountsLikeBeanUtils() {
+        SavingAccount savingAccount = new SavingAccount(5.5);
+        fill(savingAccount);
+        SavingBankAccountDTO expectedSaving = new SavingBankAccountDTO();
+        BeanUtils.copyProperties(savingAccount, expectedSaving);
+        expectedSaving.setCustomerDTO(mapper.fromCustomer(savingAccount.getCustomer()));
+        expectedSaving.setType("SAVING");
+        assertEquals(expectedSaving, mapper.fromSavingBankAccount(savingAccount));
+
+        SavingAccount savingBack = new SavingAccount();
+        BeanUtils.copyProperties(expectedSaving, savingBack);
+        savingBack.setCustomer(mapper.fromCustomerDTO(expectedSaving.getCustomerDTO()));
+        assertEquals(savingBack, mapper.fromSavingBankAccountDTO(expectedSaving));
+
+        CurrentAccount currentAccount = new CurrentAccount(5_000);
+        fill(currentAccount);
+        CurrentBankAccountDTO expectedCurrent = new CurrentBankAccountDTO();
+        BeanUtils.copyProperties(currentAccount, expectedCurrent);
+        expectedCurrent.setCustomerDTO(mapper.fromCustomer(currentAccount.getCustomer()));
+        expectedCurrent.setType("CURRENT");
+        assertEquals(expectedCurrent, mapper.fromCurrentBankAccount(currentAccount));
+
+        CurrentAccount currentBack = new CurrentAccount();
+        BeanUtils.copyProperties(expectedCurrent, currentBack);
+        currentBack.setCustomer(mapper.fromCustomerDTO(expectedCurrent.getCustomerDTO()));
+        assertEquals(currentBack, mapper.fromCurrentBankAccountDTO(expectedCurrent));
+    }
+
+    @Test
+    void mapsOperationsLikeBeanUtils() {
+        AccountOperation accountOperation = new AccountOperation(7L, new Date(), 125.5, OperationType.DEBIT,
+                null, "Transfer to 42", "4c1f2e0a-7a44-4f5e-9b0e-6a1d2c3b4a59");
+        AccountOperationDTO expected = new AccountOperationDTO();
+        BeanUtils.copyProperties(accountOperation, expected);
+        assertEquals(expected, mapper.fromAccountOperation(accountOperation));
+    }
+
+    @Test
+    void mapsNullToNull() {
+        assertNull(mapper.fromCustomer(null));
+        assertNull(mapper.fromSavingBankAccount(null));
+        assertNull(mapper.fromCurrentBankAccount(null));
+        assertNull(mapper.fromAccountOperation(null));
+    }
+
+    private static Customer customer() {
+        return new Customer(3L, "Imane", "imane@example.com", new Date(), null);
+    }
+
+    private static void fill(BankAccount bankAccount) {
+        bankAccount.setId("0f8e3b7c-2d1a-4e6f-8a9b-1c2d3e4f5a6b");
+        bankAccount.setBalance(1_250.25);
+        bankAccount.setCreatedAt(new Date());
+        bankAccount.setStatus(AccountStatus.ACTIVATED);
+        bankAccount.setCustomer(customer());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.digitalbankingbackend.metrics;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.security.JwtUtils;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MetricsTest {
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void recordsServiceLatencyAndMoneyMovements() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Metrics");
+        customer.setEmail("metrics@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        String source = bankAccountService.saveCurrentBankAccount(100, 0, customerId).getId();
+        String destination = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+
+        double credits = movements("CREDIT", "operation", "success");
+        double refused = movements("DEBIT", "operation", "insufficient_funds");
+        double transfers = movements("CREDIT", "transfer", "success");
+        long debitErrors = serviceCalls("debit", "error");
+
+        bankAccountService.credit(source, 50, "Deposit");
+        assertThrows(BalanceNotSufficientException.class, () -> bankAccountService.debit(source, 1_000, "Too much"));
+        bankAccountService.transfer(source, destination, 25);
+
+        assertEquals(credits + 1, movements("CREDIT", "operation", "success"));
+        assertEquals(refused + 1, movements("DEBIT", "operation", "insufficient_funds"));
+        assertEquals(transfers + 1, movements("CREDIT", "transfer", "success"));
+        assertEquals(debitErrors + 1, serviceCalls("debit", "error"));
+        assertTrue(registry.get("bank.money.amount").tag("type", "DEBIT").tag("channel", "transfer")
+                .counter().count() >= 25);
+    }
+
+    @Test
+    void timesTokenVerificationAndPasswordHashing() {
+        long validations = registry.get("bank.auth.jwt").tag("operation", "validate").timer().count();
+        long hashes = registry.get("bank.auth.bcrypt").tag("operation", "matches").timer().count();
+
+        assertTrue(jwtUtils.validateJwtToken(jwtUtils.generateTokenFromUsername("user")));
+        assertTrue(passwordEncoder.matches("secret", passwordEncoder.encode("secret")));
+
+        assertEquals(validations + 1, registry.get("bank.auth.jwt").tag("operation", "validate").timer().count());
+        assertEquals(hashes + 1, registry.get("bank.auth.bcrypt").tag("operation", "matches").timer().count());
+    }
+
+    private double movements(String type, String channel, String outcome) {
+        return registry.get("bank.money.movements").tag("type", type).tag("channel", channel)
+                .tag("outcome", outcome).counter().count();
+    }
+
+    private long serviceCalls(String method, String outcome) {
+        return registry.find("bank.service").tag("method", method).tag("outcome", outcome).timers().stream()
+                .mapToLong(timer -> timer.count()).sum();
+    }
+}
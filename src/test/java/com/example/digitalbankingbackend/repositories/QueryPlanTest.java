@@ -0,0 +1,200 @@
+package com.example.digitalbankingbackend.repositories;
+
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.Customer;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository queries against the migrated schema and fails when the plan of any SQL
+ * statement they issue contains a table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.digitalbankingbackend.repositories.QueryPlanTest$CapturingInspector"
+})
+class QueryPlanTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accountId;
+    private Long customerId;
+
+    public static class CapturingInspector implements StatementInspector {
+        static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void populate() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            customers.add(customerRepository.save(new Customer(null, "Customer " + i, "customer" + i + "@example.com", new Date(), null)));
+        }
+        List<AccountOperation> accountOperations = new ArrayList<>();
+        for (Customer customer : customers) {
+            for (int i = 0; i < 3; i++) {
+                CurrentAccount account = new CurrentAccount();
+                account.setId(UUID.randomUUID().toString());
+                account.setBalance(1000);
+                account.setCreatedAt(new Date());
+                account.setStatus(AccountStatus.ACTIVATED);
+                account.setCustomer(customer);
+                bankAccountRepository.save(account);
+                for (int j = 0; j < 20; j++) {
+                    accountOperations.add(new AccountOperation(null, new Date(System.currentTimeMillis() - j * 1000L), 10,
+                            OperationType.CREDIT, account, "Credit Operation", UUID.randomUUID().toString()));
+                }
+                accountId = account.getId();
+            }
+            customerId = customer.getId();
+        }
+        accountOperationRepository.saveAll(accountOperations);
+        accountOperationRepository.flush();
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void accountOperationQueriesUseIndexes() {
+        assertIndexed("findByBankAccountId", () -> accountOperationRepository.findByBankAccountId(accountId));
+        assertIndexed("findByBankAccountId(Pageable)", () -> accountOperationRepository.findByBankAccountId(accountId,
+                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "operationDate"))));
+        assertIndexed("findDTOsByBankAccountId", () -> accountOperationRepository.findDTOsByBankAccountId(accountId,
+                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "operationDate"))));
+        assertIndexed("findByTransferId", () -> accountOperationRepository.findByTransferId("transfer"));
+        assertIndexed("findByBankAccountIdOrderByOperationDateDesc",
+                () -> accountOperationRepository.findByBankAccountIdOrderByOperationDateDesc(accountId));
+        assertIndexed("countByBankAccountId", () -> accountOperationRepository.countByBankAccountId(accountId));
+        assertIndexed("findFirstPage", () -> accountOperationRepository.findFirstPage(accountId, PageRequest.ofSize(6)));
+        assertIndexed("findPageAfter", () -> accountOperationRepository.findPageAfter(accountId, new Date(), 100L, PageRequest.ofSize(6)));
+        assertIndexed("streamByBankAccountId", () -> {
+            try (var accountOperations = accountOperationRepository.streamByBankAccountId(accountId)) {
+                accountOperations.forEach(accountOperation -> { });
+            }
+        });
+        assertIndexed("streamAmountsNewestFirst", () -> {
+            try (var operations = accountOperationRepository.streamAmountsNewestFirst(accountId)) {
+                operations.forEach(operation -> { });
+            }
+        });
+        assertIndexed("streamStatementLines", () -> {
+            try (var lines = accountOperationRepository.streamStatementLines(List.of(accountId, "missing"),
+                    new Date(0), new Date())) {
+                lines.forEach(line -> { });
+            }
+        });
+    }
+
+    @Test
+    void bankAccountQueriesUseIndexes() {
+        Set<AccountStatus> statuses = EnumSet.of(AccountStatus.CREATED, AccountStatus.ACTIVATED);
+        assertIndexed("findByCustomerId", () -> bankAccountRepository.findByCustomerId(customerId));
+        assertIndexed("findIdsByCustomerId", () -> bankAccountRepository.findIdsByCustomerId(customerId));
+        assertIndexed("findByIdIn", () -> bankAccountRepository.findByIdIn(List.of(accountId, "missing")));
+        assertIndexed("findBalances", () -> bankAccountRepository.findBalances(List.of(accountId, "missing")));
+        BankAccountFilterDTO customerFilter = new BankAccountFilterDTO();
+        customerFilter.setCustomerId(customerId);
+        assertIndexed("findViewPage(customer)", () -> bankAccountRepository.findViewPage(customerFilter, statuses,
+                null, null, 10));
+        assertIndexed("findViewPage(cursor)", () -> bankAccountRepository.findViewPage(new BankAccountFilterDTO(), statuses,
+                new Date(0), "", 10));
+        assertIndexed("findStripedAccountIds", () -> bankAccountRepository.findStripedAccountIds());
+        assertIndexed("findJournalSequences", () -> bankAccountRepository.findJournalSequences(List.of(accountId, "missing")));
+        assertIndexed("debitIfSufficient", () -> bankAccountRepository.debitIfSufficient(accountId, 1, statuses));
+        assertIndexed("creditIfAllowed", () -> bankAccountRepository.creditIfAllowed(accountId, 1, statuses));
+        assertIndexed("findIdsOpenedBefore", () -> bankAccountRepository.findIdsOpenedBefore(accountId, new Date(),
+                PageRequest.ofSize(10)));
+        assertIndexed("detachFromCustomer", () -> bankAccountRepository.detachFromCustomer(-1L, AccountStatus.SUSPENDED));
+        assertIndexed("findStatementHeaders", () -> bankAccountRepository.findStatementHeaders(List.of(accountId, "missing")));
+        assertIndexed("findClosingBalances", () -> balanceCheckpointRepository.findClosingBalances(List.of(accountId, "missing"),
+                LocalDate.now()));
+    }
+
+    @Test
+    void customerAndUserQueriesUseIndexes() {
+        assertIndexed("findByUsername", () -> userRepository.findByUsername("admin"));
+        assertIndexed("existsByUsername", () -> userRepository.existsByUsername("admin"));
+        assertIndexed("countActiveById", () -> userRepository.countActiveById(1L));
+
+        // A contains-search cannot use a B-tree index: documented here so that it is a
+        // deliberate exception rather than a silent regression
+        List<String> plans = plansOf(() -> customerRepository.searchCustomer("stomer 1"));
+        assertTrue(plans.stream().anyMatch(plan -> plan.contains(TABLE_SCAN)),
+                "searchCustomer no longer scans, move it to the indexed assertions");
+    }
+
+    private void assertIndexed(String query, Runnable invocation) {
+        List<String> plans = plansOf(invocation);
+        assertFalse(plans.isEmpty(), query + " issued no SQL");
+        for (String plan : plans) {
+            assertFalse(plan.contains(TABLE_SCAN), query + " falls back to a table scan:\n" + plan);
+        }
+    }
+
+    private List<String> plansOf(Runnable invocation) {
+        accountOperationRepository.flush();
+        CapturingInspector.statements.clear();
+        invocation.run();
+        accountOperationRepository.flush();
+        List<String> plans = new ArrayList<>();
+        for (String sql : CapturingInspector.statements) {
+            String lower = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete")) {
+                plans.add(explain(sql));
+            }
+        }
+        CapturingInspector.statements.clear();
+        return plans;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("explain " + sql, (java.sql.PreparedStatement statement) -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+}
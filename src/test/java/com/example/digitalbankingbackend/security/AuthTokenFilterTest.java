@@ -0,0 +1,89 @@
+package com.example.digitalbankingbackend.security;
+
+import com.example.digitalbankingbackend.entities.User;
+import com.example.digitalbankingbackend.enums.Role;
+import com.example.digitalbankingbackend.repositories.UserRepository;
+import com.example.digitalbankingbackend.services.UserDetailsServiceImpl.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.auth.status-check-ms=50")
+class AuthTokenFilterTest {
+
+    @Autowired
+    private AuthTokenFilter filter;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setUsername("filter-" + UUID.randomUUID());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("unused");
+        user.setRole(Role.MANAGER);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromTokenClaimsWithoutLoadingOrWritingTheUser() throws Exception {
+        Authentication authentication = authenticate(
+                jwtUtils.generateTokenFromUser(user.getId(), user.getUsername(), user.getRole()));
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(user.getUsername(), principal.getUsername());
+        // The email is only known from the user's row
+        assertNull(principal.getEmail());
+        assertEquals("ROLE_MANAGER", principal.getAuthorities().iterator().next().getAuthority());
+        assertNull(userRepository.findById(user.getId()).orElseThrow().getLastLogin());
+    }
+
+    @Test
+    void loadsTheUserForTokensWithoutClaims() throws Exception {
+        Authentication authentication = authenticate(jwtUtils.generateTokenFromUsername(user.getUsername()));
+
+        assertEquals(user.getEmail(), ((UserPrincipal) authentication.getPrincipal()).getEmail());
+    }
+
+    @Test
+    void refusesLockedUsersOnceTheStatusCheckExpires() throws Exception {
+        String token = jwtUtils.generateTokenFromUser(user.getId(), user.getUsername(), user.getRole());
+        assertNotNull(authenticate(token));
+
+        user.setAccountNonLocked(false);
+        userRepository.save(user);
+        Thread.sleep(100);
+
+        assertNull(authenticate(token));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+        });
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
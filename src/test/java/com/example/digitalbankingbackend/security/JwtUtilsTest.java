@@ -0,0 +1,59 @@
+package com.example.digitalbankingbackend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "digitalBankingSecretKeyForJWTAuthentication2024";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void verifiesATokenOnceAndServesRepeatsFromTheCache() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 100, 60_000, registry);
+        String token = jwtUtils.generateTokenFromUsername("user");
+
+        assertEquals("user", jwtUtils.verifyJwtToken(token).orElseThrow().getSubject());
+        assertEquals("user", jwtUtils.getUserNameFromJwtToken(token));
+        assertTrue(jwtUtils.validateJwtToken(token));
+
+        assertEquals(2, registry.get("cache.gets").tag("cache", "jwt").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "jwt").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void refusesTamperedTokensAndTokensSignedWithAnotherKey() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 100, 60_000, registry);
+        JwtUtils other = new JwtUtils(SECRET + "Other", 60_000, 100, 60_000, new SimpleMeterRegistry());
+        String token = jwtUtils.generateTokenFromUsername("user");
+
+        assertTrue(jwtUtils.verifyJwtToken(other.generateTokenFromUsername("user")).isEmpty());
+        assertTrue(jwtUtils.verifyJwtToken(token.substring(0, token.length() - 2) + "AA").isEmpty());
+        assertTrue(jwtUtils.verifyJwtToken("not a token").isEmpty());
+        assertTrue(jwtUtils.verifyJwtToken("").isEmpty());
+    }
+
+    @Test
+    void neverServesATokenPastItsExpiry() throws InterruptedException {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 1_000, 100, 60_000, registry);
+        String token = jwtUtils.generateTokenFromUsername("user");
+        assertTrue(jwtUtils.validateJwtToken(token));
+
+        Thread.sleep(1_100);
+        assertFalse(jwtUtils.validateJwtToken(token));
+    }
+
+    @Test
+    void neverServesARevokedToken() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 100, 60_000, registry);
+        String token = jwtUtils.generateTokenFromUsername("user");
+        assertTrue(jwtUtils.validateJwtToken(token));
+
+        jwtUtils.revokeJwtToken(token);
+        assertFalse(jwtUtils.validateJwtToken(token));
+        assertTrue(jwtUtils.validateJwtToken(jwtUtils.generateTokenFromUsername("admin")));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.AccountHistoryCursorDTO;
+import com.example.digitalbankingbackend.dtos.AccountOperationDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.BankAccount;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks an account's history by cursor. Operations share their dates five by five and are
+ * inserted out of date order, so the pages only line up when ties are broken by id.
+ */
+@SpringBootTest
+class AccountHistoryCursorTest {
+
+    private static final int OPERATIONS = 25;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+
+    private String accountId;
+
+    @BeforeEach
+    void createHistory() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Cursor");
+        customer.setEmail("cursor-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(0, 0, customerId).getId();
+
+        BankAccount bankAccount = bankAccountRepository.findById(accountId).orElseThrow();
+        long start = System.currentTimeMillis() - 10 * 60_000L;
+        List<AccountOperation> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            // Minutes 0, 2, 4, 1, 3, 0, 2, ...
+            Date operationDate = new Date(start + (i * 2 % 5) * 60_000L);
+            operations.add(new AccountOperation(null, operationDate, i + 1, OperationType.CREDIT, bankAccount,
+                    "Operation " + i, null));
+        }
+        accountOperationRepository.saveAll(operations);
+    }
+
+    @Test
+    void walksTheHistoryNewestFirstWithoutDuplicatesOrGaps() throws Exception {
+        List<AccountOperationDTO> expected = new ArrayList<>(bankAccountService.accountHistory(accountId));
+        expected.sort(Comparator.comparing(AccountOperationDTO::getOperationDate)
+                .thenComparing(AccountOperationDTO::getId).reversed());
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AccountHistoryCursorDTO page = bankAccountService.getAccountHistory(accountId, cursor, 5, pages == 0);
+            if (pages == 0) {
+                assertEquals(OPERATIONS, page.getTotalElements().longValue());
+            }
+            assertTrue(page.getAccountOperationDTOS().size() <= 5);
+            page.getAccountOperationDTOS().forEach(operation -> walked.add(operation.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages <= OPERATIONS);
+
+        // The last page is full, yet reports no next page
+        assertEquals(5, pages);
+        assertEquals(expected.stream().map(AccountOperationDTO::getId).toList(), walked);
+        assertEquals(OPERATIONS, new HashSet<>(walked).size());
+    }
+
+    @Test
+    void endsOnAPartialLastPage() throws Exception {
+        AccountHistoryCursorDTO first = bankAccountService.getAccountHistory(accountId, null, 20, false);
+        assertNotNull(first.getNextCursor());
+
+        AccountHistoryCursorDTO last = bankAccountService.getAccountHistory(accountId, first.getNextCursor(), 20, false);
+
+        assertEquals(5, last.getAccountOperationDTOS().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void rejectsAnInvalidCursor() {
+        String notBase64 = "not a cursor!";
+        String notACursor = Base64.getUrlEncoder().encodeToString("12345".getBytes(StandardCharsets.UTF_8));
+        String notNumbers = Base64.getUrlEncoder().encodeToString("a:b".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of(notBase64, notACursor, notNumbers)) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> bankAccountService.getAccountHistory(accountId, cursor, 5, false));
+            assertEquals("Invalid history cursor.", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.DailyBalanceDTO;
+import com.example.digitalbankingbackend.entities.BalanceCheckpoint;
+import com.example.digitalbankingbackend.repositories.BalanceCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BalanceCheckpointsTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private BalanceCheckpoints balanceCheckpoints;
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void createCustomer() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Checkpointed");
+        customer.setEmail("checkpointed-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+    }
+
+    @Test
+    void followsTheOperationsOfAnUnstripedAccount() throws Exception {
+        String accountId = openAccount(100);
+        openedTwoDaysAgo(accountId);
+
+        bankAccountService.credit(accountId, 50, "Credit");
+        bankAccountService.debit(accountId, 30, "Debit");
+
+        assertEquals(List.of(100.0, 100.0, 120.0), balances(accountId));
+        assertEquals(120, checkpointOf(accountId, today));
+    }
+
+    @Test
+    void leavesTheCheckpointRowAloneOnStripedCredits() throws Exception {
+        String accountId = openAccount(100);
+        openedTwoDaysAgo(accountId);
+        bankAccountService.configureBalanceStripes(accountId, 4);
+
+        for (int i = 0; i < 10; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+
+        // The credits are only in the stripes, yet the series includes them
+        assertFalse(balanceCheckpointRepository.findByBankAccountIdAndBalanceDateBetweenOrderByBalanceDate(
+                accountId, today, today).stream().anyMatch(checkpoint -> checkpoint.getClosingBalance() != 100));
+        assertEquals(List.of(100.0, 100.0, 200.0), balances(accountId));
+        assertEquals(200, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void foldsStripedCreditsIntoTheCheckpointOfTheirDay() throws Exception {
+        String accountId = openAccount(100);
+        openedTwoDaysAgo(accountId);
+        bankAccountService.configureBalanceStripes(accountId, 4);
+        for (int i = 0; i < 5; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+        // The stripes now hold yesterday's credits
+        jdbcTemplate.update("update balance_stripe set credit_date = ? where bank_account_id = ?",
+                today.minusDays(1), accountId);
+        assertEquals(List.of(100.0, 150.0, 150.0), balances(accountId));
+
+        // The first credit of the day folds them into yesterday's checkpoint, then goes to today's
+        bankAccountService.credit(accountId, 7, "First credit of the day");
+        assertEquals(150, checkpointOf(accountId, today.minusDays(1)));
+        assertEquals(List.of(100.0, 150.0, 157.0), balances(accountId));
+
+        // Later credits of the day are striped again
+        bankAccountService.credit(accountId, 3, "Striped credit");
+        assertEquals(157, checkpointOf(accountId, today));
+        assertEquals(List.of(100.0, 150.0, 160.0), balances(accountId));
+
+        // A debit beyond the own balance folds today's stripes into today's checkpoint
+        bankAccountService.debit(accountId, 160, "Debit of everything");
+        assertEquals(0, checkpointOf(accountId, today));
+        assertEquals(List.of(100.0, 150.0, 0.0), balances(accountId));
+    }
+
+    @Test
+    void turningStripingOffFoldsIntoTheCheckpoints() throws Exception {
+        String accountId = openAccount(100);
+        openedTwoDaysAgo(accountId);
+        bankAccountService.configureBalanceStripes(accountId, 4);
+        bankAccountService.credit(accountId, 25, "Striped credit");
+
+        bankAccountService.configureBalanceStripes(accountId, 0);
+
+        assertEquals(125, checkpointOf(accountId, today));
+        assertEquals(List.of(100.0, 100.0, 125.0), balances(accountId));
+    }
+
+    @Test
+    void backfillsAStripedAccountWithPendingCredits() throws Exception {
+        String accountId = openAccount(100);
+        bankAccountService.configureBalanceStripes(accountId, 4);
+        for (int i = 0; i < 5; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+        // Opened two days ago, credited yesterday in the stripes, and never checkpointed
+        jdbcTemplate.update("update bank_account set created_at = ? where id = ?",
+                java.sql.Date.valueOf(today.minusDays(2)), accountId);
+        jdbcTemplate.update("update account_operation set operation_date = ? where bank_account_id = ?",
+                java.sql.Timestamp.valueOf(today.minusDays(1).atTime(12, 0)), accountId);
+        jdbcTemplate.update("update balance_stripe set credit_date = ? where bank_account_id = ?",
+                today.minusDays(1), accountId);
+        jdbcTemplate.update("delete from balance_checkpoint where bank_account_id = ?", accountId);
+
+        balanceCheckpoints.backfill();
+
+        // The checkpoints leave the pending credits out, from their day on only
+        assertEquals(100, checkpointOf(accountId, today.minusDays(2)));
+        assertEquals(100, checkpointOf(accountId, today.minusDays(1)));
+        assertEquals(100, checkpointOf(accountId, today));
+        assertEquals(List.of(100.0, 150.0, 150.0), balances(accountId));
+
+        // Folding them in keeps the series unchanged
+        bankAccountService.configureBalanceStripes(accountId, 0);
+        assertEquals(150, checkpointOf(accountId, today.minusDays(1)));
+        assertEquals(List.of(100.0, 150.0, 150.0), balances(accountId));
+    }
+
+    private String openAccount(double balance) throws Exception {
+        return bankAccountService.saveCurrentBankAccount(balance, 0, customerId).getId();
+    }
+
+    // Moves the opening checkpoint back, so that the series has days before today
+    private void openedTwoDaysAgo(String accountId) {
+        jdbcTemplate.update("update balance_checkpoint set balance_date = ? where bank_account_id = ?",
+                today.minusDays(2), accountId);
+    }
+
+    private List<Double> balances(String accountId) throws Exception {
+        return bankAccountService.getDailyBalances(accountId, today.minusDays(2), today).stream()
+                .map(DailyBalanceDTO::balance).toList();
+    }
+
+    private double checkpointOf(String accountId, LocalDate day) {
+        return balanceCheckpointRepository.findByBankAccountIdAndBalanceDateBetweenOrderByBalanceDate(accountId, day, day)
+                .stream().findFirst().map(BalanceCheckpoint::getClosingBalance).orElseThrow();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.BankAccountDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.repositories.BalanceStripeRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BalanceStripesTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    private Long customerId;
+    private String accountId;
+
+    @BeforeEach
+    void createStripedAccount() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Striped");
+        customer.setEmail("striped-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(100, 0, customerId).getId();
+        bankAccountService.configureBalanceStripes(accountId, 4);
+    }
+
+    @Test
+    void creditsGoToTheStripesAndLeaveTheAccountRowAlone() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            bankAccountService.credit(accountId, 5, "Striped credit");
+        }
+
+        assertEquals(100, ownBalance());
+        assertEquals(20 * 5, balanceStripeRepository.sumByBankAccountId(accountId));
+        assertEquals(200, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void listedBalancesIncludeTheStripes() throws Exception {
+        String unstriped = bankAccountService.saveCurrentBankAccount(50, 0, customerId).getId();
+        for (int i = 0; i < 10; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+
+        List<BankAccountDTO> accounts = bankAccountService.getAccountsByCustomerId(customerId);
+        assertEquals(200, balanceOf(accounts, accountId));
+        assertEquals(50, balanceOf(accounts, unstriped));
+        BankAccountFilterDTO filter = new BankAccountFilterDTO();
+        filter.setCustomerId(customerId);
+        assertEquals(200, balanceOf(bankAccountService.bankAccountPage(filter, null, 10).getBankAccountDTOS(), accountId));
+    }
+
+    @Test
+    void aDebitBeyondTheOwnBalanceFoldsTheStripes() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+
+        bankAccountService.debit(accountId, 150, "Debit beyond the own balance");
+
+        assertEquals(0, balanceStripeRepository.sumByBankAccountId(accountId));
+        assertEquals(50, ownBalance());
+        assertEquals(50, bankAccountService.getBankAccount(accountId).getBalance());
+        assertThrows(BalanceNotSufficientException.class, () -> bankAccountService.debit(accountId, 51, "Too much"));
+    }
+
+    @Test
+    void losesNoCreditWhenFoldsRunConcurrently() throws Exception {
+        int creditors = 6;
+        int credits = 50;
+        AtomicInteger debited = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(creditors + 1);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < creditors; t++) {
+                workers.add(() -> {
+                    for (int i = 0; i < credits; i++) {
+                        bankAccountService.credit(accountId, 1, "Concurrent credit");
+                    }
+                    return null;
+                });
+            }
+            // Debits larger than what is left in the row keep folding the stripes under the credits
+            workers.add(() -> {
+                for (int i = 0; i < credits; i++) {
+                    try {
+                        bankAccountService.debit(accountId, 3, "Concurrent debit");
+                        debited.addAndGet(3);
+                    } catch (BalanceNotSufficientException e) {
+                        // Folded everything and it was not enough yet
+                    }
+                }
+                return null;
+            });
+            for (Future<Void> future : executor.invokeAll(workers, 60, TimeUnit.SECONDS)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100 + creditors * credits - debited.get(), bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void turningStripingOffFoldsTheStripesIntoTheAccount() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            bankAccountService.credit(accountId, 10, "Striped credit");
+        }
+
+        bankAccountService.configureBalanceStripes(accountId, 0);
+
+        assertEquals(150, ownBalance());
+        assertEquals(0, balanceStripeRepository.sumByBankAccountId(accountId));
+        bankAccountService.credit(accountId, 10, "Unstriped credit");
+        assertEquals(160, ownBalance());
+    }
+
+    private double ownBalance() {
+        return bankAccountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+
+    private static double balanceOf(List<BankAccountDTO> accounts, String accountId) {
+        return accounts.stream().filter(account -> account.getId().equals(accountId))
+                .findFirst().orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.BankAccountDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.dtos.BankAccountPageDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BankAccountPageTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    private Long customerId;
+    private final Set<String> accountIds = new HashSet<>();
+    private String suspendedAccountId;
+
+    @BeforeEach
+    void createAccounts() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Paged");
+        customer.setEmail("paged-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+        for (int i = 0; i < 4; i++) {
+            accountIds.add(bankAccountService.saveCurrentBankAccount(100 * (i + 1), 50, customerId).getId());
+            suspendedAccountId = bankAccountService.saveSavingBankAccount(1_000 * (i + 1), 2.5, customerId).getId();
+            accountIds.add(suspendedAccountId);
+        }
+        // Only the first account of a customer starts as CREATED; the last one is ACTIVATED
+        bankAccountService.changeAccountStatus(suspendedAccountId, AccountStatus.SUSPENDED);
+    }
+
+    @Test
+    void pagesThroughEveryAccountOnceInCreationOrder() {
+        BankAccountFilterDTO filter = customerFilter();
+        filter.setIncludeInactive(true);
+
+        List<BankAccountDTO> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            BankAccountPageDTO page = bankAccountService.bankAccountPage(filter, cursor, 3);
+            assertTrue(page.getBankAccountDTOS().size() <= 3);
+            listed.addAll(page.getBankAccountDTOS());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(accountIds, new HashSet<>(listed.stream().map(BankAccountDTO::getId).toList()));
+        assertEquals(accountIds.size(), listed.size());
+        for (int i = 1; i < listed.size(); i++) {
+            assertFalse(listed.get(i).getCreatedAt().before(listed.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void filtersInTheQuery() {
+        BankAccountFilterDTO active = customerFilter();
+        assertEquals(accountIds.size() - 1, bankAccountService.bankAccountPage(active, null, 100).getBankAccountDTOS().size());
+
+        BankAccountFilterDTO suspended = customerFilter();
+        suspended.setStatus(AccountStatus.SUSPENDED);
+        assertEquals(List.of(suspendedAccountId), bankAccountService.bankAccountPage(suspended, null, 100)
+                .getBankAccountDTOS().stream().map(BankAccountDTO::getId).toList());
+
+        BankAccountFilterDTO savings = customerFilter();
+        savings.setIncludeInactive(true);
+        savings.setType("SA");
+        assertTrue(bankAccountService.bankAccountPage(savings, null, 100).getBankAccountDTOS().stream()
+                .allMatch(account -> account.getType().equals("SAVING")));
+
+        BankAccountFilterDTO balances = customerFilter();
+        balances.setIncludeInactive(true);
+        balances.setMinBalance(200.0);
+        balances.setMaxBalance(2_000.0);
+        List<BankAccountDTO> inRange = bankAccountService.bankAccountPage(balances, null, 100).getBankAccountDTOS();
+        assertEquals(5, inRange.size());
+        assertTrue(inRange.stream().allMatch(account -> account.getBalance() >= 200 && account.getBalance() <= 2_000));
+    }
+
+    @Test
+    void rejectsUnknownTypesAndPageSizes() {
+        BankAccountFilterDTO filter = customerFilter();
+        filter.setType("XX");
+        assertThrows(IllegalArgumentException.class, () -> bankAccountService.bankAccountPage(filter, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> bankAccountService.bankAccountPage(customerFilter(), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> bankAccountService.bankAccountPage(customerFilter(), "not a cursor", 10));
+    }
+
+    private BankAccountFilterDTO customerFilter() {
+        BankAccountFilterDTO filter = new BankAccountFilterDTO();
+        filter.setCustomerId(customerId);
+        return filter;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.TransferRequestDTO;
+import com.example.digitalbankingbackend.dtos.TransferResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With 16 lanes a group spans at most two, so a batch of transfers between distinct accounts
+ * is applied in many groups, each committed on its own.
+ */
+@SpringBootTest(properties = "app.ledger.lanes=16")
+class BatchTransferTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    private Long customerId;
+
+    @BeforeEach
+    void createCustomer() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Batch");
+        customer.setEmail("batch-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+    }
+
+    @Test
+    void reportsTheResultOfEachTransferAndAppliesOnlyTheSuccessfulOnes() throws Exception {
+        String rich = openAccount(1_000);
+        String poor = openAccount(10);
+        String other = openAccount(0);
+
+        List<TransferResultDTO> results = bankAccountService.batchTransfer(List.of(
+                new TransferRequestDTO(rich, other, 100),
+                new TransferRequestDTO(poor, other, 50),
+                new TransferRequestDTO(rich, "missing-account", 10),
+                new TransferRequestDTO(rich, rich, 10),
+                new TransferRequestDTO(rich, poor, 0),
+                new TransferRequestDTO(rich, poor, 200)));
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertTrue(results.get(1).message().contains("not sufficient"));
+        assertFalse(results.get(2).success());
+        assertTrue(results.get(2).message().contains("not found"));
+        assertFalse(results.get(3).success());
+        assertFalse(results.get(4).success());
+        assertTrue(results.get(5).success());
+
+        assertEquals(700, bankAccountService.getBankAccount(rich).getBalance());
+        assertEquals(210, bankAccountService.getBankAccount(poor).getBalance());
+        assertEquals(100, bankAccountService.getBankAccount(other).getBalance());
+    }
+
+    @Test
+    void appliesTransfersInOrderAcrossGroups() throws Exception {
+        // Each transfer funds the next one, so they only all succeed when applied in order,
+        // and the accounts span far more lanes than one group may take
+        List<String> chain = new ArrayList<>();
+        chain.add(openAccount(100));
+        for (int i = 0; i < 40; i++) {
+            chain.add(openAccount(0));
+        }
+        List<TransferRequestDTO> transfers = new ArrayList<>();
+        for (int i = 0; i + 1 < chain.size(); i++) {
+            transfers.add(new TransferRequestDTO(chain.get(i), chain.get(i + 1), 100));
+        }
+
+        List<TransferResultDTO> results = bankAccountService.batchTransfer(transfers);
+
+        assertTrue(results.stream().allMatch(TransferResultDTO::success));
+        for (int i = 0; i + 1 < chain.size(); i++) {
+            assertEquals(0, bankAccountService.getBankAccount(chain.get(i)).getBalance());
+        }
+        assertEquals(100, bankAccountService.getBankAccount(chain.get(chain.size() - 1)).getBalance());
+    }
+
+    @Test
+    void aFailedTransferInALaterGroupLeavesEarlierGroupsApplied() throws Exception {
+        List<TransferRequestDTO> transfers = new ArrayList<>();
+        List<String> destinations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String source = openAccount(100);
+            String destination = openAccount(0);
+            destinations.add(destination);
+            transfers.add(new TransferRequestDTO(source, destination, i == 9 ? 1_000 : 100));
+        }
+
+        List<TransferResultDTO> results = bankAccountService.batchTransfer(transfers);
+
+        assertEquals(9, results.stream().filter(TransferResultDTO::success).count());
+        assertFalse(results.get(9).success());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(100, bankAccountService.getBankAccount(destinations.get(i)).getBalance());
+        }
+        assertEquals(0, bankAccountService.getBankAccount(destinations.get(9)).getBalance());
+    }
+
+    private String openAccount(double balance) throws Exception {
+        return bankAccountService.saveCurrentBankAccount(balance, 0, customerId).getId();
+    }
+}
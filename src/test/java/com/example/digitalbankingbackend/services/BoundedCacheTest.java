@@ -0,0 +1,52 @@
+package com.example.digitalbankingbackend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 2, 60_000, registry);
+        cache.put("a", 1, cache.stamp());
+        cache.put("b", 2, cache.stamp());
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3, cache.stamp());
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(2, registry.get("cache.size").tag("cache", "test").gauge().value());
+        assertEquals(1, registry.get("cache.evictions").tag("cache", "test").counter().count());
+        assertEquals(3, registry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void dropsValuesLoadedBeforeAnInvalidation() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, 60_000, registry);
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+        cache.put("a", 1, stamp);
+        assertNull(cache.get("a"));
+
+        cache.put("a", 2, cache.stamp());
+        cache.put("b", 3, cache.stamp());
+        cache.invalidateIf(value -> value == 2);
+        assertNull(cache.get("a"));
+        assertEquals(3, cache.get("b"));
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTimeToLive() throws InterruptedException {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, 1, registry);
+        cache.put("a", 1, cache.stamp());
+        Thread.sleep(5);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
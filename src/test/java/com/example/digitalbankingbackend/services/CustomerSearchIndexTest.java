@@ -0,0 +1,81 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSearchIndexTest {
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void indexCustomers() {
+        index = new CustomerSearchIndex(null);
+        index.putAll(List.of(
+                customer(1, "Johnathan Smith", "jsmith@example.com"),
+                customer(2, "John Doe", "john.doe@example.com"),
+                customer(3, "Mary Johnson", "mary@example.com"),
+                customer(4, "Peter Parker", "pparker@john-lab.org"),
+                customer(5, "Zoé Lefèvre", "zoe.lefevre@example.com")));
+    }
+
+    @Test
+    void ranksNamePrefixesBeforeWordsBeforeEmails() {
+        assertEquals(List.of(2L, 1L, 3L, 4L), ids(index.search("john", false, 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("john", false, 2)));
+        assertEquals(List.of(3L), ids(index.search("ohnso", false, 10)));
+        assertEquals(List.of(4L), ids(index.search("john-lab", false, 10)));
+    }
+
+    @Test
+    void matchesWordPrefixesForTypeAhead() {
+        assertEquals(List.of(2L, 1L, 3L, 4L), ids(index.search("jo", true, 10)));
+        assertEquals(List.of(1L), ids(index.search("smi joh", true, 10)));
+        assertEquals(List.of(4L), ids(index.search("pet lab", true, 10)));
+        assertTrue(index.search("ohn", true, 10).isEmpty());
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertEquals(List.of(5L), ids(index.search("ZOE LEF", false, 10)));
+        assertEquals(List.of(5L), ids(index.search("lefèvre", false, 10)));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.put(customer(2, "Jane Doe", "jane.doe@example.com"));
+        index.delete(1L);
+
+        assertEquals(List.of(3L, 4L), ids(index.search("john", false, 10)));
+        assertEquals(List.of(2L), ids(index.search("jane", true, 10)));
+        assertTrue(index.search("smith", false, 10).isEmpty());
+    }
+
+    @Test
+    void keepsSearchingThroughCompactions() {
+        // Enough re-indexing to leave tens of thousands of empty slots behind
+        for (int i = 0; i < 30_000; i++) {
+            index.put(customer(3, "Mary Johnson " + i, "mary@example.com"));
+        }
+        index.put(customer(6, "Johnny Walker", "walker@example.com"));
+        index.delete(4L);
+
+        assertEquals(List.of(2L, 6L, 1L, 3L), ids(index.search("john", false, 10)));
+        assertEquals(List.of(3L), ids(index.search("johnson 29999", false, 10)));
+        assertTrue(index.search("johnson 29998", false, 10).isEmpty());
+        assertEquals(List.of(2L, 6L), ids(index.search("jo", true, 2)));
+    }
+
+    private static CustomerDTO customer(long id, String name, String email) {
+        return new CustomerDTO(id, name, email, new Date());
+    }
+
+    private static List<Long> ids(List<CustomerDTO> customers) {
+        return customers.stream().map(CustomerDTO::getId).toList();
+    }
+}
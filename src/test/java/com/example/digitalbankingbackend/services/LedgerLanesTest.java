@@ -0,0 +1,162 @@
+package com.example.digitalbankingbackend.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lanes are held from {@link LedgerLanes#enter} until the transaction completes; the
+ * transactions here are emulated with a synchronization scope on the calling thread.
+ */
+class LedgerLanesTest {
+
+    private final LedgerLanes ledgerLanes = new LedgerLanes(64);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void serializesOperationsOnOneAccount() throws Exception {
+        CountDownLatch firstEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> inTransaction(() -> {
+            ledgerLanes.enter("account");
+            firstEntered.countDown();
+            await(releaseFirst);
+        }));
+        assertTrue(firstEntered.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch secondEntered = new CountDownLatch(1);
+        Future<?> second = executor.submit(() -> inTransaction(() -> {
+            ledgerLanes.enter("account");
+            secondEntered.countDown();
+        }));
+        assertFalse(secondEntered.await(200, TimeUnit.MILLISECONDS), "second operation entered a held lane");
+
+        releaseFirst.countDown();
+        assertTrue(secondEntered.await(5, TimeUnit.SECONDS), "lane not released when the transaction completed");
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void runsOperationsOnAccountsOfDifferentLanesInParallel() throws Exception {
+        String held = "account-0";
+        String other = accountInAnotherLane(held);
+        CountDownLatch heldEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> inTransaction(() -> {
+            ledgerLanes.enter(held);
+            heldEntered.countDown();
+            await(release);
+        }));
+        assertTrue(heldEntered.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch otherEntered = new CountDownLatch(1);
+        executor.submit(() -> inTransaction(() -> {
+            ledgerLanes.enter(other);
+            otherEntered.countDown();
+        }));
+        assertTrue(otherEntered.await(5, TimeUnit.SECONDS), "an operation on another lane waited");
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void keepsEveryIncrementOfAContendedAccount() throws Exception {
+        int threads = 8;
+        int increments = 2_000;
+        long[] balance = new long[1];
+        List<Callable<Void>> workers = new java.util.ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(() -> {
+                for (int i = 0; i < increments; i++) {
+                    inTransaction(() -> {
+                        ledgerLanes.enter("hot");
+                        // An unguarded read-modify-write, as a balance update is
+                        balance[0] = balance[0] + 1;
+                    });
+                }
+                return null;
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(workers, 30, TimeUnit.SECONDS)) {
+            future.get();
+        }
+        assertEquals((long) threads * increments, balance[0]);
+    }
+
+    @Test
+    void takesTheLanesOfMultipleAccountsWithoutDeadlocking() throws Exception {
+        String a = "account-0";
+        String b = accountInAnotherLane(a);
+        AtomicInteger transfers = new AtomicInteger();
+        List<Callable<Void>> workers = new java.util.ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            boolean reversed = t % 2 == 1;
+            workers.add(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    inTransaction(() -> {
+                        if (reversed) {
+                            ledgerLanes.enter(b, a);
+                        } else {
+                            ledgerLanes.enter(a, b);
+                        }
+                        transfers.incrementAndGet();
+                    });
+                }
+                return null;
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(workers, 30, TimeUnit.SECONDS)) {
+            assertFalse(future.isCancelled(), "transfers deadlocked");
+            future.get();
+        }
+        assertEquals(8_000, transfers.get());
+    }
+
+    @Test
+    void refusesToEnterOutsideATransaction() {
+        assertThrows(IllegalStateException.class, () -> ledgerLanes.enter("account"));
+    }
+
+    private String accountInAnotherLane(String accountId) {
+        for (int i = 1; ; i++) {
+            String candidate = "account-" + i;
+            if (ledgerLanes.laneOf(candidate) != ledgerLanes.laneOf(accountId)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
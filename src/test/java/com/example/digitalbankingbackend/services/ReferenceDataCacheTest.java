@@ -0,0 +1,87 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.BankAccountDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.exceptions.CustomerNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads served from {@link ReferenceDataCache} must see every write made through the service.
+ */
+@SpringBootTest
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    private Long customerId;
+    private String accountId;
+
+    @BeforeEach
+    void createCustomer() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Cached");
+        customer.setEmail("cached-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(100, 50, customerId).getId();
+
+        // Fill the caches
+        bankAccountService.getCustomer(customerId);
+        bankAccountService.getBankAccount(accountId);
+        bankAccountService.getAccountsByCustomerId(customerId);
+    }
+
+    @Test
+    void balancesAreAlwaysCurrent() throws Exception {
+        bankAccountService.credit(accountId, 25, "Cached credit");
+        assertEquals(125, bankAccountService.getBankAccount(accountId).getBalance());
+        bankAccountService.debit(accountId, 5, "Cached debit");
+        assertEquals(120, bankAccountService.getAccountsByCustomerId(customerId).get(0).getBalance());
+    }
+
+    @Test
+    void followsCustomerAndAccountChanges() throws Exception {
+        CustomerDTO renamed = bankAccountService.getCustomer(customerId);
+        renamed.setName("Renamed");
+        bankAccountService.updateCustomer(renamed);
+        bankAccountService.changeAccountStatus(accountId, AccountStatus.ACTIVATED);
+        String savingAccountId = bankAccountService.saveSavingBankAccount(10, 2.5, customerId).getId();
+
+        assertEquals("Renamed", bankAccountService.getCustomer(customerId).getName());
+        BankAccountDTO account = bankAccountService.getBankAccount(accountId);
+        assertEquals(AccountStatus.ACTIVATED, account.getStatus());
+        assertEquals("Renamed", account.getCustomerDTO().getName());
+        List<BankAccountDTO> accounts = bankAccountService.getAccountsByCustomerId(customerId);
+        assertEquals(Set.of(accountId, savingAccountId), accounts.stream().map(BankAccountDTO::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void forgetsDeletedCustomers() throws Exception {
+        bankAccountService.deleteCustomer(customerId);
+
+        assertThrows(CustomerNotFoundException.class, () -> bankAccountService.getCustomer(customerId));
+        assertThrows(CustomerNotFoundException.class, () -> bankAccountService.getAccountsByCustomerId(customerId));
+        BankAccountDTO account = bankAccountService.getBankAccount(accountId);
+        assertEquals(AccountStatus.SUSPENDED, account.getStatus());
+        assertNull(account.getCustomerDTO());
+    }
+
+    @Test
+    void callersCannotChangeCachedCustomers() throws Exception {
+        bankAccountService.getCustomer(customerId).setName("Changed by caller");
+        assertEquals("Cached", bankAccountService.getCustomer(customerId).getName());
+    }
+}
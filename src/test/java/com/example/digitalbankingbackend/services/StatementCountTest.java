@@ -0,0 +1,108 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.BankAccountFilterDTO;
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements Hibernate issues for a service call, and fails when the count of a
+ * list call grows with the number of rows it returns (an N+1 select).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.digitalbankingbackend.services.StatementCountTest$CountingInspector"
+})
+class StatementCountTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    public static class CountingInspector implements StatementInspector {
+        // Only statements of the calling thread count, not those of scheduled jobs
+        static volatile Thread counting;
+        static final AtomicInteger statements = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == counting) {
+                statements.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    interface ServiceCall {
+        void run() throws Exception;
+    }
+
+    @Test
+    void listCallsIssueAConstantNumberOfStatements() throws Exception {
+        Long customerId = customerWithAccounts("Few accounts", 2);
+        BankAccountFilterDTO allAccounts = new BankAccountFilterDTO();
+        allAccounts.setIncludeInactive(true);
+        int accountPage = statementsOf(() -> bankAccountService.bankAccountPage(allAccounts, null, 100));
+        int customerAccounts = statementsOf(() -> bankAccountService.getAccountsByCustomerId(customerId));
+        int customers = statementsOf(() -> bankAccountService.listCustomers());
+
+        for (int i = 0; i < 5; i++) {
+            customerWithAccounts("More accounts " + i, 2);
+        }
+        for (int i = 0; i < 10; i++) {
+            bankAccountService.saveSavingBankAccount(100, 2.5, customerId);
+        }
+
+        assertEquals(accountPage, statementsOf(() -> bankAccountService.bankAccountPage(allAccounts, null, 100)),
+                "bankAccountPage issues statements per account");
+        // Cached customers and account metadata can only lower the count
+        assertTrue(statementsOf(() -> bankAccountService.getAccountsByCustomerId(customerId)) <= customerAccounts,
+                "getAccountsByCustomerId issues statements per account");
+        assertEquals(customers, statementsOf(() -> bankAccountService.listCustomers()),
+                "listCustomers issues statements per customer");
+    }
+
+    @Test
+    void deletingACustomerIssuesAConstantNumberOfStatements() throws Exception {
+        Long few = customerWithAccounts("Deleted with one account", 1);
+        Long many = customerWithAccounts("Deleted with many accounts", 12);
+
+        assertEquals(statementsOf(() -> bankAccountService.deleteCustomer(few)),
+                statementsOf(() -> bankAccountService.deleteCustomer(many)),
+                "deleteCustomer issues statements per account");
+        BankAccountFilterDTO manyAccounts = new BankAccountFilterDTO();
+        manyAccounts.setIncludeInactive(true);
+        manyAccounts.setCustomerId(many);
+        assertTrue(bankAccountService.bankAccountPage(manyAccounts, null, 100).getBankAccountDTOS().isEmpty());
+    }
+
+    private int statementsOf(ServiceCall call) throws Exception {
+        CountingInspector.statements.set(0);
+        CountingInspector.counting = Thread.currentThread();
+        try {
+            call.run();
+        } finally {
+            CountingInspector.counting = null;
+        }
+        return CountingInspector.statements.get();
+    }
+
+    private Long customerWithAccounts(String name, int accounts) throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName(name);
+        customer.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        for (int i = 0; i < accounts; i++) {
+            bankAccountService.saveCurrentBankAccount(100, 50, customerId);
+        }
+        return customerId;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.digitalbankingbackend.services;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.dtos.TransferDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.exceptions.BalanceNotSufficientException;
+import com.example.digitalbankingbackend.exceptions.BankAccountActionNotAllowedException;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The legs of a transfer are conditional updates applied in account id order, so depending on
+ * the ids the credit may be applied before the debit; a failing leg must undo both.
+ */
+@SpringBootTest
+class TransferTest {
+
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+
+    private Long customerId;
+
+    @BeforeEach
+    void createCustomer() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Transfer");
+        customer.setEmail("transfer-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        customerId = bankAccountService.saveCustomer(customer).getId();
+    }
+
+    @Test
+    void movesTheAmountAndLinksBothLegs() throws Exception {
+        String source = openAccount(100);
+        String destination = openAccount(20);
+
+        TransferDTO transfer = bankAccountService.transfer(source, destination, 30);
+
+        assertEquals(70, bankAccountService.getBankAccount(source).getBalance());
+        assertEquals(50, bankAccountService.getBankAccount(destination).getBalance());
+        List<AccountOperation> legs = accountOperationRepository.findByTransferId(transfer.transferId());
+        assertEquals(2, legs.size());
+        for (AccountOperation leg : legs) {
+            assertEquals(30, leg.getAmount());
+            assertEquals(leg.getType() == OperationType.DEBIT ? source : destination, leg.getBankAccount().getId());
+        }
+        TransferDTO fetched = bankAccountService.getTransfer(transfer.transferId());
+        assertEquals(source, fetched.accountSource());
+        assertEquals(destination, fetched.accountDestination());
+        assertEquals(30, fetched.amount());
+    }
+
+    @Test
+    void rollsBackTheCreditWhenTheLaterDebitIsRefused() throws Exception {
+        String[] ids = orderedAccounts(10, 20);
+        // The destination has the lower id, so its credit is applied before the debit fails
+        String destination = ids[0];
+        String source = ids[1];
+
+        assertThrows(BalanceNotSufficientException.class, () -> bankAccountService.transfer(source, destination, 50));
+
+        assertEquals(10, bankAccountService.getBankAccount(destination).getBalance());
+        assertEquals(20, bankAccountService.getBankAccount(source).getBalance());
+        assertFalse(hasTransferLegs(source));
+        assertFalse(hasTransferLegs(destination));
+    }
+
+    @Test
+    void refusesASuspendedDestinationWhicheverLegComesFirst() throws Exception {
+        // Debit applied first, then the credit is refused
+        String[] debitFirst = orderedAccounts(100, 100);
+        suspend(debitFirst[1]);
+        assertThrows(BankAccountActionNotAllowedException.class,
+                () -> bankAccountService.transfer(debitFirst[0], debitFirst[1], 40));
+        assertEquals(100, bankAccountService.getBankAccount(debitFirst[0]).getBalance());
+        assertEquals(100, bankAccountService.getBankAccount(debitFirst[1]).getBalance());
+
+        // The credit is refused before the debit
+        String[] creditFirst = orderedAccounts(100, 100);
+        suspend(creditFirst[0]);
+        assertThrows(BankAccountActionNotAllowedException.class,
+                () -> bankAccountService.transfer(creditFirst[1], creditFirst[0], 40));
+        assertEquals(100, bankAccountService.getBankAccount(creditFirst[0]).getBalance());
+        assertEquals(100, bankAccountService.getBankAccount(creditFirst[1]).getBalance());
+
+        assertFalse(hasTransferLegs(debitFirst[0]));
+        assertFalse(hasTransferLegs(creditFirst[1]));
+    }
+
+    @Test
+    void foldsAStripedSourceWhoseBalanceIsInItsStripes() throws Exception {
+        String source = openAccount(0);
+        String destination = openAccount(0);
+        bankAccountService.configureBalanceStripes(source, 4);
+        for (int i = 0; i < 4; i++) {
+            bankAccountService.credit(source, 25, "Striped credit");
+        }
+
+        // The balance column holds nothing, so only the fold makes the debit possible
+        bankAccountService.transfer(source, destination, 60);
+
+        assertEquals(40, bankAccountService.getBankAccount(source).getBalance());
+        assertEquals(60, bankAccountService.getBankAccount(destination).getBalance());
+        assertThrows(BalanceNotSufficientException.class, () -> bankAccountService.transfer(source, destination, 41));
+        assertEquals(40, bankAccountService.getBankAccount(source).getBalance());
+    }
+
+    private String openAccount(double balance) throws Exception {
+        return bankAccountService.saveCurrentBankAccount(balance, 0, customerId).getId();
+    }
+
+    // The first account of a customer is CREATED, which cannot be suspended before it is activated
+    private void suspend(String accountId) throws Exception {
+        if (bankAccountService.getBankAccount(accountId).getStatus() != AccountStatus.ACTIVATED) {
+            bankAccountService.changeAccountStatus(accountId, AccountStatus.ACTIVATED);
+        }
+        bankAccountService.changeAccountStatus(accountId, AccountStatus.SUSPENDED);
+    }
+
+    private boolean hasTransferLegs(String accountId) {
+        return accountOperationRepository.findByBankAccountId(accountId).stream()
+                .anyMatch(accountOperation -> accountOperation.getTransferId() != null);
+    }
+
+    // Opens two accounts and returns their ids in order, the lower one with the first balance
+    private String[] orderedAccounts(double lowBalance, double highBalance) throws Exception {
+        String first = openAccount(0);
+        String second = openAccount(0);
+        String low = first.compareTo(second) < 0 ? first : second;
+        String high = low.equals(first) ? second : first;
+        bankAccountService.credit(low, lowBalance, "Opening");
+        bankAccountService.credit(high, highBalance, "Opening");
+        return new String[]{low, high};
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.digitalbankingbackend.statements;
+
+import com.example.digitalbankingbackend.dtos.StatementRunDTO;
+import com.example.digitalbankingbackend.entities.AccountOperation;
+import com.example.digitalbankingbackend.entities.CurrentAccount;
+import com.example.digitalbankingbackend.entities.Customer;
+import com.example.digitalbankingbackend.enums.AccountStatus;
+import com.example.digitalbankingbackend.enums.OperationType;
+import com.example.digitalbankingbackend.repositories.AccountOperationRepository;
+import com.example.digitalbankingbackend.repositories.BankAccountRepository;
+import com.example.digitalbankingbackend.repositories.CustomerRepository;
+import com.example.digitalbankingbackend.services.BalanceCheckpoints;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StatementEngineTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2020, 1);
+    private static final int ACCOUNTS = 300;
+    private static final int CHUNK_SIZE = 16;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BalanceCheckpoints balanceCheckpoints;
+    @Autowired
+    private StatementChunkWriter chunkWriter;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void statementsCoverThePeriodAndResumeFromCompleteChunks() throws IOException {
+        Map<String, Integer> accounts = createAccounts();
+
+        StatementEngine engine = newEngine();
+        StatementRunDTO run = engine.run(PERIOD);
+        assertEquals("COMPLETED", run.status(), run.message());
+        assertTrue(run.accounts() >= ACCOUNTS);
+        assertTrue(run.peakHeapBytes() > 0);
+
+        Map<String, JsonNode> statements = readStatements();
+        for (Map.Entry<String, Integer> account : accounts.entrySet()) {
+            JsonNode statement = statements.get(account.getKey());
+            int credits = account.getValue();
+            assertNotNull(statement, "No statement for " + account.getKey());
+            assertEquals(credits + 1, statement.get("operations").size());
+            assertEquals(1000 + 10 * credits, statement.get("openingBalance").asDouble(), 1e-9);
+            assertEquals(1000 + 15 * credits - 1, statement.get("closingBalance").asDouble(), 1e-9);
+        }
+
+        // A crash after some chunks: only the missing ones are written again
+        List<Path> chunks = chunkFiles();
+        Files.delete(chunks.get(1));
+        StatementRunDTO resumed = engine.run(PERIOD);
+        assertEquals("COMPLETED", resumed.status(), resumed.message());
+        assertEquals(run.chunks(), resumed.chunks());
+        assertEquals(run.chunks() - 1, resumed.skippedChunks());
+        assertEquals(statements, readStatements());
+    }
+
+    @Test
+    void resumedRunKeepsItsChunksWhenAnAccountOpenedBeforeThePeriodEndIsInserted() throws IOException {
+        createAccounts();
+        StatementEngine engine = newEngine();
+        StatementRunDTO run = engine.run(PERIOD);
+        assertEquals("COMPLETED", run.status(), run.message());
+        Map<String, JsonNode> statements = readStatements();
+
+        // A crash after some chunks, then an import of an account opened before the period, whose
+        // id sorts before every other account's
+        Files.delete(chunkFiles().get(1));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = customerRepository.save(new Customer(null, "Imported customer", "imported-statements@example.com", new Date(), null));
+            CurrentAccount account = newAccount("0-imported-" + UUID.randomUUID(), customer);
+            bankAccountRepository.save(account);
+            balanceCheckpoints.open(account);
+        });
+
+        // The chunks are cut where the first run cut them: the rewritten one holds the same accounts
+        StatementRunDTO resumed = engine.run(PERIOD);
+        assertEquals("COMPLETED", resumed.status(), resumed.message());
+        assertEquals(run.chunks(), resumed.chunks());
+        assertEquals(run.chunks() - 1, resumed.skippedChunks());
+        assertEquals(statements, readStatements());
+    }
+
+    // Opening balance 1000 + 10 * i before the period, then i credits of 5 and one debit of 1 in it
+    private Map<String, Integer> createAccounts() {
+        Map<String, Integer> accounts = new HashMap<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = customerRepository.save(new Customer(null, "Statement customer", "statements@example.com", new Date(), null));
+            List<AccountOperation> operations = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                CurrentAccount account = newAccount(UUID.randomUUID().toString(), customer);
+                bankAccountRepository.save(account);
+                balanceCheckpoints.open(account);
+                accounts.put(account.getId(), i % 7);
+
+                operations.add(operation(account, OperationType.CREDIT, 10 * (i % 7), dateOf(2019, 12, 20)));
+                for (int j = 0; j < i % 7; j++) {
+                    operations.add(operation(account, OperationType.CREDIT, 5, dateOf(2020, 1, 2 + j)));
+                }
+                operations.add(operation(account, OperationType.DEBIT, 1, dateOf(2020, 1, 31)));
+                operations.add(operation(account, OperationType.DEBIT, 1000, dateOf(2020, 2, 1)));
+            }
+            accountOperationRepository.saveAll(operations);
+            balanceCheckpoints.apply(operations);
+        });
+        return accounts;
+    }
+
+    private static CurrentAccount newAccount(String id, Customer customer) {
+        CurrentAccount account = new CurrentAccount();
+        account.setId(id);
+        account.setBalance(1000);
+        account.setCreatedAt(dateOf(2019, 12, 1));
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCustomer(customer);
+        return account;
+    }
+
+    private StatementEngine newEngine() {
+        return new StatementEngine(bankAccountRepository, chunkWriter, transactionManager,
+                directory.toString(), 4, CHUNK_SIZE);
+    }
+
+    private Map<String, JsonNode> readStatements() throws IOException {
+        Map<String, JsonNode> statements = new HashMap<>();
+        for (Path chunk : chunkFiles()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(chunk)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode statement = objectMapper.readTree(line);
+                    statements.put(statement.get("accountId").asText(), statement);
+                }
+            }
+        }
+        return statements;
+    }
+
+    private List<Path> chunkFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(PERIOD.toString()))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".ndjson.gz")).sorted().toList();
+        }
+    }
+
+    private static AccountOperation operation(CurrentAccount account, OperationType type, double amount, Date date) {
+        return new AccountOperation(null, date, amount, type, account, "Statement test", null);
+    }
+
+    private static Date dateOf(int year, int month, int day) {
+        return Date.from(LocalDateTime.of(year, month, day, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
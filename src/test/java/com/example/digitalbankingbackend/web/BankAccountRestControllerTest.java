@@ -0,0 +1,89 @@
+package com.example.digitalbankingbackend.web;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.exceptions.BankAccountNotFoundException;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the history stream endpoint directly and writes its body to memory, as the servlet
+ * container would once the status is committed.
+ */
+@SpringBootTest
+class BankAccountRestControllerTest {
+
+    @Autowired
+    private BankAccountRestController controller;
+    @Autowired
+    private BankAccountService bankAccountService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String accountId;
+
+    @BeforeEach
+    void createAccount() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Streamed");
+        customer.setEmail("streamed-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(100, 0, customerId).getId();
+    }
+
+    @Test
+    void streamsOneJsonObjectPerLineOldestFirst() throws Exception {
+        bankAccountService.credit(accountId, 10, "First");
+        bankAccountService.debit(accountId, 20, "Second");
+        bankAccountService.credit(accountId, 30, "Third");
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamAccountHistory(accountId);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<String> descriptions = new ArrayList<>();
+        long previousId = Long.MIN_VALUE;
+        for (String line : body.split("\n")) {
+            JsonNode operation = objectMapper.readTree(line);
+            assertTrue(operation.isObject(), line);
+            assertTrue(operation.get("id").asLong() > previousId);
+            previousId = operation.get("id").asLong();
+            descriptions.add(operation.get("description").asText());
+        }
+        assertEquals(List.of("First", "Second", "Third"), descriptions);
+    }
+
+    @Test
+    void streamsNothingForAnAccountWithoutOperations() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        controller.streamAccountHistory(accountId).getBody().writeTo(output);
+
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void failsForAnUnknownAccountBeforeAnyResponse() {
+        // Thrown by the handler itself, so no status or body has been produced yet
+        assertThrows(BankAccountNotFoundException.class, () -> controller.streamAccountHistory("missing-" + UUID.randomUUID()));
+    }
+}
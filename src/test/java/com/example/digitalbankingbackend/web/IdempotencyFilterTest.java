@@ -0,0 +1,160 @@
+package com.example.digitalbankingbackend.web;
+
+import com.example.digitalbankingbackend.dtos.CustomerDTO;
+import com.example.digitalbankingbackend.services.BankAccountService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the filter in front of a chain that debits the account named in the request body, as
+ * the debit endpoint does.
+ */
+@SpringBootTest
+class IdempotencyFilterTest {
+
+    @Autowired
+    private IdempotencyFilter filter;
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    private String accountId;
+    private final AtomicInteger debits = new AtomicInteger();
+
+    @BeforeEach
+    void createAccount() throws Exception {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Idempotent");
+        customer.setEmail("idempotent-" + UUID.randomUUID() + "@example.com");
+        customer.setCreatedAt(new Date());
+        Long customerId = bankAccountService.saveCustomer(customer).getId();
+        accountId = bankAccountService.saveCurrentBankAccount(1_000, 0, customerId).getId();
+    }
+
+    @Test
+    void replaysTheStoredResponseWithoutDebitingAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MockHttpServletResponse first = send(key, "10", debitChain(null));
+        MockHttpServletResponse retry = send(key, "10", debitChain(null));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(1, debits.get());
+        assertEquals(990, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void refusesAKeyReusedWithAnotherBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        send(key, "10", debitChain(null));
+        MockHttpServletResponse reused = send(key, "500", debitChain(null));
+
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, debits.get());
+        assertEquals(990, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void debitsOnceWhenRetriesArriveWhileTheFirstRequestRuns() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send(key, "10", debitChain(() -> {
+                firstRunning.countDown();
+                releaseFirst.await(10, TimeUnit.SECONDS);
+            })));
+            assertTrue(firstRunning.await(10, TimeUnit.SECONDS));
+            List<Future<MockHttpServletResponse>> retries = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                retries.add(executor.submit(() -> send(key, "10", debitChain(null))));
+            }
+            releaseFirst.countDown();
+
+            String body = first.get(10, TimeUnit.SECONDS).getContentAsString();
+            for (Future<MockHttpServletResponse> retry : retries) {
+                MockHttpServletResponse response = retry.get(10, TimeUnit.SECONDS);
+                assertEquals(200, response.getStatus());
+                assertEquals(body, response.getContentAsString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, debits.get());
+        assertEquals(990, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    @Test
+    void rollsTheOperationBackWhenItsRecordCannotBeStored() throws Exception {
+        String key = UUID.randomUUID().toString();
+        // Longer than the content_type column, so storing the record fails after the debit ran
+        FilterChain oversizedContentType = (request, response) -> {
+            debitChain(null).doFilter(request, response);
+            response.setContentType("text/plain;x=" + "a".repeat(300));
+        };
+
+        assertThrows(RuntimeException.class, () -> send(key, "10", oversizedContentType));
+        assertEquals(1_000, bankAccountService.getBankAccount(accountId).getBalance());
+
+        // The key was released with the rollback, so a retry runs the operation
+        MockHttpServletResponse retry = send(key, "10", debitChain(null));
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(990, bankAccountService.getBankAccount(accountId).getBalance());
+    }
+
+    interface Pause {
+        void run() throws Exception;
+    }
+
+    private FilterChain debitChain(Pause pause) {
+        return (request, response) -> {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            double amount = Double.parseDouble(body.substring(body.indexOf("\"amount\":") + 9, body.indexOf('}')));
+            try {
+                bankAccountService.debit(accountId, amount, "Idempotent debit");
+                debits.incrementAndGet();
+                if (pause != null) {
+                    pause.run();
+                }
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+            response.setContentType("application/json");
+            response.getWriter().write("{\"debit\":\"" + UUID.randomUUID() + "\"}");
+            response.getWriter().flush();
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String amount, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts/debit");
+        request.setServletPath("/api/v1/accounts/debit");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(("{\"accountId\":\"" + accountId + "\",\"amount\":" + amount + "}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}